@@ -0,0 +1,199 @@
+package com.lumonlab.childcaremfa.verifier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * /.well-known/jwks.json 의 ES256 공개 키 캐시
+ * - 조회는 volatile snapshot 읽기만 (lock 없음)
+ * - ttl 이 지났거나 모르는 kid 일 때만 다시 받음, 동시에 여러 스레드가 와도 요청은 한 번
+ * - 모르는 kid 로 인한 재요청은 minRefreshInterval 당 한 번 (위조 kid 로 인증 서버를 두드리지 못하게)
+ * - 받기 실패 시 기존 키 계속 사용
+ * - 갱신은 synchronized 가 아닌 ReentrantLock - HTTP 요청 동안 virtual thread 가 carrier 에 고정되지 않게 (Java 21 ~ 23)
+ */
+public final class JwksKeyCache implements VerificationKeySource {
+
+    private static final System.Logger log = System.getLogger(JwksKeyCache.class.getName());
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final URI jwksUri;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final long ttlNanos;
+    private final long minRefreshIntervalNanos;
+    private final ECParameterSpec p256;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    // refreshLock 안에서만 읽고 씀
+    private long lastAttemptNanos;
+
+    private JwksKeyCache(Builder builder) {
+        this.jwksUri = builder.jwksUri;
+        this.httpClient = builder.httpClient != null
+                ? builder.httpClient
+                : HttpClient.newBuilder().connectTimeout(builder.requestTimeout).build();
+        this.requestTimeout = builder.requestTimeout;
+        this.ttlNanos = builder.ttl.toNanos();
+        this.minRefreshIntervalNanos = builder.minRefreshInterval.toNanos();
+        this.p256 = p256Parameters();
+
+        // 처음에는 만료된 빈 snapshot - 첫 조회에서 바로 받음
+        long now = System.nanoTime();
+        this.snapshot = new Snapshot(Collections.emptyMap(), now - ttlNanos);
+        this.lastAttemptNanos = now - minRefreshIntervalNanos;
+    }
+
+    public static Builder builder(URI jwksUri) {
+        return new Builder(jwksUri);
+    }
+
+    @Override
+    public PublicKey publicKey(String kid) {
+        Snapshot current = snapshot;
+        PublicKey key = current.keys.get(kid);
+        if (key != null && !current.isExpired(System.nanoTime(), ttlNanos)) {
+            return key;
+        }
+        return refresh(current).keys.get(kid);
+    }
+
+    /**
+     * 시작 시 미리 받아두기 (선택)
+     */
+    public void preload() {
+        refresh(snapshot);
+    }
+
+    private Snapshot refresh(Snapshot seen) {
+        refreshLock.lock();
+        try {
+            // 기다리는 동안 다른 스레드가 이미 받아왔으면 그대로 사용
+            if (snapshot != seen) {
+                return snapshot;
+            }
+            long now = System.nanoTime();
+            if (now - lastAttemptNanos < minRefreshIntervalNanos) {
+                return seen;
+            }
+            lastAttemptNanos = now;
+
+            try {
+                snapshot = new Snapshot(fetch(), now);
+            } catch (IOException | GeneralSecurityException e) {
+                log.log(System.Logger.Level.WARNING, "JWKS 를 받지 못했습니다 - 기존 키 사용: " + jwksUri, e);
+                // 기존 키는 minRefreshInterval 뒤 재시도 전까지 유효한 것으로 (그 사이 요청이 lock 에 몰리지 않게)
+                snapshot = new Snapshot(seen.keys, now - ttlNanos + minRefreshIntervalNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Map<String, PublicKey> fetch() throws IOException, InterruptedException, GeneralSecurityException {
+        HttpRequest request = HttpRequest.newBuilder(jwksUri)
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("JWKS 응답 코드: " + response.statusCode());
+        }
+
+        Map<String, PublicKey> keys = new HashMap<>();
+        KeyFactory keyFactory = KeyFactory.getInstance("EC");
+        for (JsonNode jwk : OBJECT_MAPPER.readTree(response.body()).path("keys")) {
+            // 이 서버는 EC P-256 (ES256) 만 발행
+            if (!"EC".equals(jwk.path("kty").asText()) || !"P-256".equals(jwk.path("crv").asText())
+                    || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            ECPoint point = new ECPoint(decodeCoordinate(jwk.path("x").asText()), decodeCoordinate(jwk.path("y").asText()));
+            keys.put(jwk.get("kid").asText(), keyFactory.generatePublic(new ECPublicKeySpec(point, p256)));
+        }
+        return Collections.unmodifiableMap(keys);
+    }
+
+    private static BigInteger decodeCoordinate(String value) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(value));
+    }
+
+    private static ECParameterSpec p256Parameters() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("P-256 곡선을 사용할 수 없습니다", e);
+        }
+    }
+
+    private record Snapshot(Map<String, PublicKey> keys, long fetchedAtNanos) {
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return now - fetchedAtNanos >= ttlNanos;
+        }
+    }
+
+    public static final class Builder {
+        private final URI jwksUri;
+        private HttpClient httpClient;
+        private Duration requestTimeout = Duration.ofSeconds(2);
+        // 인증 서버의 Cache-Control max-age (jwt.jwks-max-age) 와 맞춤
+        private Duration ttl = Duration.ofMinutes(5);
+        private Duration minRefreshInterval = Duration.ofSeconds(30);
+
+        private Builder(URI jwksUri) {
+            this.jwksUri = jwksUri;
+        }
+
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        public Builder ttl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        public Builder minRefreshInterval(Duration minRefreshInterval) {
+            this.minRefreshInterval = minRefreshInterval;
+            return this;
+        }
+
+        public JwksKeyCache build() {
+            return new JwksKeyCache(this);
+        }
+    }
+}
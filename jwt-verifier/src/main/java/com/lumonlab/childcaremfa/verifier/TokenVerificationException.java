@@ -0,0 +1,26 @@
+package com.lumonlab.childcaremfa.verifier;
+
+/**
+ * 검증 실패 - reason 으로 만료 / 서명 오류 등을 구분
+ */
+public class TokenVerificationException extends RuntimeException {
+
+    public enum Reason {
+        EXPIRED,
+        INVALID_SIGNATURE,
+        MALFORMED,
+        UNSUPPORTED,
+        INVALID
+    }
+
+    private final Reason reason;
+
+    public TokenVerificationException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
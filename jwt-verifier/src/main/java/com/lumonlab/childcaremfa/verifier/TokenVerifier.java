@@ -0,0 +1,181 @@
+package com.lumonlab.childcaremfa.verifier;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.JwtParserBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * childcare-mfa access token 검증기
+ * 키와 parser 는 build() 에서 한 번만 만들고 모든 스레드에서 공유 (thread-safe)
+ *
+ * <pre>
+ * TokenVerifier verifier = TokenVerifier.builder()
+ *         .keySource(JwksKeyCache.builder(URI.create("https://auth.example/.well-known/jwks.json")).build())
+ *         .issuer("lumanlab-childcare")
+ *         .build();
+ * VerifiedClaims claims = verifier.verify(token);
+ * </pre>
+ */
+public final class TokenVerifier {
+
+    static final String ROLE_MASK_CLAIM = "r";
+    static final String LEGACY_ROLES_CLAIM = "roles";
+    static final String LEGACY_EMAIL_CLAIM = "email";
+
+    private final SecretKey hmacKey;
+    private final VerificationKeySource keySource;
+    private final JwtParser parser;
+
+    private TokenVerifier(Builder builder) {
+        this.hmacKey = builder.hmacSecret != null ? Keys.hmacShaKeyFor(builder.hmacSecret) : null;
+        this.keySource = builder.keySource;
+        if (hmacKey == null && keySource == null) {
+            throw new IllegalStateException("hmacSecret 또는 keySource 중 하나는 필요합니다");
+        }
+
+        JwtParserBuilder parserBuilder = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveVerificationKey(header);
+                    }
+                })
+                .setAllowedClockSkewSeconds(builder.clockSkew.getSeconds());
+        if (builder.issuer != null) {
+            parserBuilder.requireIssuer(builder.issuer);
+        }
+        this.parser = parserBuilder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 서명 + 만료 (+ issuer) 확인, 실패하면 TokenVerificationException
+     */
+    public VerifiedClaims verify(String token) {
+        try {
+            return toVerifiedClaims(parser.parseClaimsJws(token).getBody());
+        } catch (ExpiredJwtException e) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.EXPIRED, "Expired JWT token", e);
+        } catch (SecurityException e) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.INVALID_SIGNATURE, "Invalid JWT signature", e);
+        } catch (MalformedJwtException e) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.MALFORMED, "Invalid JWT token", e);
+        } catch (UnsupportedJwtException e) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.UNSUPPORTED, e.getMessage(), e);
+        } catch (JwtException e) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.INVALID, e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            // 빈 토큰, 숫자가 아닌 sub 등
+            throw new TokenVerificationException(TokenVerificationException.Reason.MALFORMED, "Invalid JWT claims", e);
+        }
+    }
+
+    /**
+     * kid 있으면 ES256 (keySource), 없으면 HS256 (hmacSecret)
+     * alg 와 키 종류가 맞지 않는 조합은 거부 (algorithm confusion 방지)
+     */
+    private Key resolveVerificationKey(JwsHeader<?> header) {
+        String kid = header.getKeyId();
+        String algorithm = header.getAlgorithm();
+
+        if (kid != null) {
+            PublicKey publicKey = keySource != null ? keySource.publicKey(kid) : null;
+            if (publicKey == null || !SignatureAlgorithm.ES256.getValue().equals(algorithm)) {
+                throw new UnsupportedJwtException("알 수 없는 JWT kid / alg: " + kid);
+            }
+            return publicKey;
+        }
+
+        if (hmacKey == null || !SignatureAlgorithm.HS256.getValue().equals(algorithm)) {
+            throw new UnsupportedJwtException("지원하지 않는 JWT alg: " + algorithm);
+        }
+        return hmacKey;
+    }
+
+    private static VerifiedClaims toVerifiedClaims(Claims claims) {
+        return new VerifiedClaims(
+                claims.getSubject() != null ? Long.valueOf(claims.getSubject()) : null,
+                claims.getIssuer(),
+                claims.getId(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                claims.get(ROLE_MASK_CLAIM, Integer.class),
+                toRoleNames(claims.get(LEGACY_ROLES_CLAIM, List.class)),
+                claims.get(LEGACY_EMAIL_CLAIM, String.class));
+    }
+
+    private static List<String> toRoleNames(List<?> roles) {
+        if (roles == null) {
+            return Collections.emptyList();
+        }
+        List<String> names = new ArrayList<>(roles.size());
+        for (Object role : roles) {
+            names.add(String.valueOf(role));
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    public static final class Builder {
+        private byte[] hmacSecret;
+        private VerificationKeySource keySource;
+        private String issuer;
+        private Duration clockSkew = Duration.ZERO;
+
+        private Builder() {
+        }
+
+        /**
+         * HS256 토큰 (kid 없음) 검증용 - 인증 서버와 같은 jwt.secret
+         */
+        public Builder hmacSecret(byte[] hmacSecret) {
+            this.hmacSecret = hmacSecret;
+            return this;
+        }
+
+        /**
+         * ES256 토큰 (kid 있음) 검증용
+         */
+        public Builder keySource(VerificationKeySource keySource) {
+            this.keySource = keySource;
+            return this;
+        }
+
+        /**
+         * 설정하면 iss 가 다른 토큰 거부
+         */
+        public Builder issuer(String issuer) {
+            this.issuer = issuer;
+            return this;
+        }
+
+        public Builder clockSkew(Duration clockSkew) {
+            this.clockSkew = clockSkew;
+            return this;
+        }
+
+        public TokenVerifier build() {
+            return new TokenVerifier(this);
+        }
+    }
+}
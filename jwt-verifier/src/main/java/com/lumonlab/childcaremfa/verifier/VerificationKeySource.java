@@ -0,0 +1,13 @@
+package com.lumonlab.childcaremfa.verifier;
+
+import java.security.PublicKey;
+
+/**
+ * kid -> ES256 검증 키 (모르는 kid 면 null)
+ * JwksKeyCache 또는 이미 키를 들고 있는 쪽 (예: 인증 서버의 keyring) 에서 구현
+ */
+@FunctionalInterface
+public interface VerificationKeySource {
+
+    PublicKey publicKey(String kid);
+}
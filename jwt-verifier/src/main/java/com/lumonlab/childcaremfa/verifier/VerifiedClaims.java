@@ -0,0 +1,21 @@
+package com.lumonlab.childcaremfa.verifier;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 서명 / 만료 검증이 끝난 access token claim
+ * roleMask: compact 토큰의 r (PARENT=1, ADMIN=2, MASTER=4), 이전 토큰은 null 이고 roleNames 사용
+ * email: 이전(legacy) 토큰에만 있음
+ */
+public record VerifiedClaims(
+        Long userId,
+        String issuer,
+        String jti,
+        Instant issuedAt,
+        Instant expiresAt,
+        Integer roleMask,
+        List<String> roleNames,
+        String email
+) {
+}
@@ -0,0 +1,151 @@
+package com.lumonlab.childcaremfa.verifier;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 HttpServer 에서 JWKS 를 내려주고 갱신 / 재요청 제한 / 실패 시 기존 키 유지 확인
+ */
+class JwksKeyCacheTest {
+
+    private HttpServer server;
+    private URI jwksUri;
+    private final AtomicReference<String> body = new AtomicReference<>("{\"keys\":[]}");
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            requests.incrementAndGet();
+            byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status.get(), bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+        jwksUri = URI.create("http://localhost:" + server.getAddress().getPort() + "/.well-known/jwks.json");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void JWKS_키로_ES256_검증() throws Exception {
+        KeyPair k1 = TokenVerifierTest.ecKeyPair();
+        body.set(jwks(jwk("k1", k1)));
+        TokenVerifier verifier = TokenVerifier.builder()
+                .keySource(JwksKeyCache.builder(jwksUri).build())
+                .build();
+
+        assertThat(verifier.verify(TokenVerifierTest.es256(k1, "k1")).userId()).isEqualTo(42L);
+        assertThat(verifier.verify(TokenVerifierTest.es256(k1, "k1")).userId()).isEqualTo(42L);
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void 모르는_kid_면_다시_받음() throws Exception {
+        KeyPair k1 = TokenVerifierTest.ecKeyPair();
+        KeyPair k2 = TokenVerifierTest.ecKeyPair();
+        body.set(jwks(jwk("k1", k1)));
+        JwksKeyCache cache = JwksKeyCache.builder(jwksUri).minRefreshInterval(Duration.ZERO).build();
+        assertThat(cache.publicKey("k1")).isEqualTo(k1.getPublic());
+
+        // 키 교체 - 새 kid 가 처음 보이면 ttl 전이라도 다시 받음
+        body.set(jwks(jwk("k1", k1), jwk("k2", k2)));
+
+        assertThat(cache.publicKey("k2")).isEqualTo(k2.getPublic());
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void 모르는_kid_재요청은_minRefreshInterval_당_한_번() throws Exception {
+        body.set(jwks(jwk("k1", TokenVerifierTest.ecKeyPair())));
+        JwksKeyCache cache = JwksKeyCache.builder(jwksUri).minRefreshInterval(Duration.ofMinutes(1)).build();
+        cache.preload();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.publicKey("forged-" + i)).isNull();
+        }
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void ttl_이_지나면_다시_받음() throws Exception {
+        KeyPair k1 = TokenVerifierTest.ecKeyPair();
+        body.set(jwks(jwk("k1", k1)));
+        JwksKeyCache cache = JwksKeyCache.builder(jwksUri)
+                .ttl(Duration.ZERO)
+                .minRefreshInterval(Duration.ZERO)
+                .build();
+
+        cache.publicKey("k1");
+        cache.publicKey("k1");
+
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void 받기_실패하면_기존_키_유지() throws Exception {
+        KeyPair k1 = TokenVerifierTest.ecKeyPair();
+        body.set(jwks(jwk("k1", k1)));
+        JwksKeyCache cache = JwksKeyCache.builder(jwksUri)
+                .ttl(Duration.ZERO)
+                .minRefreshInterval(Duration.ZERO)
+                .build();
+        cache.preload();
+
+        status.set(500);
+
+        assertThat(cache.publicKey("k1")).isEqualTo(k1.getPublic());
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void EC_P256_이_아닌_키는_무시() throws Exception {
+        KeyPair k1 = TokenVerifierTest.ecKeyPair();
+        body.set("{\"keys\":[{\"kty\":\"RSA\",\"kid\":\"rsa\",\"n\":\"AQAB\",\"e\":\"AQAB\"}," + jwk("k1", k1) + "]}");
+        JwksKeyCache cache = JwksKeyCache.builder(jwksUri).minRefreshInterval(Duration.ofMinutes(1)).build();
+
+        assertThat(cache.publicKey("k1")).isEqualTo(k1.getPublic());
+        assertThat(cache.publicKey("rsa")).isNull();
+    }
+
+    private static String jwks(String... keys) {
+        return "{\"keys\":[" + String.join(",", keys) + "]}";
+    }
+
+    private static String jwk(String kid, KeyPair keyPair) {
+        ECPublicKey key = (ECPublicKey) keyPair.getPublic();
+        return "{\"kty\":\"EC\",\"crv\":\"P-256\",\"kid\":\"" + kid + "\",\"x\":\"" + coordinate(key.getW().getAffineX())
+                + "\",\"y\":\"" + coordinate(key.getW().getAffineY()) + "\"}";
+    }
+
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // 부호 byte 제거 후 32 byte 로 맞춤
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
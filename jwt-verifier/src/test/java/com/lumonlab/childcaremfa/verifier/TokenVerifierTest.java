@@ -0,0 +1,191 @@
+package com.lumonlab.childcaremfa.verifier;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenVerifierTest {
+
+    private static final byte[] SECRET = "test-secret-test-secret-test-secret-0123456789".getBytes(StandardCharsets.UTF_8);
+    private static final String ISSUER = "lumanlab-childcare";
+
+    private final TokenVerifier verifier = TokenVerifier.builder()
+            .hmacSecret(SECRET)
+            .issuer(ISSUER)
+            .build();
+
+    @Test
+    void compact_토큰_검증() {
+        String token = Jwts.builder()
+                .setSubject("42")
+                .setIssuer(ISSUER)
+                .setId("jti-1")
+                .claim("r", 3)
+                .setIssuedAt(new Date())
+                .setExpiration(inSeconds(60))
+                .signWith(Keys.hmacShaKeyFor(SECRET), SignatureAlgorithm.HS256)
+                .compact();
+
+        VerifiedClaims claims = verifier.verify(token);
+
+        assertThat(claims.userId()).isEqualTo(42L);
+        assertThat(claims.jti()).isEqualTo("jti-1");
+        assertThat(claims.roleMask()).isEqualTo(3);
+        assertThat(claims.roleNames()).isEmpty();
+        assertThat(claims.email()).isNull();
+    }
+
+    @Test
+    void legacy_토큰_검증() {
+        String token = Jwts.builder()
+                .setSubject("42")
+                .setIssuer(ISSUER)
+                .claim("email", "user@example.com")
+                .claim("roles", List.of("PARENT", "ADMIN"))
+                .setExpiration(inSeconds(60))
+                .signWith(Keys.hmacShaKeyFor(SECRET), SignatureAlgorithm.HS256)
+                .compact();
+
+        VerifiedClaims claims = verifier.verify(token);
+
+        assertThat(claims.roleMask()).isNull();
+        assertThat(claims.roleNames()).containsExactly("PARENT", "ADMIN");
+        assertThat(claims.email()).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void 만료된_토큰은_EXPIRED() {
+        String token = hs256(SECRET, ISSUER, inSeconds(-10));
+
+        assertReason(() -> verifier.verify(token), TokenVerificationException.Reason.EXPIRED);
+    }
+
+    @Test
+    void clock_skew_안이면_허용() {
+        TokenVerifier lenient = TokenVerifier.builder()
+                .hmacSecret(SECRET)
+                .clockSkew(Duration.ofSeconds(30))
+                .build();
+
+        assertThat(lenient.verify(hs256(SECRET, ISSUER, inSeconds(-10))).userId()).isEqualTo(42L);
+    }
+
+    @Test
+    void 다른_키로_서명하면_INVALID_SIGNATURE() {
+        byte[] otherSecret = "other-secret-other-secret-other-secret-0123".getBytes(StandardCharsets.UTF_8);
+        String token = hs256(otherSecret, ISSUER, inSeconds(60));
+
+        assertReason(() -> verifier.verify(token), TokenVerificationException.Reason.INVALID_SIGNATURE);
+    }
+
+    @Test
+    void issuer_가_다르면_거부() {
+        String token = hs256(SECRET, "someone-else", inSeconds(60));
+
+        assertReason(() -> verifier.verify(token), TokenVerificationException.Reason.INVALID);
+    }
+
+    @Test
+    void 형식이_잘못되면_MALFORMED() {
+        assertReason(() -> verifier.verify("not-a-jwt"), TokenVerificationException.Reason.MALFORMED);
+        assertReason(() -> verifier.verify(""), TokenVerificationException.Reason.MALFORMED);
+    }
+
+    @Test
+    void 숫자가_아닌_sub_는_MALFORMED() {
+        String token = Jwts.builder()
+                .setSubject("abc")
+                .setIssuer(ISSUER)
+                .setExpiration(inSeconds(60))
+                .signWith(Keys.hmacShaKeyFor(SECRET), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertReason(() -> verifier.verify(token), TokenVerificationException.Reason.MALFORMED);
+    }
+
+    @Test
+    void ES256_는_kid_로_키_선택() throws Exception {
+        KeyPair keyPair = ecKeyPair();
+        TokenVerifier es256Verifier = TokenVerifier.builder()
+                .keySource(kid -> "k1".equals(kid) ? keyPair.getPublic() : null)
+                .build();
+
+        String token = es256(keyPair, "k1");
+        assertThat(es256Verifier.verify(token).userId()).isEqualTo(42L);
+
+        // 모르는 kid
+        assertReason(() -> es256Verifier.verify(es256(keyPair, "k2")), TokenVerificationException.Reason.UNSUPPORTED);
+        // 같은 kid 라도 다른 키로 서명
+        String forged = es256(ecKeyPair(), "k1");
+        assertReason(() -> es256Verifier.verify(forged), TokenVerificationException.Reason.INVALID_SIGNATURE);
+    }
+
+    @Test
+    void kid_있는_HS256_은_거부() throws Exception {
+        // algorithm confusion - kid 를 붙여도 HMAC 키로 ES256 자리를 대신할 수 없음
+        KeyPair keyPair = ecKeyPair();
+        TokenVerifier mixed = TokenVerifier.builder()
+                .hmacSecret(SECRET)
+                .keySource(kid -> keyPair.getPublic())
+                .build();
+        String token = Jwts.builder()
+                .setHeaderParam("kid", "k1")
+                .setSubject("42")
+                .setExpiration(inSeconds(60))
+                .signWith(Keys.hmacShaKeyFor(SECRET), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertReason(() -> mixed.verify(token), TokenVerificationException.Reason.UNSUPPORTED);
+    }
+
+    @Test
+    void 키가_하나도_없으면_생성_실패() {
+        assertThatThrownBy(() -> TokenVerifier.builder().build()).isInstanceOf(IllegalStateException.class);
+    }
+
+    static KeyPair ecKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+
+    static String es256(KeyPair keyPair, String kid) {
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .setSubject("42")
+                .setExpiration(inSeconds(60))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.ES256)
+                .compact();
+    }
+
+    private static String hs256(byte[] secret, String issuer, Date expiration) {
+        return Jwts.builder()
+                .setSubject("42")
+                .setIssuer(issuer)
+                .setExpiration(expiration)
+                .signWith(Keys.hmacShaKeyFor(secret), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static Date inSeconds(long seconds) {
+        return new Date(System.currentTimeMillis() + seconds * 1000);
+    }
+
+    private static void assertReason(Runnable call, TokenVerificationException.Reason reason) {
+        assertThatThrownBy(call::run)
+                .isInstanceOf(TokenVerificationException.class)
+                .satisfies(e -> assertThat(((TokenVerificationException) e).getReason()).isEqualTo(reason));
+    }
+}
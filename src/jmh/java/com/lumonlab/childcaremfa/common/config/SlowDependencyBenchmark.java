@@ -0,0 +1,94 @@
+package com.lumonlab.childcaremfa.common.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 느린 외부 호출 (SMTP, Google tokeninfo 등) 이 섞인 요청 처리량 - platform thread pool vs virtual thread
+ * 1 op = 요청 requests 건을 동시에 보내고 전부 끝날 때까지 (요청 1건 = dependencyMillis 동안 blocking)
+ * platform: Tomcat 기본 max-threads (200) 크기 pool -> 처리량 ~ 200 / dependencyMillis
+ * virtual: spring.threads.virtual.enabled 와 같은 executor (SimpleAsyncTaskExecutor) -> 처리량이 요청 수를 따라감
+ * virtualPinned: 같은 호출을 synchronized 안에서 (Java 21 ~ 23 pinning) -> carrier 수 (= core 수) 만큼만 동시 실행
+ * 초당 요청 수 = score x requests
+ *
+ * Java 21 이상 필요: ./gradlew jmh -PjmhIncludes=SlowDependencyBenchmark -PjmhJvm=<jdk21>/bin/java
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SlowDependencyBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual", "virtualPinned"})
+    public String mode;
+
+    @Param({"2000"})
+    public int requests;
+
+    @Param({"50"})
+    public long dependencyMillis;
+
+    private AsyncTaskExecutor executor;
+    private ThreadPoolTaskExecutor platformExecutor;
+    // 요청마다 다른 lock (경합 없이 pinning 만) - 밖으로 노출해서 JIT 가 lock 을 없애지 않게
+    private Object[] locks;
+
+    @Setup
+    public void setUp() {
+        locks = new Object[requests];
+        for (int i = 0; i < requests; i++) {
+            locks[i] = new Object();
+        }
+        if ("platform".equals(mode)) {
+            platformExecutor = new ThreadPoolTaskExecutor();
+            platformExecutor.setCorePoolSize(TOMCAT_MAX_THREADS);
+            platformExecutor.setMaxPoolSize(TOMCAT_MAX_THREADS);
+            platformExecutor.setQueueCapacity(Integer.MAX_VALUE);
+            platformExecutor.setThreadNamePrefix("platform-");
+            platformExecutor.initialize();
+            executor = platformExecutor;
+        } else {
+            SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("virtual-");
+            // Java 17 이면 여기서 UnsupportedOperationException
+            virtualExecutor.setVirtualThreads(true);
+            executor = virtualExecutor;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (platformExecutor != null) {
+            platformExecutor.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void handleRequests() {
+        boolean pinned = "virtualPinned".equals(mode);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[requests];
+        for (int i = 0; i < requests; i++) {
+            Object lock = locks[i];
+            futures[i] = executor.submitCompletable(() -> {
+                if (pinned) {
+                    synchronized (lock) {
+                        callDependency();
+                    }
+                } else {
+                    callDependency();
+                }
+                return null;
+            });
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private void callDependency() throws InterruptedException {
+        Thread.sleep(dependencyMillis);
+    }
+}
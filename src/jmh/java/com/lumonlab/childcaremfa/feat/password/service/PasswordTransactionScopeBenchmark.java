@@ -0,0 +1,219 @@
+package com.lumonlab.childcaremfa.feat.password.service;
+
+import com.lumonlab.childcaremfa.common.config.PasswordHashingProperties;
+import com.lumonlab.childcaremfa.feat.audit.service.AuditService;
+import com.lumonlab.childcaremfa.feat.auth.service.LoginAttemptTracker;
+import com.lumonlab.childcaremfa.feat.password.dto.PasswordChangeReq;
+import com.lumonlab.childcaremfa.feat.password.dto.PasswordResponse;
+import com.lumonlab.childcaremfa.feat.password.repo.PasswordResetRepository;
+import com.lumonlab.childcaremfa.feat.security.password.PasswordEncoders;
+import com.lumonlab.childcaremfa.feat.security.password.PasswordHasher;
+import com.lumonlab.childcaremfa.feat.token.service.TokenService;
+import com.lumonlab.childcaremfa.feat.user.entity.User;
+import com.lumonlab.childcaremfa.feat.user.entity.UserStatus;
+import com.lumonlab.childcaremfa.feat.user.repo.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * 비밀번호 변경 처리량 - 실제 PasswordService.changePassword 를 실제 PostgreSQL (embedded) + Hikari pool 에서
+ * hash = PasswordHasher (core 수 만큼 thread), 변경 1건 = 조회 + 검증 hash + 새 hash + 조건부 UPDATE
+ * 이메일 / 감사 로그 / 로그인 잠금 (Redis) 은 mock - 운영에서도 @Async 라 요청 처리량에 들어가지 않음
+ * 세션 폐기 (TokenService - Redis 또는 짧은 UPDATE 하나) 도 mock - 비교 대상은 hash 동안 커넥션을 잡는지 여부
+ *
+ * insideTransaction: 같은 호출을 바깥 트랜잭션으로 감쌈 (예전 @Transactional PasswordService)
+ *                    -> 첫 조회부터 커밋까지 커넥션을 잡은 채로 hash, 처리량 ~ poolSize / hash 시간
+ * outsideTransaction: 지금 PasswordService 그대로 - 조회 / 저장만 커넥션, 처리량 ~ cores / hash 시간
+ * 한 번 호출 = 요청 thread 32개 (pool 보다 많게) 가 동시에 변경 1건씩, 전부 끝날 때까지의 wall clock
+ *   (JMH thread 를 32개로 두면 커넥션을 못 받은 thread 의 측정 구간이 늘어나 처리량이 부풀려짐)
+ * 요청마다 자기 사용자의 비밀번호를 번갈아 바꿈 (서로 row lock 경합 없음)
+ * core 수는 -XX:ActiveProcessorCount 또는 taskset 으로 바꿔서 비교
+ *
+ * ./gradlew jmh -PjmhIncludes=PasswordTransactionScopeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PasswordTransactionScopeBenchmark {
+
+    private static final String FIRST_PASSWORD = "first-Passw0rd!";
+    private static final String SECOND_PASSWORD = "second-Passw0rd!";
+    private static final int REQUESTS = 32;
+
+    @Param({"2", "10"})
+    public int poolSize;
+
+    // 10 = 약 60ms (운영 12 의 1/4) - 반복 시간 안에 충분한 건수가 나오도록
+    @Param({"10"})
+    public int bcryptStrength;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private PasswordService passwordService;
+    private UserRepository userRepository;
+    private PasswordHasher passwordHasher;
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService requestThreads;
+    private List<Account> accounts;
+
+    @Setup
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        // 대기열에서 거부되지 않게 - 처리량만 비교
+        properties.setQueueCapacity(256);
+        properties.setMaxQueueWait(Duration.ofMinutes(1));
+        passwordHasher = new PasswordHasher(PasswordEncoders.bcrypt(bcryptStrength), properties,
+                new SimpleMeterRegistry());
+
+        context = new SpringApplicationBuilder(BenchmarkContext.class)
+                .web(WebApplicationType.NONE)
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("passwordHasher", passwordHasher))
+                // application.yml 보다 우선하도록 실행 인자로
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "--spring.datasource.hikari.minimum-idle=" + poolSize,
+                        // 요청 thread 가 작은 pool 을 기다려도 실패하지 않게 - 대기는 처리량에 그대로 반영
+                        "--spring.datasource.hikari.connection-timeout=600000",
+                        "--spring.jpa.hibernate.ddl-auto=none",
+                        "--spring.jpa.open-in-view=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN");
+
+        passwordService = context.getBean(PasswordService.class);
+        userRepository = context.getBean(UserRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        requestThreads = Executors.newFixedThreadPool(REQUESTS);
+
+        String firstHash = passwordHasher.encode(FIRST_PASSWORD);
+        accounts = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            accounts.add(new Account(userRepository.save(User.builder()
+                    .email(UUID.randomUUID() + "@benchmark.com")
+                    .passwordHash(firstHash)
+                    .status(UserStatus.ACTIVE)
+                    .mfaEnabled(false)
+                    .build()).getId()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        requestThreads.shutdownNow();
+        context.close();
+        passwordHasher.shutdown();
+        postgres.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void insideTransaction() throws Exception {
+        runConcurrently(account -> transactionTemplate.execute(status ->
+                passwordService.changePassword(account.userId, account.next(), account.request)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void outsideTransaction() throws Exception {
+        runConcurrently(account -> passwordService.changePassword(account.userId, account.next(), account.request));
+    }
+
+    /**
+     * 사용자마다 변경 1건씩 동시에 - 실패하면 (비밀번호 불일치 / 경합) 예외로 측정 중단
+     */
+    private void runConcurrently(Function<Account, PasswordResponse> change) throws Exception {
+        List<Future<PasswordResponse>> futures = new ArrayList<>(REQUESTS);
+        for (Account account : accounts) {
+            futures.add(requestThreads.submit(() -> change.apply(account)));
+        }
+        for (Future<PasswordResponse> future : futures) {
+            future.get();
+        }
+    }
+
+    /**
+     * 사용자 한 명 - 호출할 때마다 두 비밀번호를 번갈아 씀 (한 번 호출 안에서는 한 요청만 사용)
+     */
+    private static class Account {
+
+        private final MockHttpServletRequest request = new MockHttpServletRequest();
+        private final Long userId;
+        private boolean first = true;
+
+        Account(Long userId) {
+            this.userId = userId;
+        }
+
+        PasswordChangeReq next() {
+            PasswordChangeReq request = first
+                    ? new PasswordChangeReq(FIRST_PASSWORD, SECOND_PASSWORD)
+                    : new PasswordChangeReq(SECOND_PASSWORD, FIRST_PASSWORD);
+            first = !first;
+            return request;
+        }
+    }
+
+    /**
+     * PasswordService 와 repository 만 - Redis / 메일 / 웹 / 보안 설정 없이
+     */
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            FlywayAutoConfiguration.class, TransactionAutoConfiguration.class})
+    @EntityScan("com.lumonlab.childcaremfa.feat")
+    @EnableJpaRepositories(basePackageClasses = {UserRepository.class, PasswordResetRepository.class})
+    @Import(PasswordService.class)
+    static class BenchmarkContext {
+
+        @Bean
+        EmailService emailService() {
+            return mock(EmailService.class);
+        }
+
+        @Bean
+        AuditService auditService() {
+            return mock(AuditService.class);
+        }
+
+        @Bean
+        LoginAttemptTracker loginAttemptTracker() {
+            return mock(LoginAttemptTracker.class);
+        }
+
+        @Bean
+        TokenService tokenService() {
+            return mock(TokenService.class);
+        }
+    }
+}
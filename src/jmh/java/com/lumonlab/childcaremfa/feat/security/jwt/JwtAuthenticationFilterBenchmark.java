@@ -0,0 +1,85 @@
+package com.lumonlab.childcaremfa.feat.security.jwt;
+
+import com.lumonlab.childcaremfa.feat.security.revocation.AccessTokenDenylist;
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 요청 1건 당 시간 / 할당 (gc profiler 의 gc.alloc.rate.norm = B/op)
+ * publicPath: permitAll 경로 (/api/v1/auth/login)
+ * cachedToken: 같은 access token 재사용 (캐시 hit)
+ * uncachedToken: 캐시 비활성화 - 매번 서명 검증
+ * request 객체는 재사용하므로 mock request 의 attribute set/remove 비용이 조금 포함됨
+ *
+ * ./gradlew jmh -PjmhIncludes=JwtAuthenticationFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter cachingFilter;
+    private JwtAuthenticationFilter nonCachingFilter;
+    private MockHttpServletRequest publicRequest;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("benchmark-secret-key-must-be-at-least-256-bits-long-0123456789");
+        properties.setAccessTokenExpiration(900_000L);
+        properties.setIssuer("lumanlab-childcare");
+
+        JwtTokenProvider provider = new JwtTokenProvider(properties, new JwtKeyRing(properties));
+        // 폐기 안 된 토큰은 Bloom filter 에서 끝나므로 Redis 없이 생성
+        AccessTokenDenylist denylist = new AccessTokenDenylist(null, properties);
+
+        properties.getCache().setEnabled(true);
+        cachingFilter = new JwtAuthenticationFilter(provider,
+                new JwtAuthenticationCache(properties, new SimpleMeterRegistry()), denylist);
+        properties.getCache().setEnabled(false);
+        nonCachingFilter = new JwtAuthenticationFilter(provider,
+                new JwtAuthenticationCache(properties, new SimpleMeterRegistry()), denylist);
+
+        String token = provider.generateAccessToken(42L, "parent@lumanlab.com", EnumSet.of(Role.PARENT));
+
+        publicRequest = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/v1/users/me");
+        authenticatedRequest.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+
+        // 캐시 채우기
+        cachingFilter.doFilter(authenticatedRequest, response, NO_OP_CHAIN);
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void publicPath() throws Exception {
+        cachingFilter.doFilter(publicRequest, response, NO_OP_CHAIN);
+    }
+
+    @Benchmark
+    public void cachedToken() throws Exception {
+        cachingFilter.doFilter(authenticatedRequest, response, NO_OP_CHAIN);
+    }
+
+    @Benchmark
+    public void uncachedToken() throws Exception {
+        nonCachingFilter.doFilter(authenticatedRequest, response, NO_OP_CHAIN);
+    }
+}
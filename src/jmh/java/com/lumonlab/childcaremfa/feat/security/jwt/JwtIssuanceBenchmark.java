@@ -0,0 +1,72 @@
+package com.lumonlab.childcaremfa.feat.security.jwt;
+
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * access token 발급 처리량 (스레드 1개 = 코어 1개 기준 tokens/sec)
+ * legacy: 예전 generateAccessToken - 매번 키 생성 + roles stream + jjwt builder 직렬화
+ * encoder: JwtTokenProvider.generateAccessToken (AccessTokenEncoder)
+ *
+ * ./gradlew jmh -PjmhIncludes=JwtIssuanceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtIssuanceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-must-be-at-least-256-bits-long-0123456789";
+    private static final String EMAIL = "parent@lumanlab.com";
+    private static final Set<Role> ROLES = EnumSet.of(Role.PARENT, Role.ADMIN);
+
+    @Param({"COMPACT", "LEGACY"})
+    public JwtProperties.TokenProfile profile;
+
+    private JwtProperties properties;
+    private JwtTokenProvider provider;
+
+    @Setup
+    public void setUp() {
+        properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setAccessTokenExpiration(900_000L);
+        properties.setRefreshTokenExpiration(604_800_000L);
+        properties.setIssuer("lumanlab-childcare");
+        properties.setTokenProfile(profile);
+
+        provider = new JwtTokenProvider(properties, new JwtKeyRing(properties));
+    }
+
+    @Benchmark
+    public String legacy() {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + properties.getAccessTokenExpiration());
+
+        return Jwts.builder()
+                .setSubject(String.valueOf(42L))
+                .claim("email", EMAIL)
+                .claim("roles", ROLES.stream().map(Role::name).collect(Collectors.toList()))
+                .setIssuer(properties.getIssuer())
+                .setIssuedAt(now)
+                .setExpiration(expiryDate)
+                .setId(UUID.randomUUID().toString())
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String encoder() {
+        return provider.generateAccessToken(42L, EMAIL, ROLES);
+    }
+}
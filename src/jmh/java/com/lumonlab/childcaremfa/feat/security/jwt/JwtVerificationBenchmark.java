@@ -0,0 +1,64 @@
+package com.lumonlab.childcaremfa.feat.security.jwt;
+
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 필터 한 번 (요청 1건) 당 access token 검증 비용
+ * legacy: 예전 필터처럼 validate/userId/email/claims 4번 파싱 + 매번 키 생성
+ * parseOnce: JwtTokenProvider.parseVerified 한 번
+ *
+ * ./gradlew jmh -PjmhIncludes=JwtVerificationBenchmark  (gc profiler 로 B/op 확인)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-must-be-at-least-256-bits-long-0123456789";
+
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setAccessTokenExpiration(900_000L);
+        properties.setRefreshTokenExpiration(604_800_000L);
+        properties.setIssuer("lumanlab-childcare");
+
+        provider = new JwtTokenProvider(properties, new JwtKeyRing(properties));
+        token = provider.generateAccessToken(42L, "parent@lumanlab.com", EnumSet.of(Role.PARENT, Role.ADMIN));
+    }
+
+    @Benchmark
+    public void legacy(Blackhole bh) {
+        bh.consume(legacyParse(token));
+        bh.consume(Long.valueOf(legacyParse(token).getSubject()));
+        bh.consume(legacyParse(token).get("email", String.class));
+        bh.consume(legacyParse(token).get("roles", List.class));
+    }
+
+    @Benchmark
+    public JwtPrincipal parseOnce() {
+        return provider.parseVerified(token);
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,38 @@
+package com.lumonlab.childcaremfa.feat.security.revocation;
+
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 필터에서 "폐기 안 됨" 판정 비용 (Bloom filter 음성 -> Redis 호출 없음)
+ * SampleTime 이라 p99 확인 가능
+ *
+ * ./gradlew jmh -PjmhIncludes=AccessTokenDenylistBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccessTokenDenylistBenchmark {
+
+    private AccessTokenDenylist denylist;
+    private String liveJti;
+
+    @Setup
+    public void setUp() {
+        // 음성 경로는 Redis 를 쓰지 않으므로 template 없이 생성
+        denylist = new AccessTokenDenylist(null, new JwtProperties());
+        for (int i = 0; i < 50_000; i++) {
+            denylist.onMessage(new DefaultMessage(new byte[0], UUID.randomUUID().toString().getBytes()), null);
+        }
+        liveJti = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return denylist.isRevoked(liveJti);
+    }
+}
@@ -0,0 +1,87 @@
+package com.lumonlab.childcaremfa.common.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * 재사용하는 작업 객체 (Mac / Signature / MessageDigest + 버퍼) 보관 - acquire 후 반드시 release
+ * platform thread: thread 별 하나 (ThreadLocal) - thread 가 pool 에서 재사용되므로 init 은 thread 당 한 번
+ * virtual thread: 요청마다 새 thread 라 ThreadLocal 이면 호출마다 새로 만들고 버림
+ *   -> 크기가 제한된 공용 pool 에서 빌리고 반납 (비었으면 새로 만들고, 가득 차 있으면 버림)
+ *   CPU 작업이라 동시에 쓰는 수는 carrier (core 수) 를 넘지 않음 - pool 은 core 수 x 2
+ * Java 17 에는 virtual thread 가 없으므로 항상 ThreadLocal
+ */
+public final class ThreadScratch<T> {
+
+    private static final MethodHandle IS_VIRTUAL = isVirtualHandle();
+
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> local;
+    private final ArrayBlockingQueue<T> pool;
+    private final boolean alwaysPooled;
+
+    private ThreadScratch(Supplier<T> factory, int capacity, boolean alwaysPooled) {
+        this.factory = factory;
+        this.local = ThreadLocal.withInitial(factory);
+        this.pool = new ArrayBlockingQueue<>(capacity);
+        this.alwaysPooled = alwaysPooled;
+    }
+
+    public static <T> ThreadScratch<T> withInitial(Supplier<T> factory) {
+        return new ThreadScratch<>(factory, Runtime.getRuntime().availableProcessors() * 2, false);
+    }
+
+    /**
+     * 테스트용 - thread 종류와 관계없이 pool 사용
+     */
+    static <T> ThreadScratch<T> pooled(Supplier<T> factory, int capacity) {
+        return new ThreadScratch<>(factory, capacity, true);
+    }
+
+    public T acquire() {
+        if (!usePool()) {
+            return local.get();
+        }
+        T value = pool.poll();
+        return value != null ? value : factory.get();
+    }
+
+    /**
+     * acquire 한 thread 에서 호출 - platform thread 면 아무것도 하지 않음
+     */
+    public void release(T value) {
+        if (usePool()) {
+            pool.offer(value);
+        }
+    }
+
+    private boolean usePool() {
+        return alwaysPooled || isVirtual(Thread.currentThread());
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * Thread.isVirtual (Java 21+) - Java 17 로 컴파일하므로 MethodHandle 로
+     */
+    private static MethodHandle isVirtualHandle() {
+        try {
+            return MethodHandles.publicLookup()
+                    .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
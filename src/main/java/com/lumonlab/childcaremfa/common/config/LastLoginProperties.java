@@ -0,0 +1,23 @@
+package com.lumonlab.childcaremfa.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * users.last_login_at write-behind 설정 (last-login.*)
+ */
+@Component
+@ConfigurationProperties(prefix = "last-login")
+@Getter
+@Setter
+public class LastLoginProperties {
+    // 최대 이 시간 뒤에 DB 반영 (종료 시에는 바로)
+    private Duration flushInterval = Duration.ofSeconds(5);
+    private int batchSize = 500;
+    // 반영 대기 사용자 수 상한 (메모리) - 넘으면 기록 누락 + 카운트
+    private int maxPending = 100_000;
+}
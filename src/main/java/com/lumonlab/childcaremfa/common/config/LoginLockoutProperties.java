@@ -0,0 +1,23 @@
+package com.lumonlab.childcaremfa.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 로그인 실패 잠금 설정 (login-lockout.*)
+ */
+@Component
+@ConfigurationProperties(prefix = "login-lockout")
+@Getter
+@Setter
+public class LoginLockoutProperties {
+    // 이 횟수만큼 실패하면 잠금
+    private int maxAttempts = 5;
+    // 실패 횟수를 세는 기간 (첫 실패부터) - 지나면 다시 0 부터
+    private Duration failureWindow = Duration.ofMinutes(15);
+    private Duration lockDuration = Duration.ofMinutes(15);
+}
@@ -0,0 +1,57 @@
+package com.lumonlab.childcaremfa.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 비밀번호 hash 알고리즘 / cost 와 전용 executor 설정 (password-hashing.*)
+ */
+@Component
+@ConfigurationProperties(prefix = "password-hashing")
+@Getter
+@Setter
+public class PasswordHashingProperties {
+    // 새 hash 에 쓸 알고리즘 (bcrypt | argon2) - 저장된 hash 는 {id} 접두사로 구분해서 그대로 검증
+    private String algorithm = "bcrypt";
+    // 검증 1회 목표 시간 - 보안 강도 / CPU 비용의 기준 (calibrate-on-startup, PasswordHashCalibrator)
+    private Duration targetLatency = Duration.ofMillis(250);
+    // 시작 시 현재 하드웨어에서 target-latency 에 맞는 cost 측정 후 사용 (설정된 cost 무시)
+    private boolean calibrateOnStartup = false;
+    private Bcrypt bcrypt = new Bcrypt();
+    private Argon2 argon2 = new Argon2();
+
+    // hashing thread 수, 0 이면 CPU 코어 수
+    private int threads = 0;
+    // 대기열 길이 - 꽉 차면 바로 503
+    private int queueCapacity = 64;
+    // 대기열에서 이 시간 넘게 기다린 작업은 실행하지 않고 503 (클라이언트가 이미 포기했을 가능성)
+    private Duration maxQueueWait = Duration.ofSeconds(2);
+    // hash 이후 작업 (DB 저장 / 토큰 발급) 전용 thread 수, 0 이면 hashing thread 수 x 2
+    private int callbackThreads = 0;
+    // callback 대기열 길이 - 꽉 차면 503
+    private int callbackQueueCapacity = 128;
+
+    @Getter
+    @Setter
+    public static class Bcrypt {
+        // log2 반복 횟수 (4 ~ 31), 1 올릴 때마다 시간 2배
+        private int strength = 12;
+    }
+
+    /**
+     * Argon2id - memory 는 고정하고 iterations 로 시간 조절
+     */
+    @Getter
+    @Setter
+    public static class Argon2 {
+        private int memoryKib = 19456;
+        private int iterations = 2;
+        private int parallelism = 1;
+        private int saltLength = 16;
+        private int hashLength = 32;
+    }
+}
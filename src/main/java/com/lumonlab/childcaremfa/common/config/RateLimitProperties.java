@@ -0,0 +1,57 @@
+package com.lumonlab.childcaremfa.common.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 로그인 / MFA / 비밀번호 재설정 요청 제한 (rate-limit.*)
+ * 기준마다 token bucket - capacity 개까지 연속 허용, period 동안 capacity 개 충전
+ * subject = 로그인 / 재설정은 email, MFA 는 user id
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+    private boolean enabled = true;
+    // 노드별 bucket 수 상한 (메모리)
+    private long localMaximumSize = 100_000;
+
+    private Endpoint login = new Endpoint(
+            new Rule(30, Duration.ofMinutes(1)),
+            new Rule(10, Duration.ofMinutes(5)),
+            new Rule(5, Duration.ofMinutes(1)));
+    private Endpoint mfa = new Endpoint(
+            new Rule(30, Duration.ofMinutes(1)),
+            new Rule(5, Duration.ofMinutes(1)),
+            new Rule(5, Duration.ofMinutes(1)));
+    private Endpoint passwordReset = new Endpoint(
+            new Rule(10, Duration.ofMinutes(1)),
+            new Rule(3, Duration.ofMinutes(15)),
+            new Rule(3, Duration.ofMinutes(15)));
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Endpoint {
+        private Rule ip;
+        private Rule subject;
+        private Rule ipSubject;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+        private int capacity;
+        private Duration period;
+    }
+}
@@ -0,0 +1,23 @@
+package com.lumonlab.childcaremfa.common.config;
+
+
+import com.lumonlab.childcaremfa.feat.security.revocation.AccessTokenDenylist;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class RedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            AccessTokenDenylist accessTokenDenylist) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(accessTokenDenylist, new ChannelTopic(AccessTokenDenylist.CHANNEL));
+        return container;
+    }
+}
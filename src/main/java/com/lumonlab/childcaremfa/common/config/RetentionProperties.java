@@ -0,0 +1,58 @@
+package com.lumonlab.childcaremfa.common.config;
+
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 만료 데이터 정리 작업 설정 (retention.*)
+ */
+@Component
+@ConfigurationProperties(prefix = "retention")
+@Getter
+@Setter
+public class RetentionProperties {
+    private RefreshTokens refreshTokens = new RefreshTokens();
+    private PasswordResetTokens passwordResetTokens = new PasswordResetTokens();
+    private SessionCounts sessionCounts = new SessionCounts();
+
+    /**
+     * refresh_tokens 월별 partition
+     */
+    @Getter
+    @Setter
+    public static class RefreshTokens {
+        // 미리 만들어 둘 partition 개월 수
+        private int monthsAhead = 3;
+        // partition 의 마지막 만료 시각 이후 이 기간이 지나면 drop (재사용 감지 / 감사용 보관)
+        private Duration retainAfterExpiry = Duration.ofDays(30);
+    }
+
+    /**
+     * password_reset_tokens 배치 삭제
+     */
+    @Getter
+    @Setter
+    public static class PasswordResetTokens {
+        private int batchSize = 1000;
+        // 배치 사이 대기 - WAL / replication 에 몰아서 부담 주지 않게
+        private Duration pauseBetweenBatches = Duration.ofMillis(50);
+        // 한 번 실행 최대 시간, 남은 건 다음 실행에서 이어서
+        private Duration maxDuration = Duration.ofMinutes(5);
+    }
+
+    /**
+     * user_session_counts 보정 (만료로 끝난 세션 반영)
+     */
+    @Getter
+    @Setter
+    public static class SessionCounts {
+        private int batchSize = 1000;
+        private Duration pauseBetweenBatches = Duration.ofMillis(50);
+        private Duration maxDuration = Duration.ofMinutes(5);
+    }
+}
@@ -0,0 +1,75 @@
+package com.lumonlab.childcaremfa.common.config;
+
+import com.lumonlab.childcaremfa.common.metrics.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.JedisClientConfigurationBuilderCustomizer;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import redis.clients.jedis.JedisPoolConfig;
+
+import java.time.Duration;
+
+/**
+ * virtual thread 모드 (spring.threads.virtual.enabled=true, Java 21 이상에서 실행)
+ * Spring Boot 가 Tomcat 요청 처리 / @Async (applicationTaskExecutor - 감사 로그, 이메일) / @Scheduled 를
+ * virtual thread 로 바꿈 - SMTP / Google tokeninfo 처럼 느린 외부 호출 동안 thread 를 잡지 않음
+ * 비밀번호 hash (PasswordHasher) 는 CPU 작업이라 그대로 전용 platform thread pool, hash 이후 작업도 전용 제한 pool
+ *
+ * pinning (synchronized 안에서 blocking -> carrier thread 고정, Java 21 ~ 23):
+ * - PostgreSQL JDBC (42.6+) / HikariCP 는 ReentrantLock 이라 해당 없음
+ * - Jedis pool (commons-pool2) 의 연결 생성은 synchronized 안에서 대기 -> 이 모드에서만 min-idle = max-idle 로 미리 채워 둠
+ *   (platform thread 모드는 Spring Boot 기본값 그대로 - 쓰지 않는 연결을 잡아 두지 않음)
+ * - JWT / refresh token 의 Mac, Signature 재사용은 ThreadLocal 대신 ThreadScratch (virtual thread 에서는 제한된 공용 pool)
+ * - 그 외 경로는 JFR 로 감시 (VirtualThreadPinningMonitor)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    private static final Duration PREFILL_INTERVAL = Duration.ofSeconds(30);
+
+    public VirtualThreadConfig() {
+        int javaVersion = Runtime.version().feature();
+        // Java 17 에서는 Spring Boot 가 조용히 platform thread 로 동작 - 설정과 실제가 다르지 않게 시작 실패
+        if (javaVersion < 21) {
+            throw new IllegalStateException(
+                    "spring.threads.virtual.enabled 는 Java 21 이상에서만 사용할 수 있습니다 (현재 Java " + javaVersion + ")");
+        }
+        log.info("virtual thread 모드: Tomcat / @Async / @Scheduled");
+    }
+
+    /**
+     * 나머지 pool 설정 (spring.data.redis.jedis.pool.*) 은 그대로, 미리 채우기 + 주기적 보충만 추가
+     */
+    @Bean
+    public JedisClientConfigurationBuilderCustomizer prefilledJedisPool(RedisProperties redisProperties) {
+        return builder -> builder.usePooling().poolConfig(prefilledPoolConfig(redisProperties.getJedis().getPool()));
+    }
+
+    static JedisPoolConfig prefilledPoolConfig(RedisProperties.Pool pool) {
+        JedisPoolConfig config = new JedisPoolConfig();
+        config.setMaxTotal(pool.getMaxActive());
+        config.setMaxIdle(pool.getMaxIdle());
+        config.setMinIdle(pool.getMaxIdle());
+        // evictor 가 min-idle 아래로 줄어든 연결을 다시 채움
+        config.setTimeBetweenEvictionRuns(pool.getTimeBetweenEvictionRuns() != null
+                ? pool.getTimeBetweenEvictionRuns()
+                : PREFILL_INTERVAL);
+        if (pool.getMaxWait() != null) {
+            config.setMaxWait(pool.getMaxWait());
+        }
+        return config;
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${virtual-threads.pinned-threshold:20ms}") Duration pinnedThreshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, pinnedThreshold);
+    }
+}
@@ -0,0 +1,42 @@
+package com.lumonlab.childcaremfa.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 정리 작업 공통 지표 (tag job=작업 이름)
+ * retention.duration        실행 시간 (Timer)
+ * retention.rows            처리한 행 수 누적 (Counter) - 삭제 / 보정한 행
+ * retention.rows_per_second 마지막 실행 처리량 (Gauge)
+ */
+@Component
+@RequiredArgsConstructor
+public class RetentionMetrics {
+
+    private final MeterRegistry meterRegistry;
+    // job 별 마지막 처리량 (double 을 bit 로 보관)
+    private final Map<String, AtomicLong> rowsPerSecond = new ConcurrentHashMap<>();
+
+    public void record(String job, long rows, Duration took) {
+        meterRegistry.timer("retention.duration", "job", job).record(took);
+        meterRegistry.counter("retention.rows", "job", job).increment(rows);
+
+        double seconds = Math.max(took.toNanos(), 1) / 1_000_000_000.0;
+        rowsPerSecond.computeIfAbsent(job, this::registerGauge)
+                .set(Double.doubleToLongBits(rows / seconds));
+    }
+
+    private AtomicLong registerGauge(String job) {
+        AtomicLong value = new AtomicLong(Double.doubleToLongBits(0));
+        meterRegistry.gauge("retention.rows_per_second", Tags.of("job", job), value,
+                bits -> Double.longBitsToDouble(bits.get()));
+        return value;
+    }
+}
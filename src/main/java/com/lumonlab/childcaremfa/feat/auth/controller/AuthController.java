@@ -1,10 +1,18 @@
 package com.lumonlab.childcaremfa.feat.auth.controller;
 
 import com.lumonlab.childcaremfa.feat.auth.dto.AuthResponse;
+import com.lumonlab.childcaremfa.feat.auth.dto.IntrospectReq;
+import com.lumonlab.childcaremfa.feat.auth.dto.IntrospectResponse;
 import com.lumonlab.childcaremfa.feat.auth.dto.LoginReq;
+import com.lumonlab.childcaremfa.feat.auth.dto.MfaLoginReq;
 import com.lumonlab.childcaremfa.feat.auth.dto.RefreshTokenReq;
 import com.lumonlab.childcaremfa.feat.auth.dto.RegisterReq;
 import com.lumonlab.childcaremfa.feat.auth.service.AuthService;
+import com.lumonlab.childcaremfa.feat.auth.service.IntrospectionService;
+import com.lumonlab.childcaremfa.feat.auth.service.MfaChallengeService;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtPrincipal;
+import com.lumonlab.childcaremfa.feat.security.ratelimit.RateLimitAction;
+import com.lumonlab.childcaremfa.feat.security.ratelimit.RateLimiter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +22,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
@@ -21,21 +31,44 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final IntrospectionService introspectionService;
+    private final MfaChallengeService mfaChallengeService;
+    private final RateLimiter rateLimiter;
 
+    /**
+     * 비동기 - 비밀번호 hash 동안 request thread 반환
+     */
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(
             @Valid @RequestBody RegisterReq request,
             HttpServletRequest httpRequest) {
-        AuthResponse response = authService.register(request, httpRequest);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return authService.register(request, httpRequest)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
 
+    /**
+     * 비동기 - 비밀번호 검증 동안 request thread 반환
+     */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(
             @Valid @RequestBody LoginReq request,
             HttpServletRequest httpRequest) {
         log.info("로그인 접속 시도 email {}", request.getEmail());
-        AuthResponse response = authService.login(request, httpRequest);
+        rateLimiter.check(RateLimitAction.LOGIN, httpRequest, request.getEmail());
+        return authService.login(request, httpRequest)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * 로그인 2단계 - challenge token + TOTP 만 확인 (비밀번호 hash 없음)
+     */
+    @PostMapping("/login/mfa")
+    public ResponseEntity<AuthResponse> loginMfa(
+            @Valid @RequestBody MfaLoginReq request,
+            HttpServletRequest httpRequest) {
+        MfaChallengeService.Challenge challenge = mfaChallengeService.parse(request.getMfaChallengeToken());
+        rateLimiter.check(RateLimitAction.MFA, httpRequest, String.valueOf(challenge.userId()));
+        AuthResponse response = authService.loginWithMfa(challenge, request.getCode(), httpRequest);
         return ResponseEntity.ok(response);
     }
 
@@ -53,8 +86,17 @@ public class AuthController {
             Authentication authentication,
             HttpServletRequest httpRequest) {
         Long userId = (Long) authentication.getPrincipal();
+        JwtPrincipal accessToken = authentication.getDetails() instanceof JwtPrincipal principal ? principal : null;
         log.info("로그아웃 접속 시도 user: {}", userId);
-        authService.logout(userId, httpRequest);
+        authService.logout(userId, accessToken, httpRequest);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/introspect")
+    public ResponseEntity<IntrospectResponse> introspect(
+            @RequestHeader(value = "X-Introspection-Key", required = false) String apiKey,
+            @Valid @RequestBody IntrospectReq request) {
+        introspectionService.authenticateClient(apiKey);
+        return ResponseEntity.ok(introspectionService.introspect(request.getTokens()));
+    }
 }
\ No newline at end of file
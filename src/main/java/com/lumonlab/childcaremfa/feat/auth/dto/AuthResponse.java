@@ -23,6 +23,8 @@ public class AuthResponse {
     private Set<Role> roles;
     private Boolean mfaEnabled;
     private Boolean mfaRequired;
+    // mfaRequired 일 때만 - /auth/login/mfa 에서 TOTP 와 같이 전송
+    private String mfaChallengeToken;
     private String message;
 
 
@@ -0,0 +1,25 @@
+package com.lumonlab.childcaremfa.feat.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntrospectReq {
+
+    // 한 번에 확인할 수 있는 토큰 수 (요청 하나가 오래 잡고 있지 않도록)
+    public static final int MAX_TOKENS = 100;
+
+    @NotEmpty(message = "토큰 목록이 필수 입니다!")
+    @Size(max = MAX_TOKENS, message = "한 번에 확인할 수 있는 토큰은 최대 100개 입니다!")
+    private List<@NotBlank(message = "빈 토큰은 허용되지 않습니다!") String> tokens;
+}
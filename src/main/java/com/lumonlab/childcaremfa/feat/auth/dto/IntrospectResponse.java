@@ -0,0 +1,45 @@
+package com.lumonlab.childcaremfa.feat.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntrospectResponse {
+
+    // 요청한 토큰 순서 그대로
+    private List<Result> results;
+
+    public enum Status {
+        ACTIVE,
+        EXPIRED,
+        REVOKED,
+        INVALID
+    }
+
+    /**
+     * active 가 아닌 토큰은 status 만 반환
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Result {
+        private boolean active;
+        private Status status;
+        private Long userId;
+        private Set<Role> roles;
+        private Long exp;
+        private String jti;
+    }
+}
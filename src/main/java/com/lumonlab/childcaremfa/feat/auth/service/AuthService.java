@@ -6,20 +6,26 @@ import com.lumonlab.childcaremfa.feat.auth.dto.AuthResponse;
 import com.lumonlab.childcaremfa.feat.auth.dto.LoginReq;
 import com.lumonlab.childcaremfa.feat.auth.dto.RegisterReq;
 import com.lumonlab.childcaremfa.feat.mfa.service.MfaService;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtAuthenticationCache;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtPrincipal;
 import com.lumonlab.childcaremfa.feat.security.jwt.JwtTokenProvider;
-import com.lumonlab.childcaremfa.feat.token.entity.RefreshToken;
+import com.lumonlab.childcaremfa.feat.security.password.PasswordHasher;
+import com.lumonlab.childcaremfa.feat.security.password.PasswordHashingRejectedException;
+import com.lumonlab.childcaremfa.feat.security.revocation.AccessTokenDenylist;
+import com.lumonlab.childcaremfa.feat.token.service.RefreshTokenStore;
 import com.lumonlab.childcaremfa.feat.token.service.TokenService;
 import com.lumonlab.childcaremfa.feat.user.entity.UserStatus;
 import com.lumonlab.childcaremfa.feat.user.entity.User;
 import com.lumonlab.childcaremfa.feat.user.repo.UserRepository;
+import com.lumonlab.childcaremfa.feat.user.service.LastLoginRecorder;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -27,26 +33,36 @@ import java.util.Map;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtTokenProvider jwtTokenProvider;
     private final TokenService tokenService;
     private final AuditService auditService;
     private final MfaService mfaService;
-
-    private static final int MAX_LOGIN_ATTEMPTS = 5;
-    private static final int LOCK_TIME_MINUTES = 15;
-
-    @Transactional
-    public AuthResponse register(RegisterReq request, HttpServletRequest httpRequest) {
+    private final JwtAuthenticationCache jwtAuthenticationCache;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final MfaChallengeService mfaChallengeService;
+    private final LastLoginRecorder lastLoginRecorder;
+
+    /**
+     * hash 는 PasswordHasher executor 에서, 저장 / 토큰 발급은 hash 가 끝난 뒤 이어서 (request thread 는 바로 반환)
+     * 트랜잭션 없음 - hash 가 다른 thread 에서 끝나므로 저장 / 발급은 각각 repository / store 트랜잭션
+     */
+    public CompletableFuture<AuthResponse> register(RegisterReq request, HttpServletRequest httpRequest) {
         // 이메일 체크
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("이미 가입된 이메일 입니다!");
         }
 
+        return passwordHasher.encodeAsync(request.getPassword())
+                .thenApply(passwordHash -> completeRegister(request, passwordHash, httpRequest));
+    }
+
+    private AuthResponse completeRegister(RegisterReq request, String passwordHash, HttpServletRequest httpRequest) {
         // 유저 생성
         User user = User.builder()
                 .email(request.getEmail())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHash)
                 .status(UserStatus.ACTIVE)
                 .mfaEnabled(false)
                 .build();
@@ -66,13 +82,13 @@ public class AuthService {
         // Generate tokens
         String accessToken = jwtTokenProvider.generateAccessToken(
                 user.getId(), user.getEmail(), user.getRoles());
-        RefreshToken refreshToken = tokenService.createRefreshToken(user, httpRequest);
+        String refreshToken = tokenService.createRefreshToken(user, httpRequest);
 
         log.info("유저 생성이 완료 되었습니다: {}", user.getEmail());
 
         return AuthResponse.builder()
                 .accessToken(accessToken)
-                .refreshToken(refreshToken.getTokenHash())
+                .refreshToken(refreshToken)
                 .tokenType("Bearer")
                 .expiresIn(900L)
                 .userId(user.getId())
@@ -83,13 +99,22 @@ public class AuthService {
                 .build();
     }
 
-    @Transactional
-    public AuthResponse login(LoginReq request, HttpServletRequest httpRequest) {
+    /**
+     * 조회 / 차단 확인은 request thread 에서, 비밀번호 검증은 PasswordHasher executor 에서
+     * 검증 이후 (MFA / 저장 / 토큰 발급) 는 hash 가 끝난 뒤 이어서 - register 와 같이 트랜잭션 없음
+     * 잠금은 Redis 에서 먼저 확인 - 잠긴 계정은 DB 조회도 하지 않음
+     */
+    public CompletableFuture<AuthResponse> login(LoginReq request, HttpServletRequest httpRequest) {
+        if (loginAttemptTracker.isLocked(request.getEmail())) {
+            auditService.logFailedLogin(request.getEmail(), "차단 된 계정", httpRequest);
+            throw new RuntimeException("계정이 차단되었습니다. 나중에 다시 시도해주세요!");
+        }
+
         // 유저 조회
         User user = userRepository.findByEmailWithRoles(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid credentials"));
 
-        // 유저 계정이 차단 안되어 있는지 체크
+        // Redis 장애 / 초기화 중에 걸린 잠금 (users.locked_until)
         if (user.isLocked()) {
             auditService.logFailedLogin(request.getEmail(), "차단 된 계정", httpRequest);
             throw new RuntimeException("계정이 차단되었습니다. 나중에 다시 시도해주세요!");
@@ -102,11 +127,44 @@ public class AuthService {
         }
 
         // pwd 체크
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-            handleFailedLogin(user, httpRequest);
-            throw new RuntimeException("입력 값이 잘 못 되었습니다!");
+        return passwordHasher.matchesAsync(request.getPassword(), user.getPasswordHash())
+                .thenApply(matched -> {
+                    if (!matched) {
+                        handleFailedLogin(user, httpRequest);
+                        throw new RuntimeException("입력 값이 잘 못 되었습니다!");
+                    }
+                    AuthResponse response = completeLogin(user, request, httpRequest);
+                    rehashIfNeeded(user, request.getPassword());
+                    return response;
+                });
+    }
+
+    /**
+     * 예전 알고리즘 / 낮은 cost 로 저장된 hash 를 현재 설정으로 다시 저장 (응답은 기다리지 않음)
+     * executor 가 포화면 건너뜀 - 다음 로그인에서 다시 시도
+     */
+    private void rehashIfNeeded(User user, String rawPassword) {
+        String oldHash = user.getPasswordHash();
+        if (!passwordHasher.upgradeEncoding(oldHash)) {
+            return;
+        }
+        try {
+            passwordHasher.encodeAsync(rawPassword)
+                    .thenAccept(newHash -> {
+                        if (userRepository.updatePasswordHash(user.getId(), oldHash, newHash) > 0) {
+                            log.info("비밀번호 hash 갱신: {}", user.getId());
+                        }
+                    })
+                    .exceptionally(e -> {
+                        log.warn("비밀번호 hash 갱신 실패: {}", user.getId(), e);
+                        return null;
+                    });
+        } catch (PasswordHashingRejectedException e) {
+            log.debug("hashing executor 포화 - 비밀번호 hash 갱신 건너뜀: {}", user.getId());
         }
+    }
 
+    private AuthResponse completeLogin(User user, LoginReq request, HttpServletRequest httpRequest) {
         boolean mfaEnforced = mfaService.isMfaEnforced(user);
         if (mfaEnforced && !user.getMfaEnabled()) {
             auditService.logAuthEvent(user, "LOGIN_BLOCKED_MFA_NOT_SETUP", AuditStatus.FAILURE,
@@ -115,10 +173,12 @@ public class AuthService {
         }
 
         if (user.getMfaEnabled()) {
+            // 2단계는 /auth/login/mfa 에서 challenge token 으로 - 비밀번호를 다시 보내지 않음
             if (request.getMfaCode() == null || request.getMfaCode().isEmpty()) {
                 return AuthResponse.builder()
                         .mfaRequired(true)
                         .mfaEnabled(true)
+                        .mfaChallengeToken(mfaChallengeService.issue(user.getId()))
                         .userId(user.getId())
                         .email(user.getEmail())
                         .message("MFA 인증이 필요합니다!")
@@ -128,31 +188,77 @@ public class AuthService {
             // MFA code 체크
             boolean mfaValid = mfaService.verifyMfaCode(user, request.getMfaCode());
             if (!mfaValid) {
-                auditService.logAuthEvent(user, "LOGIN_FAILED_INVALID_MFA", AuditStatus.FAILURE,
-                        httpRequest, Map.of("reason", "MFA code 잘 못 되었습니다!"));
+                handleFailedMfa(user, httpRequest);
                 throw new RuntimeException("MFA code 잘 못 되었습니다!");
             }
         }
 
 
+        return issueLoginTokens(user, "email_password", httpRequest);
+    }
+
+    /**
+     * 로그인 2단계 - challenge token 으로 비밀번호 확인을 대신함 (hash / email 조회 없음)
+     * 잠금 / 보류는 challenge 발급 이후에 바뀌었을 수 있어서 다시 확인
+     */
+    public AuthResponse loginWithMfa(MfaChallengeService.Challenge challenge, String code,
+                                     HttpServletRequest httpRequest) {
+        User user = userRepository.findByIdWithRoles(challenge.userId())
+                .orElseThrow(() -> new RuntimeException("Invalid credentials"));
+
+        if (loginAttemptTracker.isLocked(user.getEmail()) || user.isLocked()) {
+            auditService.logFailedLogin(user.getEmail(), "차단 된 계정", httpRequest);
+            throw new RuntimeException("계정이 차단되었습니다. 나중에 다시 시도해주세요!");
+        }
+        if (user.getStatus() == UserStatus.SUSPENDED) {
+            auditService.logFailedLogin(user.getEmail(), "계정이 보류되었습니다.", httpRequest);
+            throw new RuntimeException("계정이 보류되었습니다.");
+        }
+        if (!user.getMfaEnabled()) {
+            throw new RuntimeException("MFA가 활성화되지 않았습니다.");
+        }
+
+        // 사용됐거나 틀린 횟수로 폐기된 challenge 는 코드 확인 전에 거부
+        mfaChallengeService.ensureUsable(challenge);
+
+        if (!mfaService.verifyMfaCode(user, code)) {
+            boolean invalidated = mfaChallengeService.recordFailure(challenge);
+            handleFailedMfa(user, httpRequest);
+            if (invalidated) {
+                throw new RuntimeException("MFA code 가 여러 번 틀렸습니다. 다시 로그인해주세요!");
+            }
+            throw new RuntimeException("MFA code 잘 못 되었습니다!");
+        }
+
+        // 코드가 맞을 때만 소비 - 같은 challenge 로 두 번 발급되지 않게
+        mfaChallengeService.consume(challenge);
+
+        return issueLoginTokens(user, "mfa_challenge", httpRequest);
+    }
+
+    private AuthResponse issueLoginTokens(User user, String method, HttpServletRequest httpRequest) {
         // 로그인 후에!
-        user.resetFailedAttempts();
-        user.updateLastLogin();
-        userRepository.save(user);
+        loginAttemptTracker.reset(user.getEmail());
+        // users 는 잠금이 걸렸던 적이 있을 때만 UPDATE - 평소 로그인은 쓰기 없음
+        if (user.getFailedLoginAttempts() > 0 || user.getLockedUntil() != null) {
+            userRepository.clearFailedLoginAttempts(user.getId());
+        }
+        // users UPDATE 는 모아서 나중에 (write-behind)
+        lastLoginRecorder.record(user.getId());
 
         // token 생성~
         String accessToken = jwtTokenProvider.generateAccessToken(
                 user.getId(), user.getEmail(), user.getRoles());
-        RefreshToken refreshToken = tokenService.createRefreshToken(user, httpRequest);
+        String refreshToken = tokenService.createRefreshToken(user, httpRequest);
 
         auditService.logAuthEvent(user, "USER_LOGIN", AuditStatus.SUCCESS,
-                httpRequest, Map.of("method", "email_password"));
+                httpRequest, Map.of("method", method));
 
         log.info("로그인 완료:  {}", user.getEmail());
 
         return AuthResponse.builder()
                 .accessToken(accessToken)
-                .refreshToken(refreshToken.getTokenHash())
+                .refreshToken(refreshToken)
                 .tokenType("Bearer")
                 .expiresIn(900L)
                 .userId(user.getId())
@@ -163,45 +269,51 @@ public class AuthService {
                 .build();
     }
 
-    @Transactional
+    /**
+     * 트랜잭션 없음 - Redis 모드에서는 DB 커넥션을 잡지 않음 (DB 모드는 store 안에서 트랜잭션)
+     */
     public AuthResponse refresh(String refreshTokenValue, HttpServletRequest httpRequest) {
-        // refresh token
-        RefreshToken oldToken = tokenService.findValidToken(refreshTokenValue);
-        if (oldToken == null) {
+        // refresh token 로테이트
+        RefreshTokenStore.Rotation rotation = tokenService.rotateRefreshToken(refreshTokenValue, httpRequest);
+        if (rotation == null) {
             throw new RuntimeException("Refresh 토큰이 만료 되었습니다!");
         }
 
-        User user = oldToken.getUser();
-
-        // refresh token 로테이트
-        RefreshToken newRefreshToken = tokenService.rotateRefreshToken(oldToken, httpRequest);
+        RefreshTokenStore.Session session = rotation.getSession();
 
         // AT 생성
         String accessToken = jwtTokenProvider.generateAccessToken(
-                user.getId(), user.getEmail(), user.getRoles());
+                session.getUserId(), session.getEmail(), session.getRoles());
 
 
-        auditService.logAuthEvent(user, "TOKEN_REFRESHED", AuditStatus.SUCCESS,
-                httpRequest, Map.of());
+        // 감사 로그는 user id 만 필요 - 조회 없이 reference 로
+        auditService.logAuthEvent(userRepository.getReferenceById(session.getUserId()), "TOKEN_REFRESHED",
+                AuditStatus.SUCCESS, httpRequest, Map.of());
 
-        log.info("토큰 제발급 완료: {}", user.getId());
+        log.info("토큰 제발급 완료: {}", session.getUserId());
 
         return AuthResponse.builder()
                 .accessToken(accessToken)
-                .refreshToken(newRefreshToken.getTokenHash())
+                .refreshToken(rotation.getRefreshToken())
                 .tokenType("Bearer")
                 .expiresIn(900L)
-                .userId(user.getId())
-                .email(user.getEmail())
-                .roles(user.getRoles())
-                .mfaEnabled(user.getMfaEnabled())
+                .userId(session.getUserId())
+                .email(session.getEmail())
+                .roles(session.getRoles())
+                .mfaEnabled(session.isMfaEnabled())
                 .build();
     }
 
     @Transactional
-    public void logout(Long userId, HttpServletRequest httpRequest) {
+    public void logout(Long userId, JwtPrincipal accessToken, HttpServletRequest httpRequest) {
 
+        // 현재 access token 도 만료 전까지 사용 못 하게 - Redis 에 남기지 못하면 예외 (로그아웃 실패로 응답, 재시도)
+        if (accessToken != null) {
+            accessTokenDenylist.revoke(accessToken.getJti(), accessToken.getExpiresAt());
+        }
         tokenService.revokeAllUserTokens(userId);
+        // 로그아웃 이후 캐시 hit 으로 인증되는 일이 없도록
+        jwtAuthenticationCache.evictUser(userId);
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("유저 찾을 수 없습니다!"));
@@ -213,17 +325,32 @@ public class AuthService {
     }
 
     private void handleFailedLogin(User user, HttpServletRequest request) {
-        user.incrementFailedAttempts();
+        recordLoginFailure(user, request);
+        auditService.logFailedLogin(user.getEmail(), "입력 값이 잘 못 되었습니다.", request);
+    }
+
+    /**
+     * 틀린 MFA 코드도 비밀번호 실패와 같은 횟수로 셈 - challenge 를 새로 받아 가며 추측하는 것도 잠금
+     */
+    private void handleFailedMfa(User user, HttpServletRequest request) {
+        recordLoginFailure(user, request);
+        auditService.logAuthEvent(user, "LOGIN_FAILED_INVALID_MFA", AuditStatus.FAILURE,
+                request, Map.of("reason", "MFA code 잘 못 되었습니다!"));
+    }
 
-        if (user.getFailedLoginAttempts() >= MAX_LOGIN_ATTEMPTS) {
-            user.lock(LOCK_TIME_MINUTES);
+    /**
+     * 실패 횟수는 Redis 에서 원자적으로 - users 는 잠금이 걸릴 때만 UPDATE
+     */
+    private void recordLoginFailure(User user, HttpServletRequest request) {
+        LoginAttemptTracker.Failure failure = loginAttemptTracker.recordFailure(user.getEmail());
+
+        if (failure != null && failure.locked()) {
+            userRepository.lockUntil(user.getId(), failure.lockedUntil(), failure.attempts());
+            tokenService.userStateChanged(user.getId());
             log.warn(" 로그인이 여러번 실패해서 계정이 잠시 차단되었습니다: {}", user.getEmail());
 
             auditService.logAuthEvent(user, "ACCOUNT_LOCKED", AuditStatus.SUCCESS,
                     request, Map.of("reason", "로그인 여러번 실패했습니다."));
         }
-
-        userRepository.save(user);
-        auditService.logFailedLogin(user.getEmail(), "입력 값이 잘 못 되었습니다.", request);
     }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.lumonlab.childcaremfa.feat.auth.service;
+
+import com.lumonlab.childcaremfa.feat.auth.dto.IntrospectResponse;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtAuthenticationCache;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtAuthenticationFilter;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtPrincipal;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtTokenProvider;
+import com.lumonlab.childcaremfa.feat.security.revocation.AccessTokenDenylist;
+import com.lumonlab.childcaremfa.verifier.TokenVerificationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 내부 서비스 (gateway, scheduling) 용 access token 일괄 확인
+ * 서명 검증 (캐시 우선) -> 폐기 여부 (Bloom filter + MGET 한 번) 순서로 한 번에 처리
+ * 토큰 수 제한은 요청 검증에서 (IntrospectReq.tokens @Size)
+ */
+@Service
+@Slf4j
+public class IntrospectionService {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtAuthenticationCache authenticationCache;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final List<byte[]> apiKeys;
+
+    public IntrospectionService(JwtTokenProvider jwtTokenProvider,
+                                JwtAuthenticationCache authenticationCache,
+                                AccessTokenDenylist accessTokenDenylist,
+                                JwtProperties jwtProperties) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.authenticationCache = authenticationCache;
+        this.accessTokenDenylist = accessTokenDenylist;
+        this.apiKeys = jwtProperties.getIntrospection().getApiKeys().stream()
+                .filter(StringUtils::hasText)
+                .map(key -> key.getBytes(StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    /**
+     * 설정된 키 전부와 비교 (constant time, 일치해도 중간에 멈추지 않음)
+     */
+    public void authenticateClient(String apiKey) {
+        boolean matched = false;
+        if (apiKey != null) {
+            byte[] given = apiKey.getBytes(StandardCharsets.UTF_8);
+            for (byte[] key : apiKeys) {
+                matched |= MessageDigest.isEqual(key, given);
+            }
+        }
+        if (!matched) {
+            throw new BadCredentialsException("introspection API key 가 올바르지 않습니다");
+        }
+    }
+
+    public IntrospectResponse introspect(List<String> tokens) {
+        // 1) 서명 / 만료 확인
+        List<IntrospectResponse.Result> results = new ArrayList<>(tokens.size());
+        List<String> jtis = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            JwtPrincipal principal = null;
+            IntrospectResponse.Status status;
+            try {
+                principal = verify(token);
+                status = IntrospectResponse.Status.ACTIVE;
+                jtis.add(principal.getJti());
+            } catch (TokenVerificationException ex) {
+                status = ex.getReason() == TokenVerificationException.Reason.EXPIRED
+                        ? IntrospectResponse.Status.EXPIRED
+                        : IntrospectResponse.Status.INVALID;
+            }
+            results.add(toResult(status, principal));
+        }
+
+        // 2) 폐기 여부 - Redis 왕복은 많아야 한 번
+        Set<String> revoked = jtis.isEmpty() ? Set.of() : accessTokenDenylist.findRevoked(jtis);
+        if (!revoked.isEmpty()) {
+            for (int i = 0; i < results.size(); i++) {
+                IntrospectResponse.Result result = results.get(i);
+                if (result.isActive() && revoked.contains(result.getJti())) {
+                    authenticationCache.evict(tokens.get(i));
+                    results.set(i, toResult(IntrospectResponse.Status.REVOKED, null));
+                }
+            }
+        }
+
+        return IntrospectResponse.builder().results(results).build();
+    }
+
+    /**
+     * JwtAuthenticationFilter 와 같은 캐시 사용 - gateway 가 같은 토큰을 반복 확인해도 서명 검증은 한 번
+     */
+    private JwtPrincipal verify(String token) {
+        UsernamePasswordAuthenticationToken cached = authenticationCache.get(token);
+        if (cached != null) {
+            return (JwtPrincipal) cached.getDetails();
+        }
+        JwtPrincipal principal = jwtTokenProvider.parseVerified(token);
+        authenticationCache.put(token, JwtAuthenticationFilter.toAuthentication(principal));
+        return principal;
+    }
+
+    private IntrospectResponse.Result toResult(IntrospectResponse.Status status, JwtPrincipal principal) {
+        if (principal == null) {
+            return IntrospectResponse.Result.builder().active(false).status(status).build();
+        }
+        return IntrospectResponse.Result.builder()
+                .active(true)
+                .status(status)
+                .userId(principal.getUserId())
+                .roles(principal.getRoles())
+                .exp(principal.getExpiresAt() != null ? principal.getExpiresAt().getEpochSecond() : null)
+                .jti(principal.getJti())
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.lumonlab.childcaremfa.feat.auth.service;
+
+import com.lumonlab.childcaremfa.common.config.LoginLockoutProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 로그인 실패 횟수 / 잠금 상태 (Redis, email 기준)
+ * login:fail:{email}  실패 횟수 (INCR, TTL = login-lockout.failure-window)
+ * login:lock:{email}  잠금 (TTL = login-lockout.lock-duration)
+ * 실패 기록 + 잠금은 Lua script 한 번 - users 행을 읽고 고쳐 쓰지 않아서 동시 실패에도 횟수가 빠지지 않음
+ * users 테이블은 잠금이 걸릴 때만 UPDATE (AuthService)
+ * Redis 장애 시에는 잠금 확인 / 기록을 건너뜀 (요청 제한 RateLimiter 의 노드 로컬 제한은 그대로)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginAttemptTracker {
+
+    private static final String FAIL_KEY_PREFIX = "login:fail:";
+    private static final String LOCK_KEY_PREFIX = "login:lock:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LOGIN_FAILURE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/login_failure.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final LoginLockoutProperties properties;
+
+    /**
+     * DB 조회 전에 확인
+     */
+    public boolean isLocked(String email) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(LOCK_KEY_PREFIX + normalize(email)));
+        } catch (Exception e) {
+            log.warn("로그인 잠금 상태 확인 실패 - users.locked_until 만 확인: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @return 이번 실패로 잠금이 걸렸으면 Failure.lockedUntil 이 있음, Redis 장애 시 null
+     */
+    public Failure recordFailure(String email) {
+        String key = normalize(email);
+        try {
+            List<?> result = redisTemplate.execute(LOGIN_FAILURE_SCRIPT,
+                    List.of(FAIL_KEY_PREFIX + key, LOCK_KEY_PREFIX + key),
+                    String.valueOf(properties.getMaxAttempts()),
+                    String.valueOf(properties.getFailureWindow().toMillis()),
+                    String.valueOf(properties.getLockDuration().toMillis()));
+            if (result == null || result.size() < 2) {
+                return null;
+            }
+            int attempts = ((Number) result.get(0)).intValue();
+            boolean locked = ((Number) result.get(1)).intValue() == 1;
+            return new Failure(attempts, locked ? LocalDateTime.now().plus(properties.getLockDuration()) : null);
+        } catch (Exception e) {
+            log.warn("로그인 실패 기록 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 로그인 성공 - 실패 횟수만 초기화
+     */
+    public void reset(String email) {
+        delete(FAIL_KEY_PREFIX + normalize(email));
+    }
+
+    /**
+     * 비밀번호 재설정 - 실패 횟수 + 잠금 모두 해제
+     */
+    public void unlock(String email) {
+        String key = normalize(email);
+        delete(FAIL_KEY_PREFIX + key, LOCK_KEY_PREFIX + key);
+    }
+
+    private void delete(String... keys) {
+        try {
+            redisTemplate.delete(List.of(keys));
+        } catch (Exception e) {
+            log.warn("로그인 실패 기록 삭제 실패: {}", e.getMessage());
+        }
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public record Failure(int attempts, LocalDateTime lockedUntil) {
+
+        public boolean locked() {
+            return lockedUntil != null;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.lumonlab.childcaremfa.feat.auth.service;
+
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 로그인 2단계용 MFA challenge token - 비밀번호 확인 후 발급, /auth/login/mfa 에서 TOTP 와 같이 받음
+ * HS256 JWT (sub = user id, jti, typ = mfa), 키는 jwt.secret 에서 파생 (access token 과 서로 바꿔 쓸 수 없음)
+ * 한 번만 사용 - 토큰 발급 직전에 mfa:challenge:{jti} SET NX (만료 시각까지)
+ * 틀린 코드는 mfa:challenge:{jti}:fail 에 세고, jwt.mfa-challenge-max-attempts 에 닿으면 challenge 를 사용된 것으로 표시
+ * (TOTP 추측은 RateLimiter MFA 와 challenge 당 횟수 둘 다로 제한)
+ */
+@Service
+@Slf4j
+public class MfaChallengeService {
+
+    private static final String KEY_PREFIX = "mfa:challenge:";
+    private static final String TYPE_CLAIM = "typ";
+    private static final String TYPE = "mfa";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> FAILURE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/mfa_challenge_failure.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final int maxAttempts;
+    private final String issuer;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    public MfaChallengeService(StringRedisTemplate redisTemplate, JwtProperties jwtProperties) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = jwtProperties.getMfaChallengeTtl();
+        this.maxAttempts = jwtProperties.getMfaChallengeMaxAttempts();
+        this.issuer = jwtProperties.getIssuer();
+        this.signingKey = Keys.hmacShaKeyFor(resolveSecret(jwtProperties));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .require(TYPE_CLAIM, TYPE)
+                .build();
+    }
+
+    public String issue(Long userId) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setSubject(String.valueOf(userId))
+                .setId(UUID.randomUUID().toString())
+                .setIssuer(issuer)
+                .claim(TYPE_CLAIM, TYPE)
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(ttl)))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * 서명 / 만료만 확인 (Redis 조회 없음) - 잘 못 된 토큰이면 RuntimeException
+     */
+    public Challenge parse(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            return new Challenge(Long.valueOf(claims.getSubject()), claims.getId(),
+                    claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("MFA challenge 검증 실패: {}", e.getMessage());
+            throw new RuntimeException("MFA 인증 시간이 만료되었습니다. 다시 로그인해주세요!");
+        }
+    }
+
+    /**
+     * 코드 확인 전에 - 이미 사용됐거나 틀린 횟수로 폐기된 challenge 면 RuntimeException
+     * (폐기 뒤에 맞는 코드를 맞혔는지 응답으로 알 수 없게)
+     */
+    public void ensureUsable(Challenge challenge) {
+        Boolean used;
+        try {
+            used = redisTemplate.hasKey(usedKey(challenge));
+        } catch (Exception e) {
+            log.error("MFA challenge 상태 확인 실패: userId={}", challenge.userId(), e);
+            throw new RuntimeException("MFA 인증을 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+        if (Boolean.TRUE.equals(used)) {
+            throw new RuntimeException("이미 사용된 MFA 인증입니다. 다시 로그인해주세요!");
+        }
+    }
+
+    /**
+     * 틀린 코드 1회 기록
+     * @return 이번 실패로 challenge 가 폐기됐으면 true
+     * Redis 장애 시 false - 그동안은 consume 도 실패해서 토큰이 발급되지 않음
+     */
+    public boolean recordFailure(Challenge challenge) {
+        Duration remaining = remaining(challenge);
+        if (remaining.isNegative() || remaining.isZero()) {
+            return false;
+        }
+        try {
+            List<?> result = redisTemplate.execute(FAILURE_SCRIPT,
+                    List.of(failureKey(challenge), usedKey(challenge)),
+                    String.valueOf(maxAttempts), String.valueOf(remaining.toMillis()));
+            boolean invalidated = result != null && result.size() == 2 && ((Number) result.get(1)).intValue() == 1;
+            if (invalidated) {
+                log.warn("MFA 코드가 {}번 틀려서 challenge 폐기: userId={}", maxAttempts, challenge.userId());
+            }
+            return invalidated;
+        } catch (Exception e) {
+            log.warn("MFA challenge 실패 기록 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 이미 사용된 challenge 면 RuntimeException
+     * Redis 장애 시에도 거부 (한 번만 사용을 보장할 수 없음)
+     */
+    public void consume(Challenge challenge) {
+        Duration remaining = remaining(challenge);
+        if (remaining.isNegative() || remaining.isZero()) {
+            throw new RuntimeException("MFA 인증 시간이 만료되었습니다. 다시 로그인해주세요!");
+        }
+
+        Boolean first;
+        try {
+            first = redisTemplate.opsForValue().setIfAbsent(usedKey(challenge), "1", remaining);
+        } catch (Exception e) {
+            log.error("MFA challenge 사용 기록 실패: userId={}", challenge.userId(), e);
+            throw new RuntimeException("MFA 인증을 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+        if (!Boolean.TRUE.equals(first)) {
+            throw new RuntimeException("이미 사용된 MFA 인증입니다. 다시 로그인해주세요!");
+        }
+    }
+
+    private static Duration remaining(Challenge challenge) {
+        return Duration.between(Instant.now(), challenge.expiresAt());
+    }
+
+    // 사용 표시 / 실패 횟수 key 는 같은 slot (Redis Cluster 에서 script 하나로)
+    private static String usedKey(Challenge challenge) {
+        return KEY_PREFIX + "{" + challenge.jti() + "}";
+    }
+
+    private static String failureKey(Challenge challenge) {
+        return usedKey(challenge) + ":fail";
+    }
+
+    /**
+     * jwt.secret 에서 파생 (용도별로 다른 키), 없으면 (ES256 전용) 임시 키
+     */
+    private static byte[] resolveSecret(JwtProperties jwtProperties) {
+        if (!StringUtils.hasText(jwtProperties.getSecret())) {
+            // 재시작하면 진행 중인 MFA 로그인만 다시 하면 됨 (수명이 짧음)
+            log.warn("jwt.secret 이 설정되지 않아 MFA challenge 임시 키를 생성했습니다.");
+            return Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded();
+        }
+        try {
+            Mac derive = Mac.getInstance("HmacSHA256");
+            derive.init(new SecretKeySpec(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return derive.doFinal("mfa-challenge".getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("MFA challenge 키를 만들 수 없습니다", e);
+        }
+    }
+
+    public record Challenge(Long userId, String jti, Instant expiresAt) {
+    }
+}
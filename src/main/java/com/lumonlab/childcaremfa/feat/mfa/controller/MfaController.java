@@ -4,6 +4,8 @@ import com.lumonlab.childcaremfa.feat.mfa.dto.MfaSetupResponse;
 import com.lumonlab.childcaremfa.feat.mfa.dto.MfaStatusResponse;
 import com.lumonlab.childcaremfa.feat.mfa.dto.MfaVerifyReq;
 import com.lumonlab.childcaremfa.feat.mfa.service.MfaService;
+import com.lumonlab.childcaremfa.feat.security.ratelimit.RateLimitAction;
+import com.lumonlab.childcaremfa.feat.security.ratelimit.RateLimiter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 public class MfaController {
 
     private final MfaService mfaService;
+    private final RateLimiter rateLimiter;
 
     /**
      * 현재 유저 mfa 설정/비설정 여부 체크
@@ -56,6 +59,7 @@ public class MfaController {
             Authentication authentication,
             HttpServletRequest request) {
         Long userId = (Long) authentication.getPrincipal();
+        rateLimiter.check(RateLimitAction.MFA, request, String.valueOf(userId));
 
         MfaStatusResponse response = mfaService.verifyAndEnableMfa(
                 userId, verifyRequest.getCode(), request);
@@ -72,6 +76,7 @@ public class MfaController {
             Authentication authentication,
             HttpServletRequest request) {
         Long userId = (Long) authentication.getPrincipal();
+        rateLimiter.check(RateLimitAction.MFA, request, String.valueOf(userId));
 
         MfaStatusResponse response = mfaService.disableMfa(
                 userId, verifyRequest.getCode(), request);
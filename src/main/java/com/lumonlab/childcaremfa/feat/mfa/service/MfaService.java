@@ -11,6 +11,7 @@ import com.lumonlab.childcaremfa.feat.audit.entity.AuditStatus;
 import com.lumonlab.childcaremfa.feat.audit.service.AuditService;
 import com.lumonlab.childcaremfa.feat.mfa.dto.MfaSetupResponse;
 import com.lumonlab.childcaremfa.feat.mfa.dto.MfaStatusResponse;
+import com.lumonlab.childcaremfa.feat.token.service.TokenService;
 import com.lumonlab.childcaremfa.feat.user.entity.Role;
 import com.lumonlab.childcaremfa.feat.user.entity.User;
 import com.lumonlab.childcaremfa.feat.user.repo.UserRepository;
@@ -40,6 +41,7 @@ public class MfaService {
     private final UserRepository userRepository;
     private final MfaProperties mfaProperties;
     private final AuditService auditService;
+    private final TokenService tokenService;
 
     /**
      * MFA 코드 생성  / QR code
@@ -110,6 +112,7 @@ public class MfaService {
         // MFA 활성화
         user.setMfaEnabled(true);
         userRepository.save(user);
+        tokenService.userStateChanged(userId);
 
         auditService.logAuthEvent(user, "MFA_ENABLED", AuditStatus.SUCCESS,
                 request, Map.of("email", user.getEmail()));
@@ -161,6 +164,7 @@ public class MfaService {
         user.setMfaEnabled(false);
         user.setMfaSecret(null);
         userRepository.save(user);
+        tokenService.userStateChanged(userId);
 
         // Log audit event
         auditService.logAuthEvent(user, "MFA_DISABLED", AuditStatus.SUCCESS,
@@ -5,6 +5,8 @@ import com.lumonlab.childcaremfa.feat.password.dto.PasswordForgotReq;
 import com.lumonlab.childcaremfa.feat.password.dto.PasswordResetReq;
 import com.lumonlab.childcaremfa.feat.password.dto.PasswordResponse;
 import com.lumonlab.childcaremfa.feat.password.service.PasswordService;
+import com.lumonlab.childcaremfa.feat.security.ratelimit.RateLimitAction;
+import com.lumonlab.childcaremfa.feat.security.ratelimit.RateLimiter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 public class PasswordController {
 
     private final PasswordService passwordService;
+    private final RateLimiter rateLimiter;
 
     /**
      * 인증된 사용자 비밀번호 변경
@@ -46,6 +49,7 @@ public class PasswordController {
             @Valid @RequestBody PasswordForgotReq request,
             HttpServletRequest httpRequest) {
 
+        rateLimiter.check(RateLimitAction.PASSWORD_RESET, httpRequest, request.getEmail());
         PasswordResponse response = passwordService.forgotPassword(request.getEmail(), httpRequest);
         return ResponseEntity.ok(response);
     }
@@ -59,6 +63,7 @@ public class PasswordController {
             HttpServletRequest httpRequest) {
 
         log.info("Reset password request");
+        rateLimiter.check(RateLimitAction.PASSWORD_RESET, httpRequest, null);
 
         PasswordResponse response = passwordService.resetPassword(request, httpRequest);
         return ResponseEntity.ok(response);
@@ -69,8 +74,10 @@ public class PasswordController {
      */
     @GetMapping("/reset/validate")
     public ResponseEntity<PasswordResponse> validateResetToken(
-            @RequestParam String token) {
+            @RequestParam String token,
+            HttpServletRequest httpRequest) {
 
+        rateLimiter.check(RateLimitAction.PASSWORD_RESET, httpRequest, null);
         PasswordResponse response = passwordService.validateResetToken(token);
         return ResponseEntity.ok(response);
     }
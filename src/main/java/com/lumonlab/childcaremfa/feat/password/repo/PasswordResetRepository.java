@@ -16,9 +16,14 @@ public interface PasswordResetRepository extends JpaRepository<PasswordResetToke
 
     Optional<PasswordResetToken> findByToken(String token);
 
+    // 재설정 - 트랜잭션 밖에서 사용자까지 쓰기 위해 같이 조회
+    @Query("SELECT prt FROM PasswordResetToken prt JOIN FETCH prt.user WHERE prt.token = :token")
+    Optional<PasswordResetToken> findByTokenWithUser(@Param("token") String token);
+
+    // 같은 토큰으로 동시에 재설정하면 하나만 성공
     @Modifying
-    @Query("DELETE FROM PasswordResetToken prt WHERE prt.expiresAt < :now OR prt.usedAt IS NOT NULL")
-    void deleteExpiredAndUsedTokens(@Param("now") LocalDateTime now);
+    @Query("UPDATE PasswordResetToken prt SET prt.usedAt = :usedAt WHERE prt.id = :id AND prt.usedAt IS NULL")
+    int markUsed(@Param("id") Long id, @Param("usedAt") LocalDateTime usedAt);
 
     @Modifying
     @Query("DELETE FROM PasswordResetToken prt WHERE prt.user.id = :userId")
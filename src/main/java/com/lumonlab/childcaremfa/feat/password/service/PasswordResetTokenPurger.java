@@ -0,0 +1,91 @@
+package com.lumonlab.childcaremfa.feat.password.service;
+
+import com.lumonlab.childcaremfa.common.config.RetentionProperties;
+import com.lumonlab.childcaremfa.common.metrics.RetentionMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 만료 / 사용된 비밀번호 재설정 토큰 정리
+ * 한 번의 큰 DELETE 대신 id 순서 keyset 배치 (배치마다 autocommit - lock, WAL 이 짧게 끊김)
+ * 최대 실행 시간을 넘기면 멈추고, 남은 행은 다음 실행에서 그대로 이어짐 (지운 행은 이미 없으므로)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordResetTokenPurger {
+
+    private static final String JOB = "password_reset_tokens";
+
+    // SKIP LOCKED - 다른 인스턴스가 같은 배치를 잡고 있으면 기다리지 않고 건너뜀
+    private static final String DELETE_BATCH_SQL = """
+            DELETE FROM password_reset_tokens
+            WHERE id IN (SELECT id
+                         FROM password_reset_tokens
+                         WHERE id > ?
+                           AND (expires_at < ? OR used_at IS NOT NULL)
+                         ORDER BY id
+                         LIMIT ? FOR UPDATE SKIP LOCKED)
+            RETURNING id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RetentionProperties retentionProperties;
+    private final RetentionMetrics retentionMetrics;
+
+    /**
+     * 새벽 2시
+     */
+    @Scheduled(cron = "0 0 2 * * ?")
+    public void purge() {
+        RetentionProperties.PasswordResetTokens config = retentionProperties.getPasswordResetTokens();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long started = System.nanoTime();
+        long deadline = started + config.getMaxDuration().toNanos();
+
+        long cursor = 0;
+        long deleted = 0;
+        boolean finished = false;
+        while (System.nanoTime() < deadline) {
+            List<Long> ids = jdbcTemplate.queryForList(DELETE_BATCH_SQL, Long.class, cursor, now, config.getBatchSize());
+            deleted += ids.size();
+            if (ids.size() < config.getBatchSize()) {
+                finished = true;
+                break;
+            }
+            cursor = ids.stream().mapToLong(Long::longValue).max().orElse(cursor);
+            if (!pause(config.getPauseBetweenBatches())) {
+                break;
+            }
+        }
+
+        Duration took = Duration.ofNanos(System.nanoTime() - started);
+        retentionMetrics.record(JOB, deleted, took);
+        if (finished) {
+            log.info("이미 사용된 / 만료된 재설정 토큰을 정리했습니다: {}건, {}ms", deleted, took.toMillis());
+        } else {
+            log.info("재설정 토큰 정리 시간 초과 - 다음 실행에서 이어서: {}건 삭제, 마지막 id={}", deleted, cursor);
+        }
+    }
+
+    private static boolean pause(Duration pause) {
+        if (pause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
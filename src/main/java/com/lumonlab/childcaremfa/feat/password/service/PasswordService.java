@@ -2,21 +2,23 @@ package com.lumonlab.childcaremfa.feat.password.service;
 
 import com.lumonlab.childcaremfa.feat.audit.entity.AuditStatus;
 import com.lumonlab.childcaremfa.feat.audit.service.AuditService;
+import com.lumonlab.childcaremfa.feat.auth.service.LoginAttemptTracker;
 import com.lumonlab.childcaremfa.feat.password.dto.PasswordChangeReq;
 import com.lumonlab.childcaremfa.feat.password.dto.PasswordResetReq;
 import com.lumonlab.childcaremfa.feat.password.dto.PasswordResponse;
 import com.lumonlab.childcaremfa.feat.password.repo.PasswordResetRepository;
+import com.lumonlab.childcaremfa.feat.security.password.PasswordHasher;
 import com.lumonlab.childcaremfa.feat.token.entity.PasswordResetToken;
+import com.lumonlab.childcaremfa.feat.token.service.TokenService;
 import com.lumonlab.childcaremfa.feat.user.entity.User;
 import com.lumonlab.childcaremfa.feat.user.repo.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -29,17 +31,21 @@ public class PasswordService {
 
     private final UserRepository userRepository;
     private final PasswordResetRepository tokenRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final EmailService emailService;
     private final AuditService auditService;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final TokenService tokenService;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${password-reset.token-expiration}")
     private Long tokenExpiration;
 
     /**
      * 인증된 사용자 비밀번호 변경
+     * 트랜잭션 없음 - hash (검증 + 새 hash) 동안 DB 커넥션을 잡지 않음
+     * 조회 / 저장은 각각 repository 트랜잭션, 저장은 조회한 hash 가 그대로일 때만
      */
-    @Transactional
     public PasswordResponse changePassword(
             Long userId,
             PasswordChangeReq request,
@@ -47,10 +53,10 @@ public class PasswordService {
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        String currentHash = user.getPasswordHash();
 
         // 현재 비밀번호 확인
-        if (user.getPasswordHash() == null ||
-                !passwordEncoder.matches(request.getCurrentPassword(), user.getPasswordHash())) {
+        if (currentHash == null || !passwordHasher.matches(request.getCurrentPassword(), currentHash)) {
             auditService.logAuthEvent(user, "PASSWORD_CHANGE_FAILED", AuditStatus.FAILURE,
                     httpRequest, Map.of("reason", "현재 비밀번호가 잘못되었습니다"));
             throw new RuntimeException("현재 비밀번호가 잘못되었습니다.");
@@ -61,9 +67,13 @@ public class PasswordService {
             throw new RuntimeException("새 비밀번호는 현재 비밀번호와 달라야 합니다.");
         }
 
-        // 비밀번호 업데이트
-        user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
+        // 비밀번호 업데이트 - 그 사이 다른 요청이 바꿨으면 (hash 가 다르면) 덮어쓰지 않음
+        String newHash = passwordHasher.encode(request.getNewPassword());
+        if (userRepository.updatePasswordHash(userId, currentHash, newHash) == 0) {
+            throw new RuntimeException("비밀번호가 다른 요청에서 변경되었습니다. 다시 시도해주세요.");
+        }
+        // 이전 비밀번호로 만든 세션은 모두 끝냄 (이 기기도 다시 로그인)
+        tokenService.revokeAllUserTokens(userId);
 
         // 확인 이메일 보내기
         emailService.sendPasswordChangedEmail(user.getEmail());
@@ -125,13 +135,13 @@ public class PasswordService {
 
     /**
      * 이메일 토큰을 사용해서 비밀번호 재설정
+     * 조회 -> hash (트랜잭션 / 커넥션 없음) -> 토큰 사용 처리 + 비밀번호 저장 (짧은 쓰기 트랜잭션 하나)
      */
-    @Transactional
     public PasswordResponse resetPassword(
             PasswordResetReq request,
             HttpServletRequest httpRequest) {
 
-        PasswordResetToken resetToken = tokenRepository.findByToken(request.getToken())
+        PasswordResetToken resetToken = tokenRepository.findByTokenWithUser(request.getToken())
                 .orElseThrow(() -> new RuntimeException("유효하지 않거나 만료된 토큰"));
 
         // token 확인
@@ -146,15 +156,19 @@ public class PasswordService {
 
         User user = resetToken.getUser();
 
-        // password 업데이트
-        user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
-        user.resetFailedAttempts();
-        user.unlock();
-        userRepository.save(user);
+        String passwordHash = passwordHasher.encode(request.getNewPassword());
 
-        // 이미 사용됨!
-        resetToken.markAsUsed();
-        tokenRepository.save(resetToken);
+        transactionTemplate.executeWithoutResult(status -> {
+            // 이미 사용됨!
+            if (tokenRepository.markUsed(resetToken.getId(), LocalDateTime.now()) == 0) {
+                throw new RuntimeException("재설정 토큰이 이미 사용되었습니다.");
+            }
+            // password 업데이트 + 잠금 해제
+            userRepository.resetPassword(user.getId(), passwordHash);
+        });
+        loginAttemptTracker.unlock(user.getEmail());
+        // 비밀번호를 잊었거나 탈취된 경우 - 기존 세션은 모두 끝냄
+        tokenService.revokeAllUserTokens(user.getId());
 
         // 확인 이메일 보내기
         emailService.sendPasswordChangedEmail(user.getEmail());
@@ -191,14 +205,4 @@ public class PasswordService {
                 .message("토큰 사용 가능")
                 .build();
     }
-
-    /**
-     * 만료된 토큰을 정리하는 작업 / 새벽 2시
-     */
-    @Scheduled(cron = "0 0 2 * * ?")
-    @Transactional
-    public void cleanupExpiredTokens() {
-        tokenRepository.deleteExpiredAndUsedTokens(LocalDateTime.now());
-        log.info("이미 사용된 / 만료된 재설정 토큰을 정리했습니다!!!");
-    }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.lumonlab.childcaremfa.feat.security.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Arrays;
+
+/**
+ * 인증 정보가 전혀 필요 없는 경로
+ * SecurityConfig permitAll + JwtAuthenticationFilter.shouldNotFilter 에서 같이 사용
+ * (/api/v1/auth/social/** 는 permitAll 이지만 link / accounts 가 인증 필요해서 여기 없음)
+ */
+public final class PublicEndpoints {
+
+    public static final String[] PATHS = {
+            "/api/v1/auth/register",
+            "/api/v1/auth/login",
+            // 비밀번호 대신 MFA challenge token 으로 확인 (MfaChallengeService)
+            "/api/v1/auth/login/mfa",
+            "/api/v1/auth/refresh",
+            // 내부 서비스용 - 사용자 토큰 대신 X-Introspection-Key 로 인증 (IntrospectionService)
+            "/api/v1/auth/introspect",
+            "/api/v1/password/resetpwd",
+            "/api/v1/password/reset",
+            "/api/v1/password/reset/validate",
+            "/actuator/health",
+            "/actuator/info",
+            "/.well-known/jwks.json",
+            "/swagger-ui/**",
+            "/v3/api-docs/**",
+            "/swagger-resources/**"
+    };
+
+    private static final String WILDCARD_SUFFIX = "/**";
+
+    // "/swagger-ui/**" -> "/swagger-ui"
+    private static final String[] PREFIXES = Arrays.stream(PATHS)
+            .filter(path -> path.endsWith(WILDCARD_SUFFIX))
+            .map(path -> path.substring(0, path.length() - WILDCARD_SUFFIX.length()))
+            .toArray(String[]::new);
+
+    private static final String[] EXACT_PATHS = Arrays.stream(PATHS)
+            .filter(path -> !path.endsWith(WILDCARD_SUFFIX))
+            .toArray(String[]::new);
+
+    private PublicEndpoints() {
+    }
+
+    /**
+     * 할당 없이 문자열 비교만 (정확히 일치 or "/**" prefix)
+     */
+    public static boolean matches(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        int offset = request.getContextPath().length();
+        int length = uri.length() - offset;
+
+        for (String path : EXACT_PATHS) {
+            if (length == path.length() && uri.startsWith(path, offset)) {
+                return true;
+            }
+        }
+        for (String prefix : PREFIXES) {
+            if (uri.startsWith(prefix, offset)
+                    && (length == prefix.length() || uri.charAt(offset + prefix.length()) == '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,7 +1,10 @@
 package com.lumonlab.childcaremfa.feat.security.config;
 
 
+import com.lumonlab.childcaremfa.common.config.PasswordHashingProperties;
 import com.lumonlab.childcaremfa.feat.security.jwt.JwtAuthenticationFilter;
+import com.lumonlab.childcaremfa.feat.security.password.PasswordEncoders;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,7 +14,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -36,13 +38,10 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/v1/auth/register", "/api/v1/auth/login", "/api/v1/auth/refresh").permitAll()
-                        .requestMatchers("/actuator/health", "/actuator/info").permitAll()
-                        .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**").permitAll()
-                        .requestMatchers("/api/v1/auth/register", "/api/v1/auth/login",
-                                "/api/v1/auth/refresh", "/api/v1/auth/social/**").permitAll()
-                        .requestMatchers("/api/v1/password/resetpwd", "/api/v1/password/reset",
-                                "/api/v1/password/reset/validate").permitAll()
+                        // 비동기 컨트롤러 결과 / 에러 dispatch - 원래 요청에서 이미 인가됨
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                        .requestMatchers(PublicEndpoints.PATHS).permitAll()
+                        .requestMatchers("/api/v1/auth/social/**").permitAll()
                         .requestMatchers("/api/v1/admin/**").hasAnyRole("ADMIN", "MASTER")
                         .anyRequest().authenticated()
                 )
@@ -51,9 +50,12 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * {id} 접두사 기반 - 알고리즘 / cost 는 password-hashing.* (PasswordEncoders)
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties) {
+        return PasswordEncoders.create(passwordHashingProperties);
     }
 
     @Bean
@@ -0,0 +1,29 @@
+package com.lumonlab.childcaremfa.feat.security.controller;
+
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtKeyRing;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+    private final JwtProperties jwtProperties;
+
+    /**
+     * 다른 서비스가 access token 을 직접 검증할 수 있도록 공개 키 제공 (kid 로 선택)
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwtProperties.getJwksMaxAge()).cachePublic())
+                .body(keyRing.toJwks());
+    }
+}
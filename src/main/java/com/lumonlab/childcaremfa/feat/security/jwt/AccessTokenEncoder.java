@@ -0,0 +1,339 @@
+package com.lumonlab.childcaremfa.feat.security.jwt;
+
+import com.lumonlab.childcaremfa.common.concurrent.ThreadScratch;
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * access token 발급 전용 인코더 (jjwt builder 대신)
+ * - header 세그먼트 ("alg" + "kid") 와 iss 는 시작할 때 한 번만 인코딩
+ * - claim JSON 은 재사용 byte 버퍼에 직접 쓰고 base64url 도 같은 버퍼에서 처리
+ * - Mac / Signature 는 한 번만 init 해서 재사용 (ThreadScratch - platform thread 는 thread 별, virtual thread 는 공용 pool)
+ * 결과 String 하나 외에는 토큰마다 새로 만드는 객체가 거의 없음
+ * 검증은 jjwt (TokenVerifier) 그대로 - 만드는 JSON 형식은 기존 jjwt 발급과 같음
+ */
+final class AccessTokenEncoder {
+
+    private static final byte[] BASE64_URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    // claim 이름 (jjwt 발급 순서와 같게)
+    private static final byte[] SUB = ascii("\"sub\":");
+    private static final byte[] ISS = ascii(",\"iss\":");
+    private static final byte[] IAT = ascii(",\"iat\":");
+    private static final byte[] EXP = ascii(",\"exp\":");
+    private static final byte[] JTI = ascii(",\"jti\":");
+    private static final byte[] ROLE_MASK = ascii(",\"" + JwtTokenProvider.ROLE_MASK_CLAIM + "\":");
+    private static final byte[] EMAIL = ascii(",\"" + JwtTokenProvider.LEGACY_EMAIL_CLAIM + "\":");
+    private static final byte[] ROLES = ascii(",\"" + JwtTokenProvider.LEGACY_ROLES_CLAIM + "\":[");
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_ID_BYTES = 16;
+
+    private final byte[] headerSegment;
+    private final byte[] issuerJson;
+    private final boolean compact;
+    private final ThreadScratch<Scratch> scratch;
+
+    private AccessTokenEncoder(String headerJson, String issuer, JwtProperties.TokenProfile profile,
+                               ThreadScratch<Scratch> scratch) {
+        byte[] header = headerJson.getBytes(StandardCharsets.UTF_8);
+        this.headerSegment = new byte[base64Length(header.length)];
+        encodeBase64Url(header, 0, header.length, headerSegment, 0);
+        this.issuerJson = issuer != null ? jsonString(issuer) : null;
+        this.compact = profile == JwtProperties.TokenProfile.COMPACT;
+        this.scratch = scratch;
+    }
+
+    static AccessTokenEncoder hs256(SecretKey key, String issuer, JwtProperties.TokenProfile profile) {
+        return new AccessTokenEncoder("{\"alg\":\"HS256\"}", issuer, profile,
+                ThreadScratch.withInitial(() -> Scratch.hmac(key)));
+    }
+
+    static AccessTokenEncoder es256(String kid, PrivateKey key, String issuer, JwtProperties.TokenProfile profile) {
+        return new AccessTokenEncoder("{\"kid\":" + new String(jsonString(kid), StandardCharsets.US_ASCII)
+                + ",\"alg\":\"ES256\"}", issuer, profile,
+                ThreadScratch.withInitial(() -> Scratch.ecdsa(key)));
+    }
+
+    /**
+     * userId / roles 가 없거나 만료 시각이 발급 시각보다 앞이면 IllegalArgumentException
+     * legacy 프로필에서 email 이 null 이면 "email":null
+     */
+    String encode(Long userId, String email, Set<Role> roles, long issuedAtSeconds, long expiresAtSeconds) {
+        if (userId == null) {
+            throw new IllegalArgumentException("access token 발급에 userId 가 없습니다");
+        }
+        if (roles == null) {
+            throw new IllegalArgumentException("access token 발급에 roles 가 없습니다 (없으면 빈 Set)");
+        }
+        if (expiresAtSeconds <= issuedAtSeconds) {
+            throw new IllegalArgumentException("access token 만료 시각이 발급 시각보다 빠릅니다");
+        }
+        Scratch s = scratch.acquire();
+        try {
+            // 1) payload JSON
+            Buffer json = s.json;
+            json.length = 0;
+            json.write((byte) '{');
+            json.write(SUB);
+            json.write((byte) '"');
+            json.writeLong(userId);
+            json.write((byte) '"');
+            if (issuerJson != null) {
+                json.write(ISS);
+                json.write(issuerJson);
+            }
+            json.write(IAT);
+            json.writeLong(issuedAtSeconds);
+            json.write(EXP);
+            json.writeLong(expiresAtSeconds);
+            json.write(JTI);
+            json.write((byte) '"');
+            RANDOM.nextBytes(s.tokenId);
+            json.ensure(base64Length(TOKEN_ID_BYTES));
+            json.length = encodeBase64Url(s.tokenId, 0, TOKEN_ID_BYTES, json.bytes, json.length);
+            json.write((byte) '"');
+            if (compact) {
+                json.write(ROLE_MASK);
+                json.writeLong(Role.toMask(roles));
+            } else {
+                json.write(EMAIL);
+                json.writeJsonString(email);
+                json.write(ROLES);
+                boolean first = true;
+                for (Role role : roles) {
+                    if (!first) {
+                        json.write((byte) ',');
+                    }
+                    json.write((byte) '"');
+                    json.writeAscii(role.name());
+                    json.write((byte) '"');
+                    first = false;
+                }
+                json.write((byte) ']');
+            }
+            json.write((byte) '}');
+
+            // 2) header.payload
+            Buffer token = s.token;
+            token.length = 0;
+            token.write(headerSegment);
+            token.write((byte) '.');
+            token.ensure(base64Length(json.length));
+            token.length = encodeBase64Url(json.bytes, 0, json.length, token.bytes, token.length);
+
+            // 3) 서명
+            int signingInputLength = token.length;
+            int signatureLength = s.sign(token.bytes, signingInputLength);
+            token.write((byte) '.');
+            token.ensure(base64Length(signatureLength));
+            token.length = encodeBase64Url(s.signature, 0, signatureLength, token.bytes, token.length);
+
+            // base64url 과 '.' 만 있으므로 Latin-1 로 바로 String 생성 (인코딩 변환 없음)
+            return new String(token.bytes, 0, token.length, StandardCharsets.ISO_8859_1);
+        } finally {
+            scratch.release(s);
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] jsonString(String value) {
+        Buffer buffer = new Buffer(value.length() + 16);
+        buffer.writeJsonString(value);
+        return Arrays.copyOf(buffer.bytes, buffer.length);
+    }
+
+    private static int base64Length(int length) {
+        return (length * 4 + 2) / 3;
+    }
+
+    /**
+     * padding 없는 base64url, dst 의 끝 위치 반환
+     */
+    private static int encodeBase64Url(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        int end = offset + length;
+        int i = offset;
+        int d = dstOffset;
+        while (i + 3 <= end) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            dst[d++] = BASE64_URL[(bits >>> 18) & 0x3F];
+            dst[d++] = BASE64_URL[(bits >>> 12) & 0x3F];
+            dst[d++] = BASE64_URL[(bits >>> 6) & 0x3F];
+            dst[d++] = BASE64_URL[bits & 0x3F];
+            i += 3;
+        }
+        int remaining = end - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xFF) << 16;
+            dst[d++] = BASE64_URL[(bits >>> 18) & 0x3F];
+            dst[d++] = BASE64_URL[(bits >>> 12) & 0x3F];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8;
+            dst[d++] = BASE64_URL[(bits >>> 18) & 0x3F];
+            dst[d++] = BASE64_URL[(bits >>> 12) & 0x3F];
+            dst[d++] = BASE64_URL[(bits >>> 6) & 0x3F];
+        }
+        return d;
+    }
+
+    /**
+     * 늘어나기만 하는 ASCII byte 버퍼
+     */
+    private static final class Buffer {
+        private byte[] bytes;
+        private int length;
+
+        private Buffer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        private void ensure(int additional) {
+            if (length + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length + additional, bytes.length * 2));
+            }
+        }
+
+        private void write(byte b) {
+            ensure(1);
+            bytes[length++] = b;
+        }
+
+        private void write(byte[] src) {
+            ensure(src.length);
+            System.arraycopy(src, 0, bytes, length, src.length);
+            length += src.length;
+        }
+
+        private void writeAscii(String value) {
+            ensure(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                bytes[length++] = (byte) value.charAt(i);
+            }
+        }
+
+        private void writeLong(long value) {
+            if (value == Long.MIN_VALUE) {
+                writeAscii(Long.toString(value));
+                return;
+            }
+            ensure(20);
+            if (value < 0) {
+                bytes[length++] = '-';
+                value = -value;
+            }
+            int start = length;
+            do {
+                bytes[length++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            // 뒤집기
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                byte tmp = bytes[i];
+                bytes[i] = bytes[j];
+                bytes[j] = tmp;
+            }
+        }
+
+        /**
+         * JSON 문자열 ("..." 포함), ASCII 가 아닌 문자는 \\uXXXX 로 - 결과는 항상 ASCII
+         */
+        private void writeJsonString(String value) {
+            if (value == null) {
+                writeAscii("null");
+                return;
+            }
+            ensure(value.length() + 2);
+            bytes[length++] = '"';
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    ensure(2);
+                    bytes[length++] = '\\';
+                    bytes[length++] = (byte) c;
+                } else if (c >= 0x20 && c < 0x7F) {
+                    ensure(1);
+                    bytes[length++] = (byte) c;
+                } else {
+                    ensure(6);
+                    bytes[length++] = '\\';
+                    bytes[length++] = 'u';
+                    bytes[length++] = HEX[(c >>> 12) & 0xF];
+                    bytes[length++] = HEX[(c >>> 8) & 0xF];
+                    bytes[length++] = HEX[(c >>> 4) & 0xF];
+                    bytes[length++] = HEX[c & 0xF];
+                }
+            }
+            ensure(1);
+            bytes[length++] = '"';
+        }
+    }
+
+    /**
+     * 재사용 버퍼 + 서명 객체 (한 번에 한 thread 만 사용)
+     */
+    private static final class Scratch {
+        private final Buffer json = new Buffer(256);
+        private final Buffer token = new Buffer(512);
+        private final byte[] tokenId = new byte[TOKEN_ID_BYTES];
+        private final byte[] signature = new byte[64];
+        private final Mac mac;
+        private final Signature ecdsa;
+
+        private Scratch(Mac mac, Signature ecdsa) {
+            this.mac = mac;
+            this.ecdsa = ecdsa;
+        }
+
+        private static Scratch hmac(SecretKey key) {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(key);
+                return new Scratch(mac, null);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 를 사용할 수 없습니다", e);
+            }
+        }
+
+        private static Scratch ecdsa(PrivateKey key) {
+            try {
+                // JWS 형식 (r || s, 64 byte) 그대로 - DER 변환 필요 없음
+                Signature signature = Signature.getInstance("SHA256withECDSAinP1363Format");
+                signature.initSign(key);
+                return new Scratch(null, signature);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("SHA256withECDSA 를 사용할 수 없습니다", e);
+            }
+        }
+
+        /**
+         * doFinal / sign 후 Mac, Signature 는 init 직후 상태로 돌아가서 그대로 재사용 가능
+         */
+        private int sign(byte[] input, int length) {
+            try {
+                if (mac != null) {
+                    mac.update(input, 0, length);
+                    mac.doFinal(signature, 0);
+                    return mac.getMacLength();
+                }
+                ecdsa.update(input, 0, length);
+                return ecdsa.sign(signature, 0, signature.length);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("JWT 서명 실패", e);
+            }
+        }
+    }
+}
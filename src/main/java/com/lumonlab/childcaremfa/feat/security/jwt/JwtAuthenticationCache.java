@@ -0,0 +1,269 @@
+package com.lumonlab.childcaremfa.feat.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.lumonlab.childcaremfa.common.concurrent.ThreadScratch;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * 검증이 끝난 access token -> Authentication 캐시
+ * key 는 토큰 원문이 아니라 SHA-256 digest, 각 entry 는 토큰 exp 시점에 만료
+ * 메트릭: /actuator/metrics/cache.gets?tag=cache:jwt.authentication
+ *
+ * 폐기는 이 캐시가 아니라 AccessTokenDenylist 가 책임짐 - filter / introspect 는 hit 여도 항상 denylist 확인
+ * evict / evictUser 는 이 노드의 entry 만 지움 (다른 노드 캐시는 denylist 확인에서 걸러지고 exp 에 만료)
+ */
+@Component
+@Slf4j
+public class JwtAuthenticationCache {
+
+    private static final String CACHE_NAME = "jwt.authentication";
+
+    private static final ThreadScratch<DigestScratch> SCRATCH = ThreadScratch.withInitial(DigestScratch::new);
+
+    private final Clock clock;
+    private final Cache<TokenDigest, UsernamePasswordAuthenticationToken> cache;
+
+    @Autowired
+    public JwtAuthenticationCache(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this(jwtProperties, meterRegistry, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    /**
+     * 테스트용 - ticker (캐시 시간) 와 clock (토큰 exp 비교) 을 함께 움직임
+     */
+    JwtAuthenticationCache(JwtProperties jwtProperties, MeterRegistry meterRegistry, Ticker ticker, Clock clock) {
+        this.clock = clock;
+        JwtProperties.Cache properties = jwtProperties.getCache();
+        if (!properties.isEnabled()) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new UntilTokenExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("JWT 인증 캐시 활성화: maximumSize={}", properties.getMaximumSize());
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * 캐시 hit 이면 Authentication, 아니면 null
+     */
+    public UsernamePasswordAuthenticationToken get(String token) {
+        return get(token, 0);
+    }
+
+    /**
+     * source 의 offset 부터가 토큰 (예: "Bearer " 헤더 그대로) - substring 없이 조회
+     * hit 경로에서는 새 객체를 만들지 않음 (probe key 재사용 - ThreadScratch)
+     */
+    public UsernamePasswordAuthenticationToken get(String source, int offset) {
+        if (cache == null) {
+            return null;
+        }
+        DigestScratch scratch = SCRATCH.acquire();
+        try {
+            TokenDigest probe = scratch.digest(source, offset);
+            return probe != null ? cache.getIfPresent(probe) : null;
+        } finally {
+            SCRATCH.release(scratch);
+        }
+    }
+
+    /**
+     * details 에 JwtPrincipal 이 들어있는 Authentication 만 저장 (exp 필요)
+     */
+    public void put(String token, UsernamePasswordAuthenticationToken authentication) {
+        put(token, 0, authentication);
+    }
+
+    public void put(String source, int offset, UsernamePasswordAuthenticationToken authentication) {
+        if (cache == null || !(authentication.getDetails() instanceof JwtPrincipal)) {
+            return;
+        }
+        DigestScratch scratch = SCRATCH.acquire();
+        try {
+            TokenDigest probe = scratch.digest(source, offset);
+            if (probe != null) {
+                cache.put(probe.copy(), authentication);
+            }
+        } finally {
+            SCRATCH.release(scratch);
+        }
+    }
+
+    public void evict(String token) {
+        evict(token, 0);
+    }
+
+    public void evict(String source, int offset) {
+        if (cache == null) {
+            return;
+        }
+        DigestScratch scratch = SCRATCH.acquire();
+        try {
+            TokenDigest probe = scratch.digest(source, offset);
+            if (probe != null) {
+                cache.invalidate(probe);
+            }
+        } finally {
+            SCRATCH.release(scratch);
+        }
+    }
+
+    /**
+     * 로그아웃 시 해당 유저 entry 전부 제거 - 이 노드만, 전체 entry 순회 (maximumSize 만큼)
+     * 로그아웃은 드물어서 user 별 역색인은 두지 않음, 다른 노드는 denylist 로 막힘
+     */
+    public void evictUser(Long userId) {
+        if (cache == null) {
+            return;
+        }
+        cache.asMap().values().removeIf(authentication -> userId.equals(authentication.getPrincipal()));
+    }
+
+    /**
+     * 테스트용 - 크기 초과 / 만료 정리를 바로 실행
+     */
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    /**
+     * SHA-256 (256bit) 을 long 4개로 보관 - equals / hashCode 할당 없음
+     */
+    static final class TokenDigest {
+        private long w0;
+        private long w1;
+        private long w2;
+        private long w3;
+
+        private TokenDigest copy() {
+            TokenDigest copy = new TokenDigest();
+            copy.w0 = w0;
+            copy.w1 = w1;
+            copy.w2 = w2;
+            copy.w3 = w3;
+            return copy;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TokenDigest)) return false;
+            TokenDigest that = (TokenDigest) o;
+            return w0 == that.w0 && w1 == that.w1 && w2 == that.w2 && w3 == that.w3;
+        }
+
+        @Override
+        public int hashCode() {
+            // 이미 균일한 hash 값이라 그대로 사용
+            return (int) (w0 ^ (w0 >>> 32));
+        }
+    }
+
+    /**
+     * 재사용 MessageDigest / 버퍼 / probe key (한 번에 한 thread 만 사용)
+     */
+    private static final class DigestScratch {
+        private final MessageDigest sha256;
+        private final byte[] output = new byte[32];
+        private final TokenDigest probe = new TokenDigest();
+        private byte[] input = new byte[1024];
+
+        private DigestScratch() {
+            try {
+                this.sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 사용할 수 없습니다", e);
+            }
+        }
+
+        /**
+         * ASCII 가 아닌 문자가 있으면 null (JWT 는 base64url + '.' 만 사용, 캐시 안 함)
+         */
+        private TokenDigest digest(String source, int offset) {
+            int length = source.length() - offset;
+            if (input.length < length) {
+                input = new byte[Math.max(length, input.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = source.charAt(offset + i);
+                if (c > 0x7F) {
+                    return null;
+                }
+                input[i] = (byte) c;
+            }
+
+            sha256.update(input, 0, length);
+            try {
+                sha256.digest(output, 0, output.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException("SHA-256 digest 실패", e);
+            }
+
+            probe.w0 = readLong(output, 0);
+            probe.w1 = readLong(output, 8);
+            probe.w2 = readLong(output, 16);
+            probe.w3 = readLong(output, 24);
+            return probe;
+        }
+
+        private static long readLong(byte[] bytes, int offset) {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (bytes[offset + i] & 0xFFL);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * entry 수명 = 토큰의 남은 수명 (exp 이후에는 절대 hit 안 됨)
+     */
+    private class UntilTokenExpiry implements Expiry<TokenDigest, UsernamePasswordAuthenticationToken> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, UsernamePasswordAuthenticationToken value, long currentTime) {
+            Instant expiresAt = ((JwtPrincipal) value.getDetails()).getExpiresAt();
+            if (expiresAt == null) {
+                return 0L;
+            }
+            long remainingMillis = expiresAt.toEpochMilli() - clock.millis();
+            return Math.max(0L, remainingMillis) * 1_000_000L;
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, UsernamePasswordAuthenticationToken value,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, UsernamePasswordAuthenticationToken value,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
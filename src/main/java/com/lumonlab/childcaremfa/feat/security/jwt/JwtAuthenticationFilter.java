@@ -1,52 +1,83 @@
 package com.lumonlab.childcaremfa.feat.security.jwt;
 
+import com.lumonlab.childcaremfa.feat.security.config.PublicEndpoints;
+import com.lumonlab.childcaremfa.feat.security.revocation.AccessTokenDenylist;
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String ALREADY_FILTERED_ATTRIBUTE =
+            JwtAuthenticationFilter.class.getName() + ALREADY_FILTERED_SUFFIX;
+
+    // role 조합(bitmask) 별 불변 authority 목록 - 요청마다 SimpleGrantedAuthority 를 만들지 않음
+    private static final List<GrantedAuthority>[] AUTHORITIES_BY_ROLE_MASK = buildAuthorityTable();
+
     private final JwtTokenProvider jwtTokenProvider;
+    private final JwtAuthenticationCache authenticationCache;
+    private final AccessTokenDenylist accessTokenDenylist;
+
+    /**
+     * permitAll 경로 (login, health 등) 는 토큰 파싱 자체를 하지 않음
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PublicEndpoints.matches(request);
+    }
+
+    /**
+     * 기본 구현은 요청마다 filter 이름 + suffix 문자열을 새로 만듦
+     */
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        return ALREADY_FILTERED_ATTRIBUTE;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
-            String jwt = getJwtFromRequest(request);
-
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
-                String email = jwtTokenProvider.getEmailFromToken(jwt);
-
-                // Get roles from token
-                List<String> roles = jwtTokenProvider.getClaimsFromToken(jwt).get("roles", List.class);
-                List<SimpleGrantedAuthority> authorities = roles.stream()
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                        .collect(Collectors.toList());
+            String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
 
+            if (hasBearerToken(bearerToken)) {
+                // 같은 토큰 재사용 시 서명 검증 / claim 파싱 생략 (헤더에서 바로 digest, substring 없음)
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userId, null, authorities);
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        authenticationCache.get(bearerToken, BEARER_PREFIX.length());
+                if (authentication == null) {
+                    authentication = authenticate(bearerToken.substring(BEARER_PREFIX.length()));
+                    if (authentication != null) {
+                        authenticationCache.put(bearerToken, BEARER_PREFIX.length(), authentication);
+                    }
+                }
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (authentication != null && !isRevoked(bearerToken, authentication)) {
+                    SecurityContext context = SecurityContextHolder.createEmptyContext();
+                    context.setAuthentication(authentication);
+                    SecurityContextHolder.setContext(context);
+                }
             }
         } catch (Exception ex) {
             log.error("사용자 인증을 설정할 수 없습니다", ex);
@@ -55,11 +86,52 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String getJwtFromRequest(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
-        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
+    /**
+     * 캐시 hit 여부와 상관없이 항상 확인 (대부분 Bloom filter 에서 끝남)
+     */
+    private boolean isRevoked(String bearerToken, UsernamePasswordAuthenticationToken authentication) {
+        JwtPrincipal principal = (JwtPrincipal) authentication.getDetails();
+        if (!accessTokenDenylist.isRevoked(principal.getJti())) {
+            return false;
+        }
+        authenticationCache.evict(bearerToken, BEARER_PREFIX.length());
+        log.warn("폐기된 access token 사용 시도: user={}", principal.getUserId());
+        return true;
+    }
+
+    private UsernamePasswordAuthenticationToken authenticate(String jwt) {
+        JwtPrincipal principal = jwtTokenProvider.verify(jwt);
+        return principal != null ? toAuthentication(principal) : null;
+    }
+
+    /**
+     * 캐시에 넣는 Authentication 형태 (introspect 에서도 같은 캐시를 채움)
+     */
+    public static UsernamePasswordAuthenticationToken toAuthentication(JwtPrincipal principal) {
+        // 캐시에서 여러 요청이 공유하므로 details 는 요청 정보가 아닌 검증된 토큰 정보
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal.getUserId(), null, AUTHORITIES_BY_ROLE_MASK[principal.getRoleMask()]);
+        authentication.setDetails(principal);
+        return authentication;
+    }
+
+    private static boolean hasBearerToken(String bearerToken) {
+        return bearerToken != null
+                && bearerToken.length() > BEARER_PREFIX.length()
+                && bearerToken.startsWith(BEARER_PREFIX);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<GrantedAuthority>[] buildAuthorityTable() {
+        int size = Role.toMask(List.of(Role.values())) + 1;
+        List<GrantedAuthority>[] table = new List[size];
+        for (int mask = 0; mask < size; mask++) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (Role role : Role.fromMask(mask)) {
+                authorities.add(new SimpleGrantedAuthority(role.getAuthority()));
+            }
+            table[mask] = Collections.unmodifiableList(authorities);
         }
-        return null;
+        return table;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,164 @@
+package com.lumonlab.childcaremfa.feat.security.jwt;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * ES256 서명 키 모음 (kid 기준)
+ * 키 교체: 새 키를 NEXT 로 배포 -> ACTIVE 로 변경 + 이전 키 RETIRING
+ * RETIRING 키는 access token 만료 시간 + JWKS 캐시 시간 이후에 제거해야 살아있는 토큰이 깨지지 않음
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+
+    @Getter
+    private final SignatureAlgorithm algorithm;
+    private final String activeKid;
+    private final PrivateKey activePrivateKey;
+    private final Map<String, PublicKey> publicKeys;
+
+    public JwtKeyRing(JwtProperties jwtProperties) {
+        this.algorithm = SignatureAlgorithm.forName(jwtProperties.getSigningAlgorithm());
+
+        if (algorithm != SignatureAlgorithm.HS256 && algorithm != SignatureAlgorithm.ES256) {
+            throw new IllegalStateException("지원하지 않는 JWT 알고리즘: " + algorithm);
+        }
+
+        Map<String, PublicKey> keys = new LinkedHashMap<>();
+        String kid = null;
+        PrivateKey privateKey = null;
+
+        for (JwtProperties.SigningKey signingKey : jwtProperties.getKeys()) {
+            if (!StringUtils.hasText(signingKey.getKid()) || keys.containsKey(signingKey.getKid())) {
+                throw new IllegalStateException("JWT 키 kid 가 비어있거나 중복되었습니다: " + signingKey.getKid());
+            }
+            keys.put(signingKey.getKid(), parsePublicKey(signingKey.getPublicKey()));
+
+            if (signingKey.getStatus() == JwtProperties.KeyStatus.ACTIVE) {
+                if (privateKey != null) {
+                    throw new IllegalStateException("ACTIVE JWT 키는 하나만 설정할 수 있습니다.");
+                }
+                kid = signingKey.getKid();
+                privateKey = parsePrivateKey(signingKey.getPrivateKey());
+            }
+        }
+
+        if (algorithm == SignatureAlgorithm.ES256 && privateKey == null) {
+            // 로컬 개발용 - 재시작하면 기존 토큰은 검증 안 됨
+            KeyPair keyPair = generateEphemeralKeyPair();
+            kid = "ephemeral-" + UUID.randomUUID();
+            privateKey = keyPair.getPrivate();
+            keys.put(kid, keyPair.getPublic());
+            log.warn("ACTIVE ES256 키가 설정되지 않아 임시 키를 생성했습니다 (kid={}). 운영 환경에서는 jwt.keys 설정 필요!", kid);
+        }
+
+        this.activeKid = kid;
+        this.activePrivateKey = privateKey;
+        this.publicKeys = Collections.unmodifiableMap(keys);
+    }
+
+    public boolean isAsymmetric() {
+        return algorithm == SignatureAlgorithm.ES256;
+    }
+
+    public String getActiveKid() {
+        return activeKid;
+    }
+
+    public PrivateKey getActivePrivateKey() {
+        return activePrivateKey;
+    }
+
+    /**
+     * kid 로 검증 키 조회 (NEXT / ACTIVE / RETIRING 전부), 없으면 null
+     */
+    public PublicKey getPublicKey(String kid) {
+        return publicKeys.get(kid);
+    }
+
+    /**
+     * RFC 7517 JWK Set
+     */
+    public Map<String, Object> toJwks() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        publicKeys.forEach((kid, publicKey) -> {
+            ECPublicKey ecKey = (ECPublicKey) publicKey;
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("use", "sig");
+            jwk.put("alg", SignatureAlgorithm.ES256.getValue());
+            jwk.put("kid", kid);
+            jwk.put("x", toCoordinate(ecKey.getW().getAffineX()));
+            jwk.put("y", toCoordinate(ecKey.getW().getAffineY()));
+            jwks.add(jwk);
+        });
+        return Map.of("keys", jwks);
+    }
+
+    private static String toCoordinate(BigInteger value) {
+        // P-256 좌표는 32 byte 고정 (BigInteger 는 부호 byte 가 붙거나 짧을 수 있음)
+        byte[] raw = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(raw.length, 32);
+        System.arraycopy(raw, raw.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static PublicKey parsePublicKey(String pem) {
+        try {
+            return KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(decodePem(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("JWT public key 형식이 잘 못 되었습니다.", e);
+        }
+    }
+
+    private static PrivateKey parsePrivateKey(String pem) {
+        try {
+            return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(decodePem(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("JWT private key 형식이 잘 못 되었습니다.", e);
+        }
+    }
+
+    private static byte[] decodePem(String pem) {
+        if (!StringUtils.hasText(pem)) {
+            throw new IllegalArgumentException("PEM 이 비어있습니다.");
+        }
+        String base64 = pem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static KeyPair generateEphemeralKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("ES256 키 생성 실패", e);
+        }
+    }
+}
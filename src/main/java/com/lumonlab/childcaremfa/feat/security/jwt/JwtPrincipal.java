@@ -0,0 +1,23 @@
+package com.lumonlab.childcaremfa.feat.security.jwt;
+
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * 서명 검증이 끝난 access token 정보 (한 번만 파싱)
+ */
+@Value
+@Builder
+public class JwtPrincipal {
+
+    Long userId;
+    String email;
+    Set<Role> roles;
+    int roleMask;
+    Instant expiresAt;
+    String jti;
+}
@@ -6,6 +6,10 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "jwt")
 @Getter
@@ -14,5 +18,101 @@ public class JwtProperties {
     private String secret;
     private Long accessTokenExpiration;
     private Long refreshTokenExpiration;
+    // refresh token verifier HMAC 키 - 비어있으면 secret 에서 파생
+    private String refreshTokenSecret;
+    private RefreshTokenStoreType refreshTokenStore = RefreshTokenStoreType.DATABASE;
+    // 세션(로그인 1회) 절대 수명 - refresh 로 교체해도 늘어나지 않음, 지나면 다시 로그인
+    private Duration refreshSessionMaxLifetime = Duration.ofDays(30);
+    // 같은 refresh token 이 다시 와도 첫 교체 결과를 돌려주는 기간 (여러 탭 동시 refresh)
+    private Duration refreshGracePeriod = Duration.ofSeconds(10);
+    // Redis 모드 refresh 에서 쓰는 사용자 상태 (역할 / MFA / 잠금) 사본 수명
+    // 앱 안의 변경은 바로 지워지고, 앱 밖에서 바뀐 상태 (정지 / 역할 변경) 는 최대 이 시간 뒤 반영
+    private Duration refreshUserStateTtl = Duration.ofHours(1);
+    // 로그인 2단계 MFA challenge token 수명 (비밀번호 확인 후 TOTP 입력까지)
+    private Duration mfaChallengeTtl = Duration.ofMinutes(5);
+    // challenge 하나에 허용하는 틀린 TOTP 코드 수, 넘으면 challenge 폐기 (비밀번호부터 다시)
+    private int mfaChallengeMaxAttempts = 5;
+    // 사용자당 동시 세션 수 (0 = 제한 없음), 넘으면 가장 오래 안 쓴 세션 폐기
+    private int maxSessionsPerUser = 10;
     private String issuer;
+    private Cache cache = new Cache();
+    private Denylist denylist = new Denylist();
+    private Introspection introspection = new Introspection();
+    private TokenProfile tokenProfile = TokenProfile.COMPACT;
+
+    // HS256 (secret) | ES256 (keys)
+    private String signingAlgorithm = "HS256";
+    private List<SigningKey> keys = new ArrayList<>();
+    private Duration jwksMaxAge = Duration.ofMinutes(5);
+
+    /**
+     * 검증된 access token 캐시 (jwt.cache.*)
+     */
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = false;
+        private long maximumSize = 10_000;
+    }
+
+    /**
+     * 폐기된 access token Bloom filter 크기 (jwt.denylist.*) - access token 수명 동안 폐기 예상 건수 기준
+     * resync-interval: pub/sub 을 놓친 노드가 Redis SCAN 으로 따라잡는 주기 (= 놓친 폐기가 반영되는 최대 지연)
+     */
+    @Getter
+    @Setter
+    public static class Denylist {
+        private long expectedInsertions = 100_000;
+        private double falsePositiveRate = 0.001;
+        private Duration resyncInterval = Duration.ofSeconds(30);
+    }
+
+    /**
+     * 내부 서비스용 토큰 일괄 확인 (jwt.introspection.*)
+     * api-keys 가 비어있으면 endpoint 비활성화 (전부 401)
+     */
+    @Getter
+    @Setter
+    public static class Introspection {
+        private List<String> apiKeys = new ArrayList<>();
+    }
+
+    /**
+     * ES256 키 (jwt.keys[*]) - kid 로 선택
+     * NEXT: JWKS 에만 공개 / ACTIVE: 서명 + 검증 / RETIRING: 검증만
+     */
+    @Getter
+    @Setter
+    public static class SigningKey {
+        private String kid;
+        private KeyStatus status = KeyStatus.ACTIVE;
+        // PKCS#8 PEM (ACTIVE 만 필요)
+        private String privateKey;
+        // X.509 SubjectPublicKeyInfo PEM
+        private String publicKey;
+    }
+
+    /**
+     * COMPACT: role bitmask (r), email 없음 / LEGACY: email + roles 이름 목록
+     * 검증은 둘 다 항상 허용 (전환 기간)
+     */
+    public enum TokenProfile {
+        COMPACT,
+        LEGACY
+    }
+
+    /**
+     * DATABASE: refresh_tokens 테이블이 기준
+     * REDIS: 활성 세션은 Redis (TTL), refresh_tokens 는 비동기 이력 기록용
+     */
+    public enum RefreshTokenStoreType {
+        DATABASE,
+        REDIS
+    }
+
+    public enum KeyStatus {
+        NEXT,
+        ACTIVE,
+        RETIRING
+    }
 }
\ No newline at end of file
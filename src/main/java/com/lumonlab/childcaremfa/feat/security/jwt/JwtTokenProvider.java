@@ -1,98 +1,107 @@
 package com.lumonlab.childcaremfa.feat.security.jwt;
 
 import com.lumonlab.childcaremfa.feat.user.entity.Role;
-import io.jsonwebtoken.*;
+import com.lumonlab.childcaremfa.verifier.TokenVerificationException;
+import com.lumonlab.childcaremfa.verifier.TokenVerifier;
+import com.lumonlab.childcaremfa.verifier.VerifiedClaims;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.util.Date;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
+    // jwt-verifier 의 TokenVerifier 와 같은 claim 이름
+    static final String ROLE_MASK_CLAIM = "r";
+    static final String LEGACY_ROLES_CLAIM = "roles";
+    static final String LEGACY_EMAIL_CLAIM = "email";
+
     private final JwtProperties jwtProperties;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
-    }
+    // 키와 verifier 는 시작할 때 한 번만 만들고 모든 스레드에서 재사용 (thread-safe)
+    private final TokenVerifier tokenVerifier;
+    private final AccessTokenEncoder accessTokenEncoder;
 
-    public String generateAccessToken(Long userId, String email, Set<Role> roles) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtProperties.getAccessTokenExpiration());
-
-        return Jwts.builder()
-                .setSubject(String.valueOf(userId))
-                .claim("email", email)
-                .claim("roles", roles.stream().map(Role::name).collect(Collectors.toList()))
-                .setIssuer(jwtProperties.getIssuer())
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+    public JwtTokenProvider(JwtProperties jwtProperties, JwtKeyRing keyRing) {
+        this.jwtProperties = jwtProperties;
+        // HS256 키는 ES256 모드에서도 secret 이 있으면 기존 토큰 검증용으로 유지
+        SecretKey signingKey = keyRing.isAsymmetric() && !StringUtils.hasText(jwtProperties.getSecret())
+                ? null
+                : Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        // 검증은 다른 서비스와 같은 jwt-verifier 모듈 사용 (ES256 키는 keyring 에서 바로)
+        this.tokenVerifier = TokenVerifier.builder()
+                .hmacSecret(signingKey != null ? signingKey.getEncoded() : null)
+                .keySource(keyRing::getPublicKey)
+                .build();
+        this.accessTokenEncoder = keyRing.isAsymmetric()
+                ? AccessTokenEncoder.es256(keyRing.getActiveKid(), keyRing.getActivePrivateKey(),
+                        jwtProperties.getIssuer(), jwtProperties.getTokenProfile())
+                : AccessTokenEncoder.hs256(signingKey, jwtProperties.getIssuer(), jwtProperties.getTokenProfile());
     }
 
-    public String generateRefreshToken(Long userId) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtProperties.getRefreshTokenExpiration());
-
-        return Jwts.builder()
-                .setSubject(String.valueOf(userId))
-                .setIssuer(jwtProperties.getIssuer())
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+    /**
+     * jjwt builder 를 거치지 않는 AccessTokenEncoder 로 발급 (형식은 같음)
+     */
+    public String generateAccessToken(Long userId, String email, Set<Role> roles) {
+        long now = System.currentTimeMillis();
+        return accessTokenEncoder.encode(userId, email, roles,
+                now / 1000, (now + jwtProperties.getAccessTokenExpiration()) / 1000);
     }
 
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return Long.valueOf(claims.getSubject());
+    /**
+     * 서명을 한 번만 검증하고 principal 반환
+     * 토큰이 잘 못 되었으면 TokenVerificationException 발생 (reason 으로 만료 등 구분)
+     */
+    public JwtPrincipal parseVerified(String token) {
+        return toPrincipal(tokenVerifier.verify(token));
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * 필터용 - 검증 실패 시 로그만 남기고 null 반환
+     */
+    public JwtPrincipal verify(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (SecurityException ex) {
-            log.error("Invalid JWT signature");
-        } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token");
-        } catch (ExpiredJwtException ex) {
-            log.error("Expired JWT token");
-        } catch (UnsupportedJwtException ex) {
-            log.error("Unsupported JWT token");
-        } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty");
+            return parseVerified(token);
+        } catch (TokenVerificationException ex) {
+            log.error("JWT 검증 실패 ({}): {}", ex.getReason(), ex.getMessage());
         }
-        return false;
+        return null;
     }
 
-    public Claims getClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private JwtPrincipal toPrincipal(VerifiedClaims claims) {
+        // compact 토큰은 r(bitmask), 이전 토큰은 roles(이름 목록)
+        int mask = Role.normalize(claims.roleMask() != null ? claims.roleMask() : toRoleMask(claims.roleNames()));
+
+        return JwtPrincipal.builder()
+                .userId(claims.userId())
+                .email(claims.email())
+                .roles(Role.fromMask(mask))
+                .roleMask(mask)
+                .expiresAt(claims.expiresAt())
+                .jti(claims.jti())
+                .build();
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
-        return claims.get("email", String.class);
+    /**
+     * 모르는 role 이름이면 잘못된 토큰으로 처리 (IllegalArgumentException 이 호출 쪽까지 나가지 않게)
+     */
+    private int toRoleMask(List<String> roleNames) {
+        int mask = 0;
+        for (String roleName : roleNames) {
+            try {
+                mask |= Role.valueOf(roleName).getBit();
+            } catch (IllegalArgumentException e) {
+                throw new TokenVerificationException(TokenVerificationException.Reason.INVALID,
+                        "알 수 없는 JWT role: " + roleName, e);
+            }
+        }
+        return mask;
     }
-}
\ No newline at end of file
+}
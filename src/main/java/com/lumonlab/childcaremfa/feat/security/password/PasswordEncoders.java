@@ -0,0 +1,64 @@
+package com.lumonlab.childcaremfa.feat.security.password;
+
+import com.lumonlab.childcaremfa.common.config.PasswordHashingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * {id} 접두사 기반 DelegatingPasswordEncoder
+ * 새 hash 는 password-hashing.algorithm 으로, 검증은 저장된 hash 의 접두사로
+ * 접두사 없는 기존 hash ($2a$12$...) 는 bcrypt 로 검증 - 로그인 성공 시 새 형식으로 다시 저장 (upgradeEncoding)
+ */
+@Slf4j
+public final class PasswordEncoders {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+
+    private PasswordEncoders() {
+    }
+
+    public static PasswordEncoder create(PasswordHashingProperties properties) {
+        String algorithm = properties.getAlgorithm();
+        if (!BCRYPT.equals(algorithm) && !ARGON2.equals(algorithm)) {
+            throw new IllegalStateException("지원하지 않는 password-hashing.algorithm: " + algorithm);
+        }
+
+        int strength = properties.getBcrypt().getStrength();
+        int iterations = properties.getArgon2().getIterations();
+        if (properties.isCalibrateOnStartup()) {
+            // 새 hash 에 쓰는 알고리즘만 측정 (시작 시간)
+            Duration target = properties.getTargetLatency();
+            if (BCRYPT.equals(algorithm)) {
+                strength = PasswordHashCalibrator.bcryptStrength(target);
+            } else {
+                iterations = PasswordHashCalibrator.argon2Iterations(target, properties.getArgon2());
+            }
+        }
+
+        BCryptPasswordEncoder bcrypt = bcrypt(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, Map.of(
+                BCRYPT, bcrypt,
+                ARGON2, argon2(properties.getArgon2(), iterations)));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        log.info("비밀번호 hash: algorithm={}, bcrypt strength={}, argon2 iterations={}, target={}ms",
+                algorithm, strength, iterations, properties.getTargetLatency().toMillis());
+        return encoder;
+    }
+
+    public static BCryptPasswordEncoder bcrypt(int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    public static Argon2PasswordEncoder argon2(PasswordHashingProperties.Argon2 config, int iterations) {
+        return new Argon2PasswordEncoder(config.getSaltLength(), config.getHashLength(),
+                config.getParallelism(), config.getMemoryKib(), iterations);
+    }
+}
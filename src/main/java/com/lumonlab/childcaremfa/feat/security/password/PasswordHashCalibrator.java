@@ -0,0 +1,84 @@
+package com.lumonlab.childcaremfa.feat.security.password;
+
+import com.lumonlab.childcaremfa.common.config.PasswordHashingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 현재 하드웨어에서 검증 1회가 target 을 넘지 않는 가장 높은 cost 측정
+ * - 시작 시: password-hashing.calibrate-on-startup=true
+ * - CLI: 배포 대상 서버에서 실행 후 출력된 값을 설정에 고정 (권장 - 시작 시간이 늘지 않음)
+ *   java -Dloader.main=com.lumonlab.childcaremfa.feat.security.password.PasswordHashCalibrator \
+ *        -cp app.jar org.springframework.boot.loader.launch.PropertiesLauncher [target ms] [bcrypt|argon2]
+ */
+@Slf4j
+public final class PasswordHashCalibrator {
+
+    // 너무 느린 서버라도 이 아래로는 내리지 않음 (OWASP 권장 최소)
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+    private static final int MIN_ARGON2_ITERATIONS = 1;
+    private static final int MAX_ARGON2_ITERATIONS = 10;
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-Password1!";
+
+    private PasswordHashCalibrator() {
+    }
+
+    public static int bcryptStrength(Duration target) {
+        int chosen = MIN_BCRYPT_STRENGTH;
+        for (int strength = MIN_BCRYPT_STRENGTH; strength <= MAX_BCRYPT_STRENGTH; strength++) {
+            Duration latency = measure(PasswordEncoders.bcrypt(strength));
+            log.info("bcrypt strength {}: {}ms", strength, latency.toMillis());
+            if (latency.compareTo(target) > 0) {
+                break;
+            }
+            chosen = strength;
+        }
+        return chosen;
+    }
+
+    public static int argon2Iterations(Duration target, PasswordHashingProperties.Argon2 config) {
+        int chosen = MIN_ARGON2_ITERATIONS;
+        for (int iterations = MIN_ARGON2_ITERATIONS; iterations <= MAX_ARGON2_ITERATIONS; iterations++) {
+            Duration latency = measure(PasswordEncoders.argon2(config, iterations));
+            log.info("argon2 iterations {} (memory {}KiB): {}ms", iterations, config.getMemoryKib(), latency.toMillis());
+            if (latency.compareTo(target) > 0) {
+                break;
+            }
+            chosen = iterations;
+        }
+        return chosen;
+    }
+
+    /**
+     * 검증 시간 중앙값 (encode 한 번은 warm-up 겸 검증 대상 hash 생성)
+     */
+    static Duration measure(PasswordEncoder encoder) {
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long started = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            samples[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(samples);
+        return Duration.ofNanos(samples[SAMPLES / 2]);
+    }
+
+    public static void main(String[] args) {
+        Duration target = args.length > 0 ? Duration.ofMillis(Long.parseLong(args[0])) : Duration.ofMillis(250);
+        String algorithm = args.length > 1 ? args[1] : PasswordEncoders.BCRYPT;
+
+        if (PasswordEncoders.ARGON2.equals(algorithm)) {
+            int iterations = argon2Iterations(target, new PasswordHashingProperties.Argon2());
+            System.out.println("password-hashing.argon2.iterations=" + iterations);
+        } else {
+            int strength = bcryptStrength(target);
+            System.out.println("password-hashing.bcrypt.strength=" + strength);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.lumonlab.childcaremfa.feat.security.password;
+
+import com.lumonlab.childcaremfa.common.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 비밀번호 hash / 검증 전용 executor (password-hashing.*)
+ * BCrypt 가 Tomcat request thread 를 잡지 않도록 코어 수만큼의 thread + 길이 제한 대기열에서 실행
+ * 대기열이 꽉 찼거나 너무 오래 기다린 작업은 PasswordHashingRejectedException (503)
+ * hash 이후 이어지는 작업 (DB 저장 / 토큰 발급) 도 공용 applicationTaskExecutor (대기열 제한 없음) 가 아니라
+ * 전용 callback pool (password-hashing.callback-*) 에서 - 밀리면 무한히 쌓이지 않고 503
+ *
+ * 지표
+ * password.hashing.queue     대기 중인 작업 수 (Gauge)
+ * password.hashing.active    실행 중인 작업 수 (Gauge)
+ * password.hashing.wait      대기열에서 기다린 시간 (Timer)
+ * password.hashing.duration  hash / 검증 시간, tag op=encode|matches (Timer)
+ * password.hashing.callback.queue  callback 대기 중인 작업 수 (Gauge)
+ * password.hashing.rejected  거부 수, tag reason=queue_full|queue_timeout|callback_queue_full (Counter)
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    // hash 이후 이어지는 작업 (DB 저장 / 토큰 발급) 은 hashing thread 가 아닌 여기서
+    private final Executor callbackExecutor;
+    // 직접 만든 callback pool 이면 종료도 여기서
+    private final ThreadPoolExecutor ownedCallbackExecutor;
+    private final long maxQueueWaitNanos;
+    private final MeterRegistry meterRegistry;
+    private final Timer waitTimer;
+
+    @Autowired
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          PasswordHashingProperties properties,
+                          MeterRegistry meterRegistry) {
+        this(passwordEncoder, properties, callbackPool(properties), meterRegistry);
+    }
+
+    /**
+     * 테스트용 - callback executor 를 직접 지정
+     */
+    PasswordHasher(PasswordEncoder passwordEncoder,
+                   PasswordHashingProperties properties,
+                   Executor callbackExecutor,
+                   MeterRegistry meterRegistry) {
+        int threads = hashingThreads(properties);
+
+        this.passwordEncoder = passwordEncoder;
+        this.callbackExecutor = callbackExecutor;
+        this.ownedCallbackExecutor = callbackExecutor instanceof ThreadPoolExecutor pool ? pool : null;
+        this.maxQueueWaitNanos = properties.getMaxQueueWait().toNanos();
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.waitTimer = meterRegistry.timer("password.hashing.wait");
+        meterRegistry.gauge("password.hashing.queue", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount);
+        if (ownedCallbackExecutor != null) {
+            meterRegistry.gauge("password.hashing.callback.queue", ownedCallbackExecutor, e -> e.getQueue().size());
+        }
+
+        log.info("비밀번호 hashing executor: threads={}, queue={}, callback={}", threads, properties.getQueueCapacity(),
+                ownedCallbackExecutor != null ? ownedCallbackExecutor.getMaximumPoolSize() : "external");
+    }
+
+    /**
+     * 결과는 callback executor 에서 완료 (이어지는 thenApply 가 hashing thread 를 잡지 않게)
+     * 대기열이 꽉 찼으면 future 가 아니라 바로 예외
+     */
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        return handOff(submit("encode", () -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public CompletableFuture<Boolean> matchesAsync(CharSequence rawPassword, String encodedPassword) {
+        return handOff(submit("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * 동기 호출용 - 실행은 hashing executor 에서 (동시 hashing 수 제한은 그대로)
+     */
+    public String encode(CharSequence rawPassword) {
+        return join(submit("encode", () -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return join(submit("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * 저장된 hash 가 현재 설정(알고리즘 / cost)보다 약하거나 접두사 없는 예전 형식이면 true - 비교만 하므로 executor 밖에서
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        if (ownedCallbackExecutor != null) {
+            ownedCallbackExecutor.shutdown();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(String op, Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                long waited = System.nanoTime() - queuedAt;
+                waitTimer.record(waited, TimeUnit.NANOSECONDS);
+                if (waited > maxQueueWaitNanos) {
+                    rejected("queue_timeout");
+                    result.completeExceptionally(new PasswordHashingRejectedException());
+                    return;
+                }
+
+                long started = System.nanoTime();
+                try {
+                    result.complete(task.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    meterRegistry.timer("password.hashing.duration", "op", op)
+                            .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected("queue_full");
+            throw new PasswordHashingRejectedException();
+        }
+        return result;
+    }
+
+    /**
+     * thenApplyAsync 는 executor 가 거부하면 완료시키던 hashing thread 로 예외가 새고 future 는 끝나지 않음
+     * - 직접 넘기고 거부되면 503 으로 완료
+     */
+    private <T> CompletableFuture<T> handOff(CompletableFuture<T> future) {
+        CompletableFuture<T> handedOff = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            try {
+                callbackExecutor.execute(() -> {
+                    if (error != null) {
+                        handedOff.completeExceptionally(error);
+                    } else {
+                        handedOff.complete(value);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                rejected("callback_queue_full");
+                handedOff.completeExceptionally(new PasswordHashingRejectedException());
+            }
+        });
+        return handedOff;
+    }
+
+    private static int hashingThreads(PasswordHashingProperties properties) {
+        return properties.getThreads() > 0
+                ? properties.getThreads()
+                : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * DB / Redis 를 기다리는 작업이라 hashing thread 보다 넉넉하게, 대기열은 제한
+     */
+    private static ThreadPoolExecutor callbackPool(PasswordHashingProperties properties) {
+        int threads = properties.getCallbackThreads() > 0
+                ? properties.getCallbackThreads()
+                : hashingThreads(properties) * 2;
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getCallbackQueueCapacity()),
+                new CustomizableThreadFactory("password-callback-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private void rejected(String reason) {
+        meterRegistry.counter("password.hashing.rejected", "reason", reason).increment();
+        log.warn("비밀번호 hashing 거부: {} (queue={}, active={})",
+                reason, executor.getQueue().size(), executor.getActiveCount());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.lumonlab.childcaremfa.feat.security.password;
+
+/**
+ * hashing executor 가 포화 상태 - 503 + Retry-After 로 응답
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException() {
+        super("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+    }
+}
@@ -0,0 +1,25 @@
+package com.lumonlab.childcaremfa.feat.security.ratelimit;
+
+import com.lumonlab.childcaremfa.common.config.RateLimitProperties;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Function;
+
+/**
+ * 제한 대상 요청 종류 - bucket key 의 prefix 와 설정 (rate-limit.*)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RateLimitAction {
+
+    // POST /auth/login (subject = email)
+    LOGIN("login", RateLimitProperties::getLogin),
+    // POST /mfa/verify, /mfa/disable (subject = user id)
+    MFA("mfa", RateLimitProperties::getMfa),
+    // /password/resetpwd (subject = email), /password/reset, /password/reset/validate (IP 만)
+    PASSWORD_RESET("reset", RateLimitProperties::getPasswordReset);
+
+    private final String key;
+    private final Function<RateLimitProperties, RateLimitProperties.Endpoint> endpoint;
+}
@@ -0,0 +1,17 @@
+package com.lumonlab.childcaremfa.feat.security.ratelimit;
+
+import lombok.Getter;
+
+/**
+ * 요청 제한 초과 - 429 + Retry-After
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super("요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,166 @@
+package com.lumonlab.childcaremfa.feat.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lumonlab.childcaremfa.common.config.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * 로그인 / MFA / 비밀번호 재설정 요청 제한 (token bucket, IP / subject / IP+subject)
+ * 컨트롤러에서 서비스 호출 전에 확인 - 거부된 요청은 DB 조회 / 비밀번호 hash 를 전혀 하지 않음
+ *
+ * 1. 노드 로컬 bucket (Caffeine) - 이 노드 요청만으로도 넘었으면 클러스터 전체로도 넘은 것 -> Redis 없이 거부
+ * 2. Redis bucket (rl:{action}:{기준}:{값}, Lua script 한 번) - 클러스터 전체 기준
+ * Redis 장애 시에는 노드 로컬 제한만 적용 (fail open - 로그인 자체를 막지 않음)
+ *
+ * 지표: rate_limit.rejected (tag action, scope=local|redis)
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    private static final String KEY_PREFIX = "rl:";
+    private static final RedisScript<Long> RATE_LIMIT_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/rate_limit.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, LocalBucket> localBuckets;
+
+    public RateLimiter(StringRedisTemplate redisTemplate,
+                       RateLimitProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        // 마지막 요청 후 가장 긴 period 가 지나면 다 충전된 상태라 버려도 같음
+        this.localBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterAccess(longestPeriod(properties))
+                .build();
+    }
+
+    /**
+     * 제한을 넘었으면 RateLimitExceededException (429)
+     * subject 가 없으면 (토큰 기반 재설정 등) IP 기준만
+     */
+    public void check(RateLimitAction action, HttpServletRequest request, String subject) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<Limit> limits = limits(action, getClientIp(request), normalize(subject));
+
+        long localWait = 0;
+        for (Limit limit : limits) {
+            localWait = Math.max(localWait, localBuckets.get(limit.key(), key -> new LocalBucket(limit.rule()))
+                    .tryConsume());
+        }
+        if (localWait > 0) {
+            reject(action, "local", localWait);
+        }
+
+        Long redisWait;
+        try {
+            redisWait = redisTemplate.execute(RATE_LIMIT_SCRIPT,
+                    limits.stream().map(Limit::key).toList(),
+                    limits.stream()
+                            .flatMap(limit -> Stream.of(
+                                    String.valueOf(limit.rule().getCapacity()),
+                                    String.valueOf(limit.rule().getPeriod().toMillis())))
+                            .toArray());
+        } catch (Exception e) {
+            log.warn("rate limit Redis 확인 실패 - 노드 로컬 제한만 적용: {}", e.getMessage());
+            return;
+        }
+        if (redisWait != null && redisWait > 0) {
+            reject(action, "redis", redisWait);
+        }
+    }
+
+    private List<Limit> limits(RateLimitAction action, String ip, String subject) {
+        RateLimitProperties.Endpoint endpoint = action.getEndpoint().apply(properties);
+        String prefix = KEY_PREFIX + action.getKey() + ":";
+
+        List<Limit> limits = new ArrayList<>(3);
+        limits.add(new Limit(prefix + "ip:" + ip, endpoint.getIp()));
+        if (subject != null) {
+            limits.add(new Limit(prefix + "sub:" + subject, endpoint.getSubject()));
+            limits.add(new Limit(prefix + "ipsub:" + ip + "|" + subject, endpoint.getIpSubject()));
+        }
+        return limits;
+    }
+
+    private void reject(RateLimitAction action, String scope, long waitMillis) {
+        meterRegistry.counter("rate_limit.rejected", "action", action.getKey(), "scope", scope).increment();
+        throw new RateLimitExceededException(Math.max(1, (waitMillis + 999) / 1000));
+    }
+
+    private static String normalize(String subject) {
+        return StringUtils.hasText(subject) ? subject.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static Duration longestPeriod(RateLimitProperties properties) {
+        return Stream.of(properties.getLogin(), properties.getMfa(), properties.getPasswordReset())
+                .flatMap(endpoint -> Stream.of(endpoint.getIp(), endpoint.getSubject(), endpoint.getIpSubject()))
+                .map(RateLimitProperties.Rule::getPeriod)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(15));
+    }
+
+    /**
+     * X-Forwarded-For 를 직접 읽으면 클라이언트가 아무 값이나 넣어 bucket 을 바꿀 수 있음
+     * - 신뢰하는 프록시 (server.tomcat.remoteip.internal-proxies) 에서 온 헤더만 Tomcat 이 remoteAddr 에 반영
+     */
+    private String getClientIp(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+
+    private record Limit(String key, RateLimitProperties.Rule rule) {
+    }
+
+    /**
+     * 노드 로컬 token bucket (Redis script 와 같은 계산)
+     */
+    static final class LocalBucket {
+
+        private final int capacity;
+        private final long periodNanos;
+        private double tokens;
+        private long updatedAt;
+
+        LocalBucket(RateLimitProperties.Rule rule) {
+            this.capacity = rule.getCapacity();
+            this.periodNanos = rule.getPeriod().toNanos();
+            this.tokens = capacity;
+            this.updatedAt = System.nanoTime();
+        }
+
+        /**
+         * @return 0 이면 허용 (토큰 하나 차감), 아니면 다음 토큰까지 ms
+         */
+        synchronized long tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (double) (now - updatedAt) * capacity / periodNanos);
+            updatedAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * periodNanos / capacity / 1_000_000);
+        }
+    }
+}
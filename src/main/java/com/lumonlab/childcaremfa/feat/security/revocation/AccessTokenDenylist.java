@@ -0,0 +1,175 @@
+package com.lumonlab.childcaremfa.feat.security.revocation;
+
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 폐기된 access token (jti) 목록
+ * Redis: jwt:denylist:{jti} (TTL = 토큰 남은 수명) - 클러스터 기준 정답
+ * 노드별 Bloom filter: "폐기 안 됨" 응답은 네트워크 없이 처리, 양성일 때만 Redis 확인
+ * 다른 노드의 폐기는 pub/sub (jwt:denylist) 로 Bloom filter 에 바로 반영
+ * pub/sub 는 한 번만 전달 (재연결 / 재시작 중 놓칠 수 있음) - jwt.denylist.resync-interval 마다 SCAN 으로 다시 채움
+ * -> 놓친 폐기도 최대 resync-interval 뒤에는 모든 노드에서 거부
+ */
+@Service
+@Slf4j
+public class AccessTokenDenylist implements MessageListener {
+
+    public static final String CHANNEL = "jwt:denylist";
+    private static final String KEY_PREFIX = "jwt:denylist:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final JwtProperties.Denylist properties;
+
+    // 두 세대로 교체 - 한 세대 수명 >= access token 수명 이라 만료된 jti 는 자연스럽게 빠짐
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+
+    public AccessTokenDenylist(StringRedisTemplate redisTemplate, JwtProperties jwtProperties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = jwtProperties.getDenylist();
+        this.current = newFilter();
+        this.previous = newFilter();
+    }
+
+    /**
+     * 토큰 폐기 - 만료 시간까지만 Redis 에 유지
+     * Redis 에 저장하지 못하면 RuntimeException (다른 노드에서는 계속 유효하므로 성공으로 응답하지 않음)
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return;
+        }
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+
+        current.put(jti);
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + jti, "1", ttl);
+        } catch (Exception e) {
+            log.error("access token 폐기 정보를 Redis 에 저장하지 못했습니다: jti={}", jti, e);
+            throw new RuntimeException("토큰을 폐기할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL, jti);
+        } catch (Exception e) {
+            // 저장은 됐으므로 다른 노드는 다음 resync 에서 반영
+            log.warn("access token 폐기 알림 실패 - resync 로 반영: jti={}", jti, e);
+        }
+    }
+
+    /**
+     * Bloom filter 음성이면 바로 false (대부분의 요청)
+     * 양성이면 Redis 확인, Redis 장애 시에는 폐기된 것으로 처리 (fail closed)
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        if (!current.mightContain(jti) && !previous.mightContain(jti)) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + jti));
+        } catch (Exception e) {
+            log.error("access token 폐기 여부 확인 실패 - 폐기된 것으로 처리: jti={}", jti, e);
+            return true;
+        }
+    }
+
+    /**
+     * 여러 jti 를 한 번에 확인 - Bloom filter 양성인 것만 MGET 한 번으로 Redis 조회
+     * Redis 장애 시에는 양성 전부 폐기된 것으로 처리 (fail closed)
+     */
+    public Set<String> findRevoked(Collection<String> jtis) {
+        List<String> candidates = new ArrayList<>();
+        for (String jti : jtis) {
+            if (jti != null && (current.mightContain(jti) || previous.mightContain(jti))) {
+                candidates.add(jti);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        List<String> keys = new ArrayList<>(candidates.size());
+        for (String jti : candidates) {
+            keys.add(KEY_PREFIX + jti);
+        }
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            Set<String> revoked = new HashSet<>();
+            for (int i = 0; i < candidates.size(); i++) {
+                if (values != null && values.get(i) != null) {
+                    revoked.add(candidates.get(i));
+                }
+            }
+            return revoked;
+        } catch (Exception e) {
+            log.error("access token 폐기 여부 일괄 확인 실패 - 폐기된 것으로 처리: count={}", candidates.size(), e);
+            return new HashSet<>(candidates);
+        }
+    }
+
+    /**
+     * 다른 노드에서 폐기된 jti
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        current.put(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 시작 시 + 주기적으로 Redis 에 남아있는 jti 로 Bloom filter 채우기
+     * pub/sub 을 놓친 노드 (구독 재연결, 재시작 직후 구독 전 폐기) 도 여기서 따라잡음
+     * key 수 = access token 수명 동안 폐기된 건수라 SCAN 비용은 작음
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.denylist.resync-interval:30s}",
+            initialDelayString = "${jwt.denylist.resync-interval:30s}")
+    public void resync() {
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+        int loaded = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                current.put(cursor.next().substring(KEY_PREFIX.length()));
+                loaded++;
+            }
+            log.debug("access token denylist 동기화 완료: {}", loaded);
+        } catch (Exception e) {
+            log.warn("access token denylist 를 Redis 에서 불러오지 못했습니다", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.access-token-expiration}",
+            initialDelayString = "${jwt.access-token-expiration}")
+    public void rotate() {
+        previous = current;
+        current = newFilter();
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveRate());
+    }
+}
@@ -0,0 +1,59 @@
+package com.lumonlab.childcaremfa.feat.session.controller;
+
+import com.lumonlab.childcaremfa.feat.session.dto.SessionResponse;
+import com.lumonlab.childcaremfa.feat.session.service.SessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/sessions")
+@RequiredArgsConstructor
+@Slf4j
+public class SessionController {
+
+    private final SessionService sessionService;
+
+    /**
+     * 현재 유저의 활성 세션 목록 (최근 사용 순)
+     */
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<SessionResponse>> getSessions(Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        return ResponseEntity.ok(sessionService.getSessions(userId));
+    }
+
+    /**
+     * 세션 하나 폐기 (다른 기기 로그아웃)
+     */
+    @DeleteMapping("/{sessionId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> revokeSession(
+            @PathVariable String sessionId,
+            Authentication authentication,
+            HttpServletRequest request) {
+        Long userId = (Long) authentication.getPrincipal();
+        sessionService.revokeSession(userId, sessionId, request);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 모든 세션 폐기
+     */
+    @DeleteMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> revokeAllSessions(
+            Authentication authentication,
+            HttpServletRequest request) {
+        Long userId = (Long) authentication.getPrincipal();
+        sessionService.revokeAllSessions(userId, request);
+        return ResponseEntity.noContent().build();
+    }
+}
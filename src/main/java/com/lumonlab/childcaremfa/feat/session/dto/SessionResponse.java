@@ -0,0 +1,22 @@
+package com.lumonlab.childcaremfa.feat.session.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionResponse {
+
+    // DELETE /api/v1/sessions/{sessionId} 에 사용
+    private String sessionId;
+    private LocalDateTime lastUsedAt;
+    private LocalDateTime expiresAt;
+    private String userAgent;
+    private String ipAddress;
+}
@@ -0,0 +1,57 @@
+package com.lumonlab.childcaremfa.feat.session.service;
+
+import com.lumonlab.childcaremfa.feat.audit.entity.AuditStatus;
+import com.lumonlab.childcaremfa.feat.audit.service.AuditService;
+import com.lumonlab.childcaremfa.feat.session.dto.SessionResponse;
+import com.lumonlab.childcaremfa.feat.token.service.TokenService;
+import com.lumonlab.childcaremfa.feat.user.repo.UserRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 로그인된 기기(세션) 조회 / 폐기
+ * 세션 = refresh token family, 폐기하면 그 기기는 다음 refresh 부터 실패 (access token 은 만료까지 유효)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SessionService {
+
+    private final TokenService tokenService;
+    private final AuditService auditService;
+    private final UserRepository userRepository;
+
+    public List<SessionResponse> getSessions(Long userId) {
+        return tokenService.getActiveSessions(userId).stream()
+                .map(session -> SessionResponse.builder()
+                        .sessionId(session.getSessionId())
+                        .lastUsedAt(session.getLastUsedAt())
+                        .expiresAt(session.getExpiresAt())
+                        .userAgent(session.getUserAgent())
+                        .ipAddress(session.getIpAddress())
+                        .build())
+                .toList();
+    }
+
+    public void revokeSession(Long userId, String sessionId, HttpServletRequest httpRequest) {
+        if (!tokenService.revokeSession(userId, sessionId)) {
+            throw new RuntimeException("세션을 찾을 수 없습니다.");
+        }
+
+        auditService.logAuthEvent(userRepository.getReferenceById(userId), "SESSION_REVOKED",
+                AuditStatus.SUCCESS, httpRequest, Map.of("sessionId", sessionId));
+        log.info("세션 폐기: user={}, session={}", userId, sessionId);
+    }
+
+    public void revokeAllSessions(Long userId, HttpServletRequest httpRequest) {
+        tokenService.revokeAllUserTokens(userId);
+
+        auditService.logAuthEvent(userRepository.getReferenceById(userId), "SESSIONS_REVOKED",
+                AuditStatus.SUCCESS, httpRequest, Map.of());
+    }
+}
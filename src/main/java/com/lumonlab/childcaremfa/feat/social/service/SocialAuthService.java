@@ -5,11 +5,11 @@ import com.lumonlab.childcaremfa.feat.audit.service.AuditService;
 import com.lumonlab.childcaremfa.feat.auth.dto.AuthResponse;
 import com.lumonlab.childcaremfa.feat.security.jwt.JwtTokenProvider;
 import com.lumonlab.childcaremfa.feat.social.dto.SocialAccResponse;
-import com.lumonlab.childcaremfa.feat.token.entity.RefreshToken;
 import com.lumonlab.childcaremfa.feat.token.service.TokenService;
 import com.lumonlab.childcaremfa.feat.user.entity.*;
 import com.lumonlab.childcaremfa.feat.user.repo.SocialAccountRepository;
 import com.lumonlab.childcaremfa.feat.user.repo.UserRepository;
+import com.lumonlab.childcaremfa.feat.user.service.LastLoginRecorder;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +32,7 @@ public class SocialAuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final TokenService tokenService;
     private final AuditService auditService;
+    private final LastLoginRecorder lastLoginRecorder;
 
     /**
      * Google 로그인 / 등록
@@ -75,13 +76,13 @@ public class SocialAuthService {
             throw new RuntimeException("계정이 일시 정지되었습니다.");
         }
         
-        user.updateLastLogin();
-        userRepository.save(user);
+        // users UPDATE 는 모아서 나중에 (write-behind)
+        lastLoginRecorder.record(user.getId());
 
         // 토큰 생성
         String accessToken = jwtTokenProvider.generateAccessToken(
                 user.getId(), user.getEmail(), user.getRoles());
-        RefreshToken refreshToken = tokenService.createRefreshToken(user, request);
+        String refreshToken = tokenService.createRefreshToken(user, request);
 
         auditService.logAuthEvent(user,
                 isNewUser ? "USER_REGISTERED_GOOGLE" : "USER_LOGIN_GOOGLE",
@@ -91,7 +92,7 @@ public class SocialAuthService {
 
         return AuthResponse.builder()
                 .accessToken(accessToken)
-                .refreshToken(refreshToken.getTokenHash())
+                .refreshToken(refreshToken)
                 .tokenType("Bearer")
                 .expiresIn(900L)
                 .userId(user.getId())
@@ -25,8 +25,21 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(name = "token_hash", nullable = false, unique = true, length = 255)
-    private String tokenHash;
+    // "selector.verifier" 중 selector (조회용, unique (selector, expires_at) - partition key 포함)
+    @Column(name = "selector", nullable = false, length = 32)
+    private String selector;
+
+    // HMAC-SHA256(verifier), 원문 verifier 는 저장하지 않음
+    @Column(name = "verifier_hash", nullable = false, length = 64)
+    private String verifierHash;
+
+    // 같은 로그인에서 이어진 교체 체인 id - 재사용 감지 시 family 전체 폐기
+    @Column(name = "family_id", nullable = false, length = 32)
+    private String familyId;
+
+    // 발급 직후 클라이언트에게 한 번만 전달하는 원문 토큰 (DB 에 없음)
+    @Transient
+    private String rawToken;
 
     @Column(name = "issued_at", nullable = false)
     private LocalDateTime issuedAt;
@@ -34,13 +47,18 @@ public class RefreshToken {
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
 
+    // partition 테이블이라 FK 제약 없음 (V9)
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "rotated_from")
+    @JoinColumn(name = "rotated_from", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private RefreshToken rotatedFrom;
 
     @Column(name = "revoked_at")
     private LocalDateTime revokedAt;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "revoked_reason", length = 20)
+    private RevocationReason revokedReason;
+
     @Column(name = "user_agent", length = 500)
     private String userAgent;
 
@@ -63,7 +81,15 @@ public class RefreshToken {
         return !isExpired() && !isRevoked();
     }
 
-    public void revoke() {
+    public void revoke(RevocationReason reason) {
         this.revokedAt = LocalDateTime.now();
+        this.revokedReason = reason;
+    }
+
+    /**
+     * 교체 체인 안의 토큰 (세션은 계속됨) - 다시 오면 재사용
+     */
+    public boolean isRotated() {
+        return revokedReason == RevocationReason.ROTATED;
     }
 }
\ No newline at end of file
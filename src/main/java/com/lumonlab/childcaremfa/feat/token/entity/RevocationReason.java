@@ -0,0 +1,17 @@
+package com.lumonlab.childcaremfa.feat.token.entity;
+
+/**
+ * refresh token 폐기 이유 (refresh_tokens.revoked_reason)
+ * ROTATED 만 교체 체인의 일부 - grace 기간 뒤에 다시 오면 탈취로 봄
+ * 나머지는 세션이 끝난 것 - 그 토큰이 다시 와도 조용히 거부 (어느 인스턴스에서든 DB 기준으로 같은 판단)
+ */
+public enum RevocationReason {
+    // 새 토큰으로 교체됨
+    ROTATED,
+    // 교체된 토큰 재사용 감지로 family 폐기
+    REUSED,
+    // 세션 수 제한으로 밀려남
+    EVICTED,
+    // 로그아웃 / 세션 폐기, 비밀번호 변경 / 재설정, 계정 정지
+    REVOKED
+}
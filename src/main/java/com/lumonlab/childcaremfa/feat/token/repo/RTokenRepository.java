@@ -1,6 +1,7 @@
 package com.lumonlab.childcaremfa.feat.token.repo;
 
 import com.lumonlab.childcaremfa.feat.token.entity.RefreshToken;
+import com.lumonlab.childcaremfa.feat.token.entity.RevocationReason;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -14,19 +15,71 @@ import java.util.Optional;
 @Repository
 public interface RTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByTokenHash(String tokenHash);
+    // refresh 전용 - 사용자 + 역할까지 한 번에 (lazy user / eager userRoles 로 추가 SELECT 가 나가지 않게)
+    // expires_at 까지 같이 - partition 하나만 조회 (unique (selector, expires_at))
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user u LEFT JOIN FETCH u.userRoles " +
+            "WHERE rt.selector = :selector AND rt.expiresAt = :expiresAt")
+    Optional<RefreshToken> findForRotation(@Param("selector") String selector, @Param("expiresAt") LocalDateTime expiresAt);
 
-    @Query("SELECT rt FROM RefreshToken rt WHERE rt.user.id = :userId AND rt.revokedAt IS NULL AND rt.expiresAt > :now")
+    // family 당 활성 행은 하나 = 세션 목록, 최근 사용 순
+    @Query("SELECT rt FROM RefreshToken rt WHERE rt.user.id = :userId AND rt.revokedAt IS NULL AND rt.expiresAt > :now ORDER BY rt.issuedAt DESC")
     List<RefreshToken> findActiveTokensByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
 
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now WHERE rt.user.id = :userId AND rt.revokedAt IS NULL")
-    void revokeAllUserTokens(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now, rt.revokedReason = :reason WHERE rt.user.id = :userId AND rt.revokedAt IS NULL")
+    void revokeAllUserTokens(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                             @Param("reason") RevocationReason reason);
 
+    /**
+     * 기존 토큰 조건부 폐기 + 새 토큰 INSERT 를 statement 하나로 (CTE)
+     * 동시에 같은 토큰을 교체하려는 요청 중 UPDATE 를 이긴 쪽만 1, 나머지는 0 (INSERT 없음)
+     */
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :expiryDate")
-    void deleteExpiredTokens(@Param("expiryDate") LocalDateTime expiryDate);
+    @Query(value = """
+            WITH revoked AS (
+                UPDATE refresh_tokens SET revoked_at = :now, revoked_reason = 'ROTATED'
+                WHERE id = :oldId AND expires_at = :oldExpiresAt AND revoked_at IS NULL
+                RETURNING id, user_id, family_id)
+            INSERT INTO refresh_tokens (user_id, selector, verifier_hash, family_id, issued_at, expires_at,
+                                        rotated_from, user_agent, ip_address, created_at)
+            SELECT user_id, :selector, :verifierHash, family_id, :now, :expiresAt, id, :userAgent, :ipAddress, :now
+            FROM revoked
+            """, nativeQuery = true)
+    int rotate(@Param("oldId") Long oldId,
+               @Param("oldExpiresAt") LocalDateTime oldExpiresAt,
+               @Param("selector") String selector,
+               @Param("verifierHash") String verifierHash,
+               @Param("expiresAt") LocalDateTime expiresAt,
+               @Param("userAgent") String userAgent,
+               @Param("ipAddress") String ipAddress,
+               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now, rt.revokedReason = :reason WHERE rt.familyId = :familyId AND rt.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now,
+                     @Param("reason") RevocationReason reason);
+
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now, rt.revokedReason = :reason WHERE rt.user.id = :userId AND rt.familyId = :familyId AND rt.revokedAt IS NULL AND rt.expiresAt > :now")
+    int revokeUserFamily(@Param("userId") Long userId, @Param("familyId") String familyId, @Param("now") LocalDateTime now,
+                         @Param("reason") RevocationReason reason);
 
     @Query("SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.user.id = :userId AND rt.revokedAt IS NULL AND rt.expiresAt > :now")
     long countActiveTokensByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // user_session_counts - 엔티티 없음, DB refresh token 모드 전용 (users 행은 건드리지 않음)
+    // 카운터 행 lock 이 커밋까지 유지돼서 같은 사용자의 동시 로그인은 순서대로 제한 확인
+    @Query(value = """
+            INSERT INTO user_session_counts (user_id, active) VALUES (:userId, GREATEST(:delta, 0))
+            ON CONFLICT (user_id) DO UPDATE SET active = GREATEST(user_session_counts.active + :delta, 0)
+            RETURNING active
+            """, nativeQuery = true)
+    int addActiveSessions(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_session_counts (user_id, active) VALUES (:userId, :count)
+            ON CONFLICT (user_id) DO UPDATE SET active = :count
+            """, nativeQuery = true)
+    void setActiveSessions(@Param("userId") Long userId, @Param("count") int count);
 }
@@ -0,0 +1,204 @@
+package com.lumonlab.childcaremfa.feat.token.service;
+
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import com.lumonlab.childcaremfa.feat.token.entity.RefreshToken;
+import com.lumonlab.childcaremfa.feat.token.entity.RevocationReason;
+import com.lumonlab.childcaremfa.feat.token.repo.RTokenRepository;
+import com.lumonlab.childcaremfa.feat.user.entity.User;
+import com.lumonlab.childcaremfa.feat.user.entity.UserStatus;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * refresh_tokens 테이블 기준 (기본값)
+ * 사용자별 활성 세션 수는 user_session_counts 에 증감으로 유지 (로그인마다 COUNT 하지 않음, users 행은 건드리지 않음)
+ * 만료로 조용히 끝난 세션은 제한을 넘었을 때 (evictOldest) 와 SessionCountReconciler 가 실제 수로 다시 맞춤
+ * 폐기 이유 (revoked_reason) 로 교체된 토큰의 재사용과 끝난 세션 (밀려남 / 로그아웃) 의 토큰을 구분 - 인스턴스 간 상태 공유 없음
+ */
+@Component
+@ConditionalOnProperty(prefix = "jwt", name = "refresh-token-store", havingValue = "database", matchIfMissing = true)
+@Slf4j
+public class DatabaseRefreshTokenStore implements RefreshTokenStore {
+
+    private final RTokenRepository refreshTokenRepository;
+    private final RefreshTokenCodec refreshTokenCodec;
+    private final int maxSessionsPerUser;
+    private final Duration gracePeriod;
+
+    public DatabaseRefreshTokenStore(RTokenRepository refreshTokenRepository,
+                                     RefreshTokenCodec refreshTokenCodec,
+                                     JwtProperties jwtProperties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenCodec = refreshTokenCodec;
+        this.maxSessionsPerUser = jwtProperties.getMaxSessionsPerUser();
+        this.gracePeriod = jwtProperties.getRefreshGracePeriod();
+    }
+
+    @Override
+    @Transactional
+    public String issue(User user, HttpServletRequest request) {
+        RefreshToken token = save(user, refreshTokenCodec.newFamilyId(), null, request);
+
+        int active = refreshTokenRepository.addActiveSessions(user.getId(), 1);
+        if (maxSessionsPerUser > 0 && active > maxSessionsPerUser) {
+            evictOldest(user.getId());
+        }
+        return token.getRawToken();
+    }
+
+    /**
+     * statement 2개: fetch join 조회 (토큰 + 사용자 + 역할) -> 조건부 폐기 + 새 토큰 INSERT (CTE)
+     * verifier HMAC 은 조회 후 메모리에서 상수 시간 비교
+     * 이미 교체된 (ROTATED) 토큰이 다시 오면 탈취로 보고 family 전체 폐기 (UPDATE 한 번)
+     * 단 교체된 지 grace 기간 안이면 동시 요청(다른 인스턴스로 간 탭 등)으로 보고 거부만
+     * 세션이 끝나서 폐기된 토큰 (밀려남 / 로그아웃 / 재사용 감지) 은 조용히 거부
+     * 사용자는 토큰과 같이 fetch join 으로 읽은 현재 값 - 정지 / 삭제면 모든 세션 폐기, 잠겨 있으면 교체만 거부
+     * 세션 절대 만료 (jwt.refresh-session-max-lifetime) 는 새 토큰에 그대로 넘김
+     */
+    @Override
+    @Transactional
+    public Rotation rotate(RefreshTokenCodec.Parsed parsed, HttpServletRequest request) {
+        RefreshToken oldToken = refreshTokenRepository
+                .findForRotation(parsed.getSelector(), toLocalDateTime(parsed.getExpiresAt()))
+                .filter(token -> refreshTokenCodec.matches(parsed.getVerifier(), token.getVerifierHash()))
+                .orElse(null);
+        if (oldToken == null) {
+            return null;
+        }
+        User user = oldToken.getUser();
+        if (parsed.getUserId() != null && !parsed.getUserId().equals(user.getId())) {
+            return null;
+        }
+        if (oldToken.isRevoked()) {
+            if (oldToken.isRotated() && oldToken.getRevokedAt().isBefore(LocalDateTime.now().minus(gracePeriod))) {
+                revokeFamily(oldToken);
+            }
+            return null;
+        }
+        if (oldToken.isExpired()) {
+            return null;
+        }
+        if (user.getStatus() != UserStatus.ACTIVE) {
+            revokeAll(user.getId());
+            log.warn("정지 / 삭제된 사용자의 refresh 요청 - 모든 세션 폐기: user={}", user.getId());
+            return null;
+        }
+        if (user.isLocked()) {
+            return null;
+        }
+
+        RefreshTokenCodec.Issued issued = refreshTokenCodec.issue(user.getId(), parsed.getSessionExpiresAt());
+        // 조회 후 다른 인스턴스가 먼저 교체했으면 0 - 새 토큰도 INSERT 되지 않음
+        int rotated = refreshTokenRepository.rotate(oldToken.getId(), oldToken.getExpiresAt(),
+                issued.getSelector(), issued.getVerifierHash(), toLocalDateTime(issued.getExpiresAt()),
+                request.getHeader("User-Agent"), getClientIp(request),
+                LocalDateTime.now());
+        if (rotated == 0) {
+            return null;
+        }
+
+        log.info("사용자를 위한 rotated 새로 고침 토큰: {}", user.getId());
+
+        return new Rotation(issued.getRawToken(), Session.builder()
+                .userId(user.getId())
+                .email(user.getEmail())
+                .roles(user.getRoles())
+                .mfaEnabled(Boolean.TRUE.equals(user.getMfaEnabled()))
+                .build());
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllUserTokens(userId, LocalDateTime.now(), RevocationReason.REVOKED);
+        refreshTokenRepository.setActiveSessions(userId, 0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SessionInfo> listSessions(Long userId) {
+        return refreshTokenRepository.findActiveTokensByUserId(userId, LocalDateTime.now()).stream()
+                .map(token -> SessionInfo.builder()
+                        .sessionId(token.getFamilyId())
+                        .lastUsedAt(token.getIssuedAt())
+                        .expiresAt(token.getExpiresAt())
+                        .userAgent(token.getUserAgent())
+                        .ipAddress(token.getIpAddress())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public boolean revokeSession(Long userId, String sessionId) {
+        int revoked = refreshTokenRepository.revokeUserFamily(userId, sessionId, LocalDateTime.now(),
+                RevocationReason.REVOKED);
+        if (revoked == 0) {
+            return false;
+        }
+        refreshTokenRepository.addActiveSessions(userId, -revoked);
+        return true;
+    }
+
+    /**
+     * 카운터가 제한을 넘었을 때만 실제 활성 세션 조회
+     * 만료로 끝난 세션 때문에 카운터가 커져 있었으면 여기서 같이 보정
+     */
+    private void evictOldest(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<RefreshToken> active = refreshTokenRepository.findActiveTokensByUserId(userId, now);
+        // 최근 사용 순이라 뒤쪽이 오래된 세션 (방금 발급한 토큰은 맨 앞)
+        for (RefreshToken token : active.subList(Math.min(maxSessionsPerUser, active.size()), active.size())) {
+            // EVICTED - 밀려난 기기가 다시 refresh 해도 재사용 감지로 보지 않고 바로 거부
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now, RevocationReason.EVICTED);
+            log.info("세션 수 제한으로 오래된 세션 폐기: user={}, family={}", userId, token.getFamilyId());
+        }
+        refreshTokenRepository.setActiveSessions(userId, Math.min(maxSessionsPerUser, active.size()));
+    }
+
+    private void revokeFamily(RefreshToken reused) {
+        int revoked = refreshTokenRepository.revokeFamily(reused.getFamilyId(), LocalDateTime.now(),
+                RevocationReason.REUSED);
+        if (revoked > 0) {
+            refreshTokenRepository.addActiveSessions(reused.getUser().getId(), -revoked);
+        }
+        log.warn("폐기된 refresh token 재사용 감지 - family 전체 폐기: user={}, family={}, revoked={}",
+                reused.getUser().getId(), reused.getFamilyId(), revoked);
+    }
+
+    private RefreshToken save(User user, String familyId, RefreshToken rotatedFrom, HttpServletRequest request) {
+        RefreshTokenCodec.Issued issued = refreshTokenCodec.issue(user.getId());
+
+        RefreshToken refreshToken = RefreshToken.builder()
+                .user(user)
+                .selector(issued.getSelector())
+                .verifierHash(issued.getVerifierHash())
+                .rawToken(issued.getRawToken())
+                .issuedAt(LocalDateTime.now())
+                .expiresAt(toLocalDateTime(issued.getExpiresAt()))
+                .familyId(familyId)
+                .rotatedFrom(rotatedFrom)
+                .userAgent(request.getHeader("User-Agent"))
+                .ipAddress(getClientIp(request))
+                .build();
+
+        return refreshTokenRepository.save(refreshToken);
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private String getClientIp(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+}
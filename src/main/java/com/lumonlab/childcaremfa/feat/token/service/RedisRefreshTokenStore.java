@@ -0,0 +1,302 @@
+package com.lumonlab.childcaremfa.feat.token.service;
+
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+import com.lumonlab.childcaremfa.feat.user.entity.User;
+import com.lumonlab.childcaremfa.feat.user.entity.UserStatus;
+import com.lumonlab.childcaremfa.feat.user.repo.UserRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 활성 refresh token 을 Redis 에 보관 (jwt.refresh-token-store=redis)
+ * 사용자의 key 는 모두 rt:{userId}: hash tag 아래 (Redis Cluster 에서도 한 slot), script 는 사용하는 key 를 전부 KEYS 로 받음
+ * rt:{userId}:s:{selector}  HASH v(verifier HMAC) f(family), TTL = 토큰 만료
+ *                           교체된 토큰은 x=1, xt(교체 시각) 를 남겨 TTL 까지 보관 (재사용 감지용)
+ * rt:{userId}:sessions      ZSET member = family, score = 마지막 사용 시각 (세션 수 제한 / 목록 순서)
+ * rt:{userId}:fam           HASH family -> 현재 토큰 (selector, 발급 / 만료 시각, User-Agent, IP), 없으면 끝난 세션
+ * rt:{userId}:u             HASH 사용자 상태 사본 (email, 역할, MFA, 잠금), TTL = jwt.refresh-user-state-ttl
+ * 교체는 Lua script 한 번 (원자적) - 사용자 상태도 같은 script 에서 읽어서 refresh 는 Postgres 를 거치지 않음
+ * 사본은 로그인 때 쓰고, MFA 변경 / 잠금 / 모든 세션 폐기 때 지움 (evictUserState) - 없으면 그때만 users 에서 읽어 다시 채움
+ * 정지 / 삭제된 사용자는 다시 읽을 때 모든 세션 폐기, 앱 밖에서 바뀐 상태는 사본 TTL 안에 반영
+ * refresh_tokens 테이블에는 RefreshTokenHistoryWriter 가 모아서 비동기로 기록 (감사용)
+ */
+@Component
+@ConditionalOnProperty(prefix = "jwt", name = "refresh-token-store", havingValue = "redis")
+@Slf4j
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String KEY_PREFIX = "rt:{";
+    private static final String ROTATED = "ok";
+    private static final String LOAD_USER_STATE = "load";
+    private static final int USER_AGENT_MAX_LENGTH = 500;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ISSUE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/refresh_token_issue.lua"), List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ROTATE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/refresh_token_rotate.lua"), List.class);
+    private static final RedisScript<Long> USER_STATE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/refresh_token_user_state.lua"), Long.class);
+    private static final RedisScript<Long> REVOKE_ALL_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/refresh_token_revoke_all.lua"), Long.class);
+    private static final RedisScript<Long> REVOKE_SESSION_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/refresh_token_revoke_session.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LIST_SESSIONS_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/refresh_token_list_sessions.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserRepository userRepository;
+    private final RefreshTokenCodec refreshTokenCodec;
+    private final RefreshTokenHistoryWriter historyWriter;
+    private final Duration ttl;
+    private final int maxSessionsPerUser;
+    private final Duration gracePeriod;
+    private final Duration userStateTtl;
+
+    public RedisRefreshTokenStore(StringRedisTemplate redisTemplate,
+                                  UserRepository userRepository,
+                                  RefreshTokenCodec refreshTokenCodec,
+                                  RefreshTokenHistoryWriter historyWriter,
+                                  JwtProperties jwtProperties) {
+        this.redisTemplate = redisTemplate;
+        this.userRepository = userRepository;
+        this.refreshTokenCodec = refreshTokenCodec;
+        this.historyWriter = historyWriter;
+        this.ttl = Duration.ofMillis(jwtProperties.getRefreshTokenExpiration());
+        this.maxSessionsPerUser = Math.max(0, jwtProperties.getMaxSessionsPerUser());
+        this.gracePeriod = jwtProperties.getRefreshGracePeriod();
+        this.userStateTtl = jwtProperties.getRefreshUserStateTtl();
+    }
+
+    @Override
+    public String issue(User user, HttpServletRequest request) {
+        RefreshTokenCodec.Issued issued = refreshTokenCodec.issue(user.getId());
+        String familyId = refreshTokenCodec.newFamilyId();
+        long now = System.currentTimeMillis();
+
+        List<?> evicted = redisTemplate.execute(ISSUE_SCRIPT,
+                List.of(sessionKey(user.getId(), issued.getSelector()), sessionsKey(user.getId()),
+                        familiesKey(user.getId()), userStateKey(user.getId())),
+                issued.getSelector(),
+                issued.getVerifierHash(),
+                familyId,
+                String.valueOf(remainingMillis(issued, now)),
+                String.valueOf(now),
+                String.valueOf(issued.getExpiresAt().toEpochMilli()),
+                String.valueOf(maxSessionsPerUser),
+                userAgent(request),
+                getClientIp(request),
+                String.valueOf(ttl.toMillis()),
+                user.getEmail(),
+                String.valueOf(Role.toMask(user.getRoles())),
+                Boolean.TRUE.equals(user.getMfaEnabled()) ? "1" : "0",
+                String.valueOf(lockedUntilMillis(user)),
+                String.valueOf(userStateTtl.toMillis()));
+
+        historyWriter.issued(user.getId(), issued, familyId, null, request);
+        if (evicted != null) {
+            for (Object family : evicted) {
+                historyWriter.familyRevoked((String) family);
+                log.info("세션 수 제한으로 오래된 세션 폐기: user={}, family={}", user.getId(), family);
+            }
+        }
+        return issued.getRawToken();
+    }
+
+    /**
+     * 이전 형식 토큰 (userId 없음) 은 key 위치를 알 수 없어 거부 - 다시 로그인
+     * 사용자 상태 사본이 없을 때만 users 조회 - 정지 / 삭제된 사용자는 모든 세션 폐기
+     * 잠긴 계정은 잠금이 풀릴 때까지 교체만 거부 (script 가 사본의 잠금 시각으로 확인)
+     */
+    @Override
+    public Rotation rotate(RefreshTokenCodec.Parsed parsed, HttpServletRequest request) {
+        Long userId = parsed.getUserId();
+        if (userId == null) {
+            return null;
+        }
+
+        RefreshTokenCodec.Issued issued = refreshTokenCodec.issue(userId, parsed.getSessionExpiresAt());
+        List<?> result = executeRotate(parsed, issued, request);
+        if (result != null && !result.isEmpty() && LOAD_USER_STATE.equals(result.get(0))) {
+            if (!loadUserState(userId)) {
+                return null;
+            }
+            // 'load' 는 아무것도 바꾸지 않았으므로 같은 새 토큰으로 한 번만 다시
+            result = executeRotate(parsed, issued, request);
+        }
+        if (result == null || result.isEmpty() || LOAD_USER_STATE.equals(result.get(0))) {
+            return null;
+        }
+
+        String familyId = (String) result.get(1);
+        if (!ROTATED.equals(result.get(0))) {
+            historyWriter.familyRevoked(familyId);
+            log.warn("폐기된 refresh token 재사용 감지 - family 전체 폐기: user={}, family={}", userId, familyId);
+            return null;
+        }
+
+        historyWriter.issued(userId, issued, familyId, parsed, request);
+        historyWriter.revoked(parsed);
+
+        return new Rotation(issued.getRawToken(), Session.builder()
+                .userId(userId)
+                .email((String) result.get(2))
+                .roles(Role.fromMask(Integer.parseInt((String) result.get(3))))
+                .mfaEnabled("1".equals(result.get(4)))
+                .build());
+    }
+
+    @Override
+    public void revokeAll(Long userId) {
+        Long revoked = redisTemplate.execute(REVOKE_ALL_SCRIPT,
+                List.of(sessionsKey(userId), familiesKey(userId), userStateKey(userId)));
+        historyWriter.userRevoked(userId);
+        log.debug("Redis refresh token 폐기: user={}, count={}", userId, revoked);
+    }
+
+    @Override
+    public List<SessionInfo> listSessions(Long userId) {
+        List<?> rows = redisTemplate.execute(LIST_SESSIONS_SCRIPT,
+                List.of(sessionsKey(userId), familiesKey(userId)),
+                String.valueOf(System.currentTimeMillis()));
+        if (rows == null) {
+            return List.of();
+        }
+        // 세션당 {family, 발급 ms, 만료 ms, User-Agent, IP}
+        List<SessionInfo> sessions = new ArrayList<>(rows.size() / 5);
+        for (int i = 0; i + 4 < rows.size(); i += 5) {
+            sessions.add(SessionInfo.builder()
+                    .sessionId((String) rows.get(i))
+                    .lastUsedAt(fromMillis((String) rows.get(i + 1)))
+                    .expiresAt(fromMillis((String) rows.get(i + 2)))
+                    .userAgent(emptyToNull((String) rows.get(i + 3)))
+                    .ipAddress(emptyToNull((String) rows.get(i + 4)))
+                    .build());
+        }
+        return sessions;
+    }
+
+    @Override
+    public boolean revokeSession(Long userId, String sessionId) {
+        Long revoked = redisTemplate.execute(REVOKE_SESSION_SCRIPT,
+                List.of(sessionsKey(userId), familiesKey(userId)),
+                sessionId, String.valueOf(System.currentTimeMillis()));
+        if (revoked == null || revoked == 0) {
+            return false;
+        }
+        historyWriter.familyRevoked(sessionId);
+        return true;
+    }
+
+    /**
+     * 다음 refresh 에서 users 를 다시 읽게 함 (역할 / MFA / 잠금 변경 뒤)
+     */
+    @Override
+    public void evictUserState(Long userId) {
+        redisTemplate.delete(userStateKey(userId));
+    }
+
+    private List<?> executeRotate(RefreshTokenCodec.Parsed parsed, RefreshTokenCodec.Issued issued,
+                                  HttpServletRequest request) {
+        Long userId = parsed.getUserId();
+        long now = System.currentTimeMillis();
+        return redisTemplate.execute(ROTATE_SCRIPT,
+                List.of(sessionKey(userId, parsed.getSelector()), sessionKey(userId, issued.getSelector()),
+                        sessionsKey(userId), familiesKey(userId), userStateKey(userId)),
+                parsed.getSelector(),
+                refreshTokenCodec.hash(parsed.getVerifier()),
+                issued.getSelector(),
+                issued.getVerifierHash(),
+                String.valueOf(remainingMillis(issued, now)),
+                String.valueOf(now),
+                String.valueOf(issued.getExpiresAt().toEpochMilli()),
+                userAgent(request),
+                getClientIp(request),
+                String.valueOf(gracePeriod.toMillis()),
+                String.valueOf(ttl.toMillis()));
+    }
+
+    /**
+     * @return false 면 사용자가 없거나 정지 / 삭제 - 모든 세션 폐기
+     */
+    private boolean loadUserState(Long userId) {
+        User user = userRepository.findByIdWithRoles(userId).orElse(null);
+        if (user == null || user.getStatus() != UserStatus.ACTIVE) {
+            revokeAll(userId);
+            log.warn("정지 / 삭제된 사용자의 refresh 요청 - 모든 세션 폐기: user={}", userId);
+            return false;
+        }
+        redisTemplate.execute(USER_STATE_SCRIPT, List.of(userStateKey(userId)),
+                user.getEmail(),
+                String.valueOf(Role.toMask(user.getRoles())),
+                Boolean.TRUE.equals(user.getMfaEnabled()) ? "1" : "0",
+                String.valueOf(lockedUntilMillis(user)),
+                String.valueOf(userStateTtl.toMillis()));
+        return true;
+    }
+
+    static String sessionKey(Long userId, String selector) {
+        return KEY_PREFIX + userId + "}:s:" + selector;
+    }
+
+    static String sessionsKey(Long userId) {
+        return KEY_PREFIX + userId + "}:sessions";
+    }
+
+    static String familiesKey(Long userId) {
+        return KEY_PREFIX + userId + "}:fam";
+    }
+
+    static String userStateKey(Long userId) {
+        return KEY_PREFIX + userId + "}:u";
+    }
+
+    private static long lockedUntilMillis(User user) {
+        if (user.getLockedUntil() == null) {
+            return 0;
+        }
+        return user.getLockedUntil().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 세션 절대 만료로 토큰 만료가 당겨졌으면 그만큼 짧게
+     */
+    private static long remainingMillis(RefreshTokenCodec.Issued issued, long now) {
+        return Math.max(1, issued.getExpiresAt().toEpochMilli() - now);
+    }
+
+    private static LocalDateTime fromMillis(String millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli((long) Double.parseDouble(millis)), ZoneId.systemDefault());
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static String userAgent(HttpServletRequest request) {
+        String userAgent = request.getHeader("User-Agent");
+        if (userAgent == null) {
+            return "";
+        }
+        return userAgent.length() > USER_AGENT_MAX_LENGTH ? userAgent.substring(0, USER_AGENT_MAX_LENGTH) : userAgent;
+    }
+
+    private String getClientIp(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,306 @@
+package com.lumonlab.childcaremfa.feat.token.service;
+
+import com.lumonlab.childcaremfa.common.concurrent.ThreadScratch;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * refresh token = base64url(version | userId | selector | expiresAt | sessionExpiresAt | verifier | mac), 103자
+ * version          1 byte
+ * userId           8 byte  - 저장소 위치 (Redis 는 사용자별 hash tag 로 key 를 모음)
+ * selector         12 byte - DB / Redis 조회 키
+ * expiresAt        4 byte  - 만료 epoch seconds (unsigned)
+ * sessionExpiresAt 4 byte  - 세션 절대 만료 (로그인 시각 + jwt.refresh-session-max-lifetime), 교체해도 그대로
+ * verifier         32 byte - 저장소에는 HMAC-SHA256(verifier) 만 저장 - DB 가 유출돼도 토큰을 만들 수 없음
+ * mac              16 byte - 앞부분 전체의 HMAC-SHA256 (128bit 로 자름, verifier 와 다른 키)
+ * 형식 / mac / 만료 확인은 메모리에서만 - 위조, 잘림, 만료 토큰은 DB 커넥션이나 Redis 를 쓰지 않음
+ * 이전 형식 (version 1, userId / 세션 만료 없음, 87자) 도 읽기만 허용 - 다음 교체부터 새 형식
+ */
+@Component
+@Slf4j
+public class RefreshTokenCodec {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final byte VERSION = 2;
+    private static final int USER_ID_BYTES = 8;
+    private static final int SELECTOR_BYTES = 12;
+    private static final int EXPIRY_BYTES = 4;
+    private static final int VERIFIER_BYTES = 32;
+    private static final int MAC_BYTES = 16;
+
+    private static final Layout CURRENT = new Layout(VERSION, true);
+    private static final Layout VERSION_1 = new Layout((byte) 1, false);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    // 저장용 verifier 해시 키
+    private final ThreadScratch<Mac> verifierMac;
+    // 토큰 자체 서명 키
+    private final ThreadScratch<Mac> envelopeMac;
+    private final Duration lifetime;
+    private final Duration sessionMaxLifetime;
+
+    public RefreshTokenCodec(JwtProperties jwtProperties) {
+        byte[] secret = resolveSecret(jwtProperties);
+        this.verifierMac = reusableMac(secret);
+        this.envelopeMac = reusableMac(derive(secret, "refresh-token-envelope"));
+        this.lifetime = Duration.ofMillis(jwtProperties.getRefreshTokenExpiration());
+        this.sessionMaxLifetime = jwtProperties.getRefreshSessionMaxLifetime();
+    }
+
+    /**
+     * 새 세션 (로그인) - 세션 절대 만료는 지금 + jwt.refresh-session-max-lifetime
+     */
+    public Issued issue(Long userId) {
+        return issue(userId, null);
+    }
+
+    /**
+     * 만료는 jwt.refresh-token-expiration, 단 세션 절대 만료를 넘지 않음 (초 단위로 잘라서 토큰과 저장소가 같은 값)
+     * sessionExpiresAt 은 교체 전 토큰의 값 그대로 (null 이면 새 세션)
+     */
+    public Issued issue(Long userId, Instant sessionExpiresAt) {
+        if (userId == null) {
+            throw new IllegalArgumentException("refresh token 발급에 userId 가 없습니다");
+        }
+        Instant now = Instant.now();
+        Instant sessionEnd = (sessionExpiresAt != null ? sessionExpiresAt : now.plus(sessionMaxLifetime))
+                .truncatedTo(ChronoUnit.SECONDS);
+        Instant expiresAt = min(now.plus(lifetime).truncatedTo(ChronoUnit.SECONDS), sessionEnd);
+
+        byte[] token = new byte[CURRENT.tokenBytes];
+        RANDOM.nextBytes(token);
+        token[0] = VERSION;
+        writeLong(token, CURRENT.userIdOffset, userId);
+        writeUnsignedInt(token, CURRENT.expiryOffset, expiresAt.getEpochSecond());
+        writeUnsignedInt(token, CURRENT.sessionExpiryOffset, sessionEnd.getEpochSecond());
+
+        System.arraycopy(envelopeMac(token, CURRENT.macOffset), 0, token, CURRENT.macOffset, MAC_BYTES);
+
+        String verifier = ENCODER.encodeToString(Arrays.copyOfRange(token, CURRENT.verifierOffset, CURRENT.macOffset));
+        return new Issued(ENCODER.encodeToString(token),
+                ENCODER.encodeToString(Arrays.copyOfRange(token, CURRENT.selectorOffset, CURRENT.expiryOffset)),
+                hash(verifier),
+                expiresAt,
+                sessionEnd);
+    }
+
+    /**
+     * 새 family id (로그인 1회 = family 1개)
+     */
+    public String newFamilyId() {
+        return randomToken(SELECTOR_BYTES);
+    }
+
+    /**
+     * 형식, mac, 만료를 확인해서 하나라도 아니면 null (저장소 조회 전에 거름)
+     */
+    public Parsed parse(String rawToken) {
+        Layout layout = rawToken == null ? null
+                : rawToken.length() == CURRENT.tokenLength ? CURRENT
+                : rawToken.length() == VERSION_1.tokenLength ? VERSION_1
+                : null;
+        if (layout == null) {
+            return null;
+        }
+        byte[] token;
+        try {
+            token = DECODER.decode(rawToken);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (token.length != layout.tokenBytes || token[0] != layout.version) {
+            return null;
+        }
+
+        byte[] expected = Arrays.copyOf(envelopeMac(token, layout.macOffset), MAC_BYTES);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(token, layout.macOffset, layout.tokenBytes))) {
+            return null;
+        }
+
+        Instant now = Instant.now();
+        Instant expiresAt = Instant.ofEpochSecond(readUnsignedInt(token, layout.expiryOffset));
+        Instant sessionExpiresAt = layout.hasSession
+                ? Instant.ofEpochSecond(readUnsignedInt(token, layout.sessionExpiryOffset))
+                : null;
+        if (!expiresAt.isAfter(now) || (sessionExpiresAt != null && !sessionExpiresAt.isAfter(now))) {
+            return null;
+        }
+        return new Parsed(
+                layout.hasSession ? readLong(token, layout.userIdOffset) : null,
+                ENCODER.encodeToString(Arrays.copyOfRange(token, layout.selectorOffset, layout.expiryOffset)),
+                ENCODER.encodeToString(Arrays.copyOfRange(token, layout.verifierOffset, layout.macOffset)),
+                expiresAt,
+                sessionExpiresAt);
+    }
+
+    /**
+     * 상수 시간 비교
+     */
+    public boolean matches(String verifier, String verifierHash) {
+        return MessageDigest.isEqual(
+                hash(verifier).getBytes(StandardCharsets.US_ASCII),
+                verifierHash.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 저장용 verifier 해시 (Redis 모드에서는 script 안에서 비교)
+     */
+    public String hash(String verifier) {
+        Mac mac = verifierMac.acquire();
+        try {
+            return ENCODER.encodeToString(mac.doFinal(verifier.getBytes(StandardCharsets.US_ASCII)));
+        } finally {
+            verifierMac.release(mac);
+        }
+    }
+
+    private byte[] envelopeMac(byte[] token, int length) {
+        Mac mac = envelopeMac.acquire();
+        try {
+            mac.update(token, 0, length);
+            return mac.doFinal();
+        } finally {
+            envelopeMac.release(mac);
+        }
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static void writeLong(byte[] dst, int offset, long value) {
+        writeUnsignedInt(dst, offset, value >>> 32);
+        writeUnsignedInt(dst, offset + 4, value);
+    }
+
+    private static long readLong(byte[] src, int offset) {
+        return readUnsignedInt(src, offset) << 32 | readUnsignedInt(src, offset + 4);
+    }
+
+    private static void writeUnsignedInt(byte[] dst, int offset, long value) {
+        dst[offset] = (byte) (value >>> 24);
+        dst[offset + 1] = (byte) (value >>> 16);
+        dst[offset + 2] = (byte) (value >>> 8);
+        dst[offset + 3] = (byte) value;
+    }
+
+    private static long readUnsignedInt(byte[] src, int offset) {
+        return (src[offset] & 0xFFL) << 24 | (src[offset + 1] & 0xFFL) << 16
+                | (src[offset + 2] & 0xFFL) << 8 | (src[offset + 3] & 0xFFL);
+    }
+
+    private static ThreadScratch<Mac> reusableMac(byte[] secret) {
+        SecretKeySpec key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        return ThreadScratch.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 를 사용할 수 없습니다", e);
+            }
+        });
+    }
+
+    private static byte[] derive(byte[] secret, String purpose) {
+        try {
+            Mac derive = Mac.getInstance(HMAC_ALGORITHM);
+            derive.init(new SecretKeySpec(secret, HMAC_ALGORITHM));
+            return derive.doFinal(purpose.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("refresh token 키를 만들 수 없습니다", e);
+        }
+    }
+
+    private static String randomToken(int bytes) {
+        byte[] random = new byte[bytes];
+        RANDOM.nextBytes(random);
+        return ENCODER.encodeToString(random);
+    }
+
+    /**
+     * jwt.refresh-token-secret, 없으면 jwt.secret 에서 파생 (용도별로 다른 키)
+     */
+    private static byte[] resolveSecret(JwtProperties jwtProperties) {
+        if (StringUtils.hasText(jwtProperties.getRefreshTokenSecret())) {
+            return jwtProperties.getRefreshTokenSecret().getBytes(StandardCharsets.UTF_8);
+        }
+        if (StringUtils.hasText(jwtProperties.getSecret())) {
+            return derive(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8), "refresh-token");
+        }
+        // 로컬 개발용 - 재시작하면 기존 refresh token 은 검증 안 됨
+        log.warn("jwt.refresh-token-secret 이 설정되지 않아 임시 키를 생성했습니다. 운영 환경에서는 설정 필요!");
+        byte[] random = new byte[32];
+        RANDOM.nextBytes(random);
+        return random;
+    }
+
+    /**
+     * 형식별 byte 위치 (version 1 은 userId / sessionExpiresAt 없음)
+     */
+    private static final class Layout {
+        private final byte version;
+        private final boolean hasSession;
+        private final int userIdOffset;
+        private final int selectorOffset;
+        private final int expiryOffset;
+        private final int sessionExpiryOffset;
+        private final int verifierOffset;
+        private final int macOffset;
+        private final int tokenBytes;
+        // base64url 길이 (padding 없음)
+        private final int tokenLength;
+
+        private Layout(byte version, boolean hasSession) {
+            this.version = version;
+            this.hasSession = hasSession;
+            this.userIdOffset = 1;
+            this.selectorOffset = userIdOffset + (hasSession ? USER_ID_BYTES : 0);
+            this.expiryOffset = selectorOffset + SELECTOR_BYTES;
+            this.sessionExpiryOffset = expiryOffset + EXPIRY_BYTES;
+            this.verifierOffset = sessionExpiryOffset + (hasSession ? EXPIRY_BYTES : 0);
+            this.macOffset = verifierOffset + VERIFIER_BYTES;
+            this.tokenBytes = macOffset + MAC_BYTES;
+            this.tokenLength = (tokenBytes * 4 + 2) / 3;
+        }
+    }
+
+    @Value
+    public static class Issued {
+        String rawToken;
+        String selector;
+        String verifierHash;
+        Instant expiresAt;
+        Instant sessionExpiresAt;
+    }
+
+    /**
+     * userId / sessionExpiresAt 은 이전 형식 (version 1) 토큰이면 null
+     */
+    @Value
+    public static class Parsed {
+        Long userId;
+        String selector;
+        String verifier;
+        Instant expiresAt;
+        Instant sessionExpiresAt;
+    }
+}
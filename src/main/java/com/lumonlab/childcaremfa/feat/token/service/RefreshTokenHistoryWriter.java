@@ -0,0 +1,185 @@
+package com.lumonlab.childcaremfa.feat.token.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Redis 모드에서 refresh_tokens 테이블에 이력만 비동기로 기록 (write-behind)
+ * 요청 스레드는 큐에 넣기만 하고, 1초마다 JDBC batch 로 한 번에 저장
+ * 큐가 가득 차면 이력은 버리고 카운트만 (인증 자체는 Redis 기준이라 영향 없음)
+ */
+@Component
+@ConditionalOnProperty(prefix = "jwt", name = "refresh-token-store", havingValue = "redis")
+@Slf4j
+public class RefreshTokenHistoryWriter {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 500;
+    // refresh_tokens.user_agent 길이 - 긴 값 하나 때문에 batch 전체가 실패하지 않게
+    private static final int USER_AGENT_MAX_LENGTH = 500;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO refresh_tokens (user_id, selector, verifier_hash, family_id, issued_at, expires_at,
+                                        rotated_from, user_agent, ip_address)
+            VALUES (?, ?, ?, ?, ?, ?, (SELECT id FROM refresh_tokens WHERE selector = ? AND expires_at = ?), ?, ?)
+            """;
+    // selector 는 expires_at 과 같이 unique (V9, V11) - 항상 둘 다로 찾음 (partition 하나만 봄)
+    private static final String REVOKE_SQL =
+            "UPDATE refresh_tokens SET revoked_at = ? WHERE selector = ? AND expires_at = ? AND revoked_at IS NULL";
+    // 같은 배치 안에서 폐기 이후 새로 발급된 토큰은 건드리지 않게 issued_at 기준
+    private static final String REVOKE_USER_SQL =
+            "UPDATE refresh_tokens SET revoked_at = ? WHERE user_id = ? AND revoked_at IS NULL AND issued_at <= ?";
+    private static final String REVOKE_FAMILY_SQL =
+            "UPDATE refresh_tokens SET revoked_at = ? WHERE family_id = ? AND revoked_at IS NULL";
+
+    private final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter droppedCounter;
+
+    public RefreshTokenHistoryWriter(JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.droppedCounter = meterRegistry.counter("refresh_token.history.dropped");
+        meterRegistry.gauge("refresh_token.history.queue", queue, BlockingQueue::size);
+    }
+
+    /**
+     * rotatedFrom - 교체 전 토큰 (새 로그인이면 null)
+     */
+    public void issued(Long userId, RefreshTokenCodec.Issued issued, String familyId, RefreshTokenCodec.Parsed rotatedFrom,
+                       HttpServletRequest request) {
+        enqueue(new Event(EventType.ISSUED, userId, issued.getSelector(), toLocalDateTime(issued.getExpiresAt()),
+                issued.getVerifierHash(), familyId,
+                rotatedFrom != null ? rotatedFrom.getSelector() : null,
+                rotatedFrom != null ? toLocalDateTime(rotatedFrom.getExpiresAt()) : null,
+                LocalDateTime.now(), truncate(request.getHeader("User-Agent")), getClientIp(request)));
+    }
+
+    public void revoked(RefreshTokenCodec.Parsed token) {
+        enqueue(new Event(EventType.REVOKED, null, token.getSelector(), toLocalDateTime(token.getExpiresAt()),
+                null, null, null, null, LocalDateTime.now(), null, null));
+    }
+
+    public void userRevoked(Long userId) {
+        enqueue(new Event(EventType.USER_REVOKED, userId, null, null, null, null, null, null,
+                LocalDateTime.now(), null, null));
+    }
+
+    public void familyRevoked(String familyId) {
+        enqueue(new Event(EventType.FAMILY_REVOKED, null, null, null, null, familyId, null, null,
+                LocalDateTime.now(), null, null));
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void flush() {
+        List<Event> batch = new ArrayList<>(BATCH_SIZE);
+        while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+            try {
+                write(batch);
+            } catch (Exception e) {
+                log.error("refresh token 이력 저장 실패: {}건", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 발급 -> 단건 폐기 -> 사용자 폐기 -> family 폐기 순서로 statement 별 batch 하나씩, 트랜잭션 하나
+     */
+    private void write(List<Event> batch) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> revokes = new ArrayList<>();
+        List<Object[]> userRevokes = new ArrayList<>();
+        List<Object[]> familyRevokes = new ArrayList<>();
+
+        for (Event event : batch) {
+            Timestamp at = Timestamp.valueOf(event.at());
+            switch (event.type()) {
+                case ISSUED -> inserts.add(new Object[]{
+                        event.userId(), event.selector(), event.verifierHash(), event.familyId(), at,
+                        Timestamp.valueOf(event.expiresAt()), event.rotatedFrom(), toTimestamp(event.rotatedFromExpiresAt()),
+                        event.userAgent(), event.ipAddress()});
+                case REVOKED -> revokes.add(new Object[]{at, event.selector(), Timestamp.valueOf(event.expiresAt())});
+                case USER_REVOKED -> userRevokes.add(new Object[]{at, event.userId(), at});
+                case FAMILY_REVOKED -> familyRevokes.add(new Object[]{at, event.familyId()});
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            }
+            if (!revokes.isEmpty()) {
+                jdbcTemplate.batchUpdate(REVOKE_SQL, revokes);
+            }
+            if (!userRevokes.isEmpty()) {
+                jdbcTemplate.batchUpdate(REVOKE_USER_SQL, userRevokes);
+            }
+            if (!familyRevokes.isEmpty()) {
+                jdbcTemplate.batchUpdate(REVOKE_FAMILY_SQL, familyRevokes);
+            }
+        });
+    }
+
+    private void enqueue(Event event) {
+        if (!queue.offer(event)) {
+            droppedCounter.increment();
+            log.warn("refresh token 이력 큐가 가득 찼습니다 - 이력 누락: {}", event.type());
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    private static String truncate(String userAgent) {
+        return userAgent != null && userAgent.length() > USER_AGENT_MAX_LENGTH
+                ? userAgent.substring(0, USER_AGENT_MAX_LENGTH)
+                : userAgent;
+    }
+
+    private String getClientIp(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+
+    private enum EventType {
+        ISSUED,
+        REVOKED,
+        USER_REVOKED,
+        FAMILY_REVOKED
+    }
+
+    private record Event(EventType type, Long userId, String selector, LocalDateTime expiresAt, String verifierHash,
+                         String familyId, String rotatedFrom, LocalDateTime rotatedFromExpiresAt, LocalDateTime at,
+                         String userAgent, String ipAddress) {
+    }
+}
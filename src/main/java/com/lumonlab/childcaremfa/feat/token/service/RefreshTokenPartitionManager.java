@@ -0,0 +1,123 @@
+package com.lumonlab.childcaremfa.feat.token.service;
+
+import com.lumonlab.childcaremfa.common.config.RetentionProperties;
+import com.lumonlab.childcaremfa.common.metrics.RetentionMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * refresh_tokens 월별 partition 관리 (V9)
+ * - 앞으로 N개월 partition 미리 생성 (없으면 INSERT 실패)
+ * - 보관 기간이 지난 partition 은 DETACH CONCURRENTLY -> DROP (DELETE 없이, 부모 테이블 lock 최소)
+ * DETACH CONCURRENTLY 는 트랜잭션 밖에서만 가능해서 @Transactional 없이 statement 단위 실행
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenPartitionManager {
+
+    private static final String JOB = "refresh_token_partitions";
+    private static final String TABLE = "refresh_tokens";
+    private static final Pattern PARTITION_NAME = Pattern.compile(TABLE + "_(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname AS name, i.inhdetachpending AS detach_pending
+            FROM pg_inherits i
+                     JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'refresh_tokens'::regclass
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RetentionProperties retentionProperties;
+    private final RetentionMetrics retentionMetrics;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            createAhead(YearMonth.now());
+        } catch (Exception e) {
+            log.error("refresh_tokens partition 생성 실패", e);
+        }
+    }
+
+    /**
+     * 새벽 3시 (비밀번호 재설정 토큰 정리와 겹치지 않게)
+     */
+    @Scheduled(cron = "0 0 3 * * ?")
+    public void maintain() {
+        long started = System.nanoTime();
+        createAhead(YearMonth.now());
+        long dropped = dropExpired(LocalDateTime.now());
+        Duration took = Duration.ofNanos(System.nanoTime() - started);
+
+        retentionMetrics.record(JOB, dropped, took);
+        log.info("refresh_tokens partition 정리 완료: {}건, {}ms", dropped, took.toMillis());
+    }
+
+    void createAhead(YearMonth from) {
+        RetentionProperties.RefreshTokens config = retentionProperties.getRefreshTokens();
+        for (int i = 0; i <= config.getMonthsAhead(); i++) {
+            YearMonth month = from.plusMonths(i);
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    partitionName(month), TABLE, month.atDay(1), month.plusMonths(1).atDay(1)));
+        }
+    }
+
+    /**
+     * @return drop 한 partition 들의 행 수
+     */
+    long dropExpired(LocalDateTime now) {
+        LocalDateTime cutoff = now.minus(retentionProperties.getRefreshTokens().getRetainAfterExpiry());
+        List<Partition> partitions = jdbcTemplate.query(LIST_PARTITIONS_SQL, (rs, rowNum) -> new Partition(
+                rs.getString("name"), rs.getBoolean("detach_pending")));
+
+        long dropped = 0;
+        for (Partition partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition.name());
+            if (!matcher.matches()) {
+                continue;
+            }
+            // partition 의 upper bound = 다음 달 1일 -> 그 안의 토큰은 전부 그 전에 만료
+            LocalDateTime upperBound = YearMonth.parse(matcher.group(1), SUFFIX).plusMonths(1).atDay(1).atStartOfDay();
+            if (!upperBound.isBefore(cutoff)) {
+                continue;
+            }
+            try {
+                // 이전 실행이 DETACH CONCURRENTLY 도중 중단됐으면 FINALIZE 로 마무리
+                jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s %s",
+                        TABLE, partition.name(), partition.detachPending() ? "FINALIZE" : "CONCURRENTLY"));
+                // detach 된 뒤라 부모 테이블과 무관하게 count (지표용)
+                Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition.name(), Long.class);
+                jdbcTemplate.execute("DROP TABLE " + partition.name());
+                dropped += rows != null ? rows : 0;
+                log.info("refresh_tokens partition 삭제: {} ({}건)", partition.name(), rows);
+            } catch (Exception e) {
+                // 다른 인스턴스가 동시에 정리 중일 수 있음 - 다음 실행에서 다시 시도
+                log.warn("refresh_tokens partition 삭제 실패: {}", partition.name(), e);
+            }
+        }
+        return dropped;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return TABLE + "_" + month.format(SUFFIX);
+    }
+
+    private record Partition(String name, boolean detachPending) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.lumonlab.childcaremfa.feat.token.service;
+
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+import com.lumonlab.childcaremfa.feat.user.entity.User;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 활성 refresh token 저장소 (jwt.refresh-token-store)
+ * DATABASE: DatabaseRefreshTokenStore / REDIS: RedisRefreshTokenStore
+ * 세션 = 로그인 1회로 시작된 family (교체돼도 같은 세션), 세션 id = family id
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * 로그인 / 가입 시 새 refresh token, 원문 반환
+     * jwt.max-sessions-per-user 를 넘으면 마지막 사용이 가장 오래된 세션부터 폐기
+     */
+    String issue(User user, HttpServletRequest request);
+
+    /**
+     * 기존 토큰 폐기 + 새 토큰 발급을 한 번에
+     * token 은 RefreshTokenCodec.parse 를 통과한 것 (mac / 만료 확인 끝)
+     * 저장소에 없거나 폐기된 토큰이면 null
+     */
+    Rotation rotate(RefreshTokenCodec.Parsed token, HttpServletRequest request);
+
+    void revokeAll(Long userId);
+
+    /**
+     * 활성 세션 목록, 최근 사용 순
+     */
+    List<SessionInfo> listSessions(Long userId);
+
+    /**
+     * 해당 사용자의 세션이 아니거나 이미 끝난 세션이면 false
+     */
+    boolean revokeSession(Long userId, String sessionId);
+
+    /**
+     * 사용자의 역할 / MFA / 잠금이 바뀜 - 다음 교체부터 새 상태로 access token 발급
+     * DB 모드는 교체할 때마다 토큰과 같이 users 를 읽어서 할 일 없음
+     */
+    default void evictUserState(Long userId) {
+    }
+
+    /**
+     * access token 재발급에 필요한 사용자 정보 (refresh 시 users 조회 없이 사용)
+     */
+    @Value
+    @Builder
+    class Session {
+        Long userId;
+        String email;
+        Set<Role> roles;
+        boolean mfaEnabled;
+    }
+
+    @Value
+    @Builder
+    class SessionInfo {
+        String sessionId;
+        // 현재 토큰 발급 시각 = 마지막 refresh
+        LocalDateTime lastUsedAt;
+        LocalDateTime expiresAt;
+        String userAgent;
+        String ipAddress;
+    }
+
+    @Value
+    class Rotation {
+        String refreshToken;
+        Session session;
+    }
+}
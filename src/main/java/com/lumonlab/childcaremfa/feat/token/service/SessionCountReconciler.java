@@ -0,0 +1,125 @@
+package com.lumonlab.childcaremfa.feat.token.service;
+
+import com.lumonlab.childcaremfa.common.config.RetentionProperties;
+import com.lumonlab.childcaremfa.common.metrics.RetentionMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * user_session_counts 를 실제 활성 세션 수로 다시 맞춤 (DB refresh token 모드 전용)
+ * 발급 / 폐기는 카운터를 증감하지만 만료로 조용히 끝난 세션은 줄이지 못함 - 그대로 두면 제한에 걸린 사용자는
+ * 로그인마다 evictOldest (활성 세션 전체 조회) 를 탐
+ * 배치마다 트랜잭션 하나: 카운터 행 lock (SKIP LOCKED) -> 새 snapshot 으로 COUNT
+ * lock 을 먼저 잡아서 그 전에 커밋된 발급은 COUNT 에 보이고, 그 뒤의 발급은 lock 을 기다렸다가 보정된 값에 더함
+ */
+@Component
+@ConditionalOnProperty(prefix = "jwt", name = "refresh-token-store", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class SessionCountReconciler {
+
+    private static final String JOB = "user_session_counts";
+
+    // 로그인 중인 사용자 (카운터 행 lock) 는 기다리지 않고 건너뜀 - 다음 실행이나 제한 초과 시 보정
+    private static final String LOCK_BATCH_SQL = """
+            SELECT user_id
+            FROM user_session_counts
+            WHERE user_id > ?
+              AND active > 0
+            ORDER BY user_id
+            LIMIT ? FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String RECONCILE_SQL = """
+            UPDATE user_session_counts c
+            SET active = s.active
+            FROM (SELECT u.user_id,
+                         (SELECT COUNT(*)
+                          FROM refresh_tokens t
+                          WHERE t.user_id = u.user_id
+                            AND t.revoked_at IS NULL
+                            AND t.expires_at > ?) AS active
+                  FROM unnest(?::bigint[]) AS u(user_id)) s
+            WHERE c.user_id = s.user_id
+              AND c.active <> s.active
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RetentionProperties retentionProperties;
+    private final RetentionMetrics retentionMetrics;
+
+    /**
+     * 새벽 4시 (refresh_tokens partition 정리 뒤)
+     */
+    @Scheduled(cron = "0 0 4 * * ?")
+    public void reconcile() {
+        RetentionProperties.SessionCounts config = retentionProperties.getSessionCounts();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long started = System.nanoTime();
+        long deadline = started + config.getMaxDuration().toNanos();
+
+        long cursor = 0;
+        long corrected = 0;
+        boolean finished = false;
+        while (System.nanoTime() < deadline) {
+            long after = cursor;
+            Batch batch = transactionTemplate.execute(status -> reconcileBatch(after, now, config.getBatchSize()));
+            corrected += batch.corrected();
+            if (batch.userIds().size() < config.getBatchSize()) {
+                finished = true;
+                break;
+            }
+            cursor = batch.userIds().get(batch.userIds().size() - 1);
+            if (!pause(config.getPauseBetweenBatches())) {
+                break;
+            }
+        }
+
+        Duration took = Duration.ofNanos(System.nanoTime() - started);
+        retentionMetrics.record(JOB, corrected, took);
+        if (finished) {
+            log.info("활성 세션 수 보정 완료: {}명, {}ms", corrected, took.toMillis());
+        } else {
+            log.info("활성 세션 수 보정 시간 초과 - 다음 실행에서 다시: {}명 보정, 마지막 user={}", corrected, cursor);
+        }
+    }
+
+    private Batch reconcileBatch(long cursor, Timestamp now, int batchSize) {
+        List<Long> userIds = jdbcTemplate.queryForList(LOCK_BATCH_SQL, Long.class, cursor, batchSize);
+        if (userIds.isEmpty()) {
+            return new Batch(userIds, 0);
+        }
+        int corrected = jdbcTemplate.update(RECONCILE_SQL, ps -> {
+            ps.setTimestamp(1, now);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", userIds.toArray()));
+        });
+        return new Batch(userIds, corrected);
+    }
+
+    private static boolean pause(Duration pause) {
+        if (pause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Batch(List<Long> userIds, int corrected) {
+    }
+}
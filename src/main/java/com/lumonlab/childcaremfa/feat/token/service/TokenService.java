@@ -1,90 +1,134 @@
 package com.lumonlab.childcaremfa.feat.token.service;
 
-import com.lumonlab.childcaremfa.feat.security.jwt.JwtTokenProvider;
-import com.lumonlab.childcaremfa.feat.token.entity.RefreshToken;
-import com.lumonlab.childcaremfa.feat.token.repo.RTokenRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
 import com.lumonlab.childcaremfa.feat.user.entity.User;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class TokenService {
 
-    private final RTokenRepository refreshTokenRepository;
-    private final JwtTokenProvider jwtTokenProvider;
-    private final PasswordEncoder passwordEncoder;
-
-    @Transactional
-    public RefreshToken createRefreshToken(User user, HttpServletRequest request) {
-        String rawToken = UUID.randomUUID().toString();
-        String tokenHash = passwordEncoder.encode(rawToken);
-
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .tokenHash(tokenHash)
-                .issuedAt(LocalDateTime.now())
-                .expiresAt(LocalDateTime.now().plusDays(7))
-                .userAgent(request.getHeader("User-Agent"))
-                .ipAddress(getClientIp(request))
-                .build();
+    private static final long MAX_RECENT_ROTATIONS = 10_000;
 
-        refreshTokenRepository.save(refreshToken);
+    // jwt.refresh-token-store 설정에 따라 DB 또는 Redis
+    private final RefreshTokenStore refreshTokenStore;
+    private final RefreshTokenCodec refreshTokenCodec;
 
-        return refreshToken.toBuilder().tokenHash(rawToken).build();
-    }
+    // 방금 교체된 토큰 -> 교체 결과 (jwt.refresh-grace-period 동안)
+    // 여러 탭이 같은 토큰으로 동시에 refresh 해도 교체는 한 번, 모두 같은 결과를 받음
+    private final Cache<String, CompletableFuture<RefreshTokenStore.Rotation>> recentRotations;
 
-    @Transactional
-    public RefreshToken rotateRefreshToken(RefreshToken oldToken, HttpServletRequest request) {
-        String rawToken = UUID.randomUUID().toString();
-        String tokenHash = passwordEncoder.encode(rawToken);
-
-        RefreshToken newToken = RefreshToken.builder()
-                .user(oldToken.getUser())
-                .tokenHash(tokenHash)
-                .issuedAt(LocalDateTime.now())
-                .expiresAt(LocalDateTime.now().plusDays(7))
-                .rotatedFrom(oldToken)
-                .userAgent(request.getHeader("User-Agent"))
-                .ipAddress(getClientIp(request))
+    public TokenService(RefreshTokenStore refreshTokenStore,
+                        RefreshTokenCodec refreshTokenCodec,
+                        JwtProperties jwtProperties) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.refreshTokenCodec = refreshTokenCodec;
+        this.recentRotations = Caffeine.newBuilder()
+                .maximumSize(MAX_RECENT_ROTATIONS)
+                .expireAfterWrite(jwtProperties.getRefreshGracePeriod())
                 .build();
+    }
 
-        refreshTokenRepository.save(newToken);
+    /**
+     * 새 refresh token 원문 반환
+     */
+    public String createRefreshToken(User user, HttpServletRequest request) {
+        return refreshTokenStore.issue(user, request);
+    }
 
-        oldToken.revoke();
-        refreshTokenRepository.save(oldToken);
+    /**
+     * 유효하지 않은 토큰이면 null
+     * 위조 / 잘림 / 만료 토큰은 여기서 메모리로만 거름 - store 의 트랜잭션(DB 커넥션) 시작 전
+     * 같은 토큰이 동시에 / grace 기간 안에 다시 오면 store 를 다시 부르지 않고 첫 교체 결과를 그대로 반환
+     */
+    public RefreshTokenStore.Rotation rotateRefreshToken(String rawToken, HttpServletRequest request) {
+        RefreshTokenCodec.Parsed token = refreshTokenCodec.parse(rawToken);
+        if (token == null) {
+            log.debug("refresh token 사전 검증 실패");
+            return null;
+        }
 
-        log.info("사용자를 위한 rotated 새로 고침 토큰: {}", oldToken.getUser().getId());
+        // 교체 중에는 map lock 을 잡지 않도록 future 를 먼저 넣고 (single-flight), 나중에 온 요청은 기다림
+        CompletableFuture<RefreshTokenStore.Rotation> mine = new CompletableFuture<>();
+        CompletableFuture<RefreshTokenStore.Rotation> inFlight = recentRotations.asMap().putIfAbsent(rawToken, mine);
+        if (inFlight != null) {
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
 
-        return newToken.toBuilder().tokenHash(rawToken).build();
+        try {
+            RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(token, request);
+            mine.complete(rotation);
+            if (rotation == null) {
+                // 실패 결과는 남기지 않음
+                recentRotations.asMap().remove(rawToken, mine);
+            }
+            return rotation;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            recentRotations.asMap().remove(rawToken, mine);
+            throw e;
+        }
     }
 
-    @Transactional
     public void revokeAllUserTokens(Long userId) {
-        refreshTokenRepository.revokeAllUserTokens(userId, LocalDateTime.now());
+        refreshTokenStore.revokeAll(userId);
+        evictRecentRotations(userId);
         log.info("사용자 모든 토큰이 취소됨: {}", userId);
     }
 
-    @Transactional(readOnly = true)
-    public RefreshToken findValidToken(String rawToken) {
-        return refreshTokenRepository.findByTokenHash(rawToken)
-                .filter(RefreshToken::isValid)
-                .orElse(null);
+    /**
+     * 역할 / MFA / 잠금 변경 뒤 호출 - refresh 때 쓰는 사용자 상태 사본을 지움
+     * 트랜잭션 안이면 커밋 뒤에 (그 사이 refresh 가 커밋 전 값을 다시 채우지 않게)
+     */
+    public void userStateChanged(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshTokenStore.evictUserState(userId);
+                }
+            });
+            return;
+        }
+        refreshTokenStore.evictUserState(userId);
+    }
+
+    public List<RefreshTokenStore.SessionInfo> getActiveSessions(Long userId) {
+        return refreshTokenStore.listSessions(userId);
     }
 
-    private String getClientIp(HttpServletRequest request) {
-        String xfHeader = request.getHeader("X-Forwarded-For");
-        if (xfHeader == null) {
-            return request.getRemoteAddr();
+    /**
+     * 해당 사용자의 활성 세션이 아니면 false
+     */
+    public boolean revokeSession(Long userId, String sessionId) {
+        boolean revoked = refreshTokenStore.revokeSession(userId, sessionId);
+        if (revoked) {
+            evictRecentRotations(userId);
         }
-        return xfHeader.split(",")[0];
+        return revoked;
+    }
+
+    /**
+     * 폐기 후 grace 기간 동안 캐시된 교체 결과로 access token 이 나가지 않게
+     */
+    private void evictRecentRotations(Long userId) {
+        recentRotations.asMap().values().removeIf(future -> {
+            RefreshTokenStore.Rotation rotation = future.getNow(null);
+            return rotation != null && userId.equals(rotation.getSession().getUserId());
+        });
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,69 @@
 package com.lumonlab.childcaremfa.feat.user.entity;
 
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum Role {
-    PARENT,
-    ADMIN,
-    MASTER;
+    // bit 값은 토큰 claim 에 들어가므로 절대 바꾸지 말 것 (새 role 은 다음 bit 사용)
+    PARENT(1),
+    ADMIN(1 << 1),
+    MASTER(1 << 2);
+
+    private static final int ALL_BITS = toMask(EnumSet.allOf(Role.class));
+    private static final Set<Role>[] BY_MASK = buildMaskTable();
+
+    private final int bit;
+
+    Role(int bit) {
+        this.bit = bit;
+    }
+
+    public int getBit() {
+        return bit;
+    }
 
     public String getAuthority() {
         return "ROLE_" + this.name();
     }
-}
\ No newline at end of file
+
+    public static int toMask(Collection<Role> roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= role.bit;
+        }
+        return mask;
+    }
+
+    /**
+     * 모르는 bit 제거
+     */
+    public static int normalize(int mask) {
+        return mask & ALL_BITS;
+    }
+
+    /**
+     * bitmask -> 불변 Set (미리 만들어 둔 인스턴스 반환, 할당 없음)
+     * 모르는 bit 는 무시
+     */
+    public static Set<Role> fromMask(int mask) {
+        return BY_MASK[mask & ALL_BITS];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Role>[] buildMaskTable() {
+        Set<Role>[] table = new Set[ALL_BITS + 1];
+        for (int mask = 0; mask <= ALL_BITS; mask++) {
+            Set<Role> roles = EnumSet.noneOf(Role.class);
+            for (Role role : values()) {
+                if ((mask & role.bit) != 0) {
+                    roles.add(role);
+                }
+            }
+            table[mask] = Collections.unmodifiableSet(roles);
+        }
+        return table;
+    }
+}
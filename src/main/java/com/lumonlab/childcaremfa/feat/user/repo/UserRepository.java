@@ -3,10 +3,13 @@ package com.lumonlab.childcaremfa.feat.user.repo;
 import com.lumonlab.childcaremfa.feat.user.entity.UserStatus;
 import com.lumonlab.childcaremfa.feat.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -24,4 +27,33 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.email = :email AND u.status = :status")
     boolean existsByEmailAndStatus(@Param("email") String email, @Param("status") UserStatus status);
+
+    // 로그인 시 rehash - 그 사이 비밀번호가 바뀌었으면 (hash 가 다르면) 덮어쓰지 않음
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :newHash WHERE u.id = :userId AND u.passwordHash = :oldHash")
+    int updatePasswordHash(@Param("userId") Long userId,
+                           @Param("oldHash") String oldHash,
+                           @Param("newHash") String newHash);
+
+    // 로그인 실패 횟수는 Redis (LoginAttemptTracker) - users 는 잠금이 걸릴 때만 UPDATE
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.lockedUntil = :lockedUntil, u.failedLoginAttempts = :attempts WHERE u.id = :userId")
+    int lockUntil(@Param("userId") Long userId,
+                  @Param("lockedUntil") LocalDateTime lockedUntil,
+                  @Param("attempts") int attempts);
+
+    // 로그인 성공 - 남아 있는 실패 횟수 / 지난 잠금 정리, 이미 0 이면 행을 건드리지 않음
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.failedLoginAttempts = 0, u.lockedUntil = NULL "
+            + "WHERE u.id = :userId AND (u.failedLoginAttempts > 0 OR u.lockedUntil IS NOT NULL)")
+    int clearFailedLoginAttempts(@Param("userId") Long userId);
+
+    // 비밀번호 재설정 - 잠금도 같이 해제 (PasswordService 트랜잭션 안에서)
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash, u.failedLoginAttempts = 0, u.lockedUntil = NULL "
+            + "WHERE u.id = :userId")
+    void resetPassword(@Param("userId") Long userId, @Param("passwordHash") String passwordHash);
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.lumonlab.childcaremfa.feat.user.service;
+
+import com.lumonlab.childcaremfa.common.config.LastLoginProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * users.last_login_at write-behind
+ * 로그인 요청은 메모리에 사용자별 마지막 시각만 남기고 (같은 사용자는 하나로 합침)
+ * last-login.flush-interval 마다 JDBC batch UPDATE - 로그인 경로에서 users 행 UPDATE / lock 이 빠짐
+ * 종료 시에는 웹 서버 graceful shutdown (요청 처리 완료) 이후, DataSource 종료 전에 마지막으로 반영
+ * 지표: last_login.pending, last_login.dropped
+ */
+@Component
+@Slf4j
+public class LastLoginRecorder implements SmartLifecycle {
+
+    // 더 늦은 로그인이 이미 반영되어 있으면 (다른 노드) 덮어쓰지 않음
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final LastLoginProperties properties;
+    private final Counter droppedCounter;
+    private volatile boolean running;
+
+    public LastLoginRecorder(JdbcTemplate jdbcTemplate,
+                             LastLoginProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.droppedCounter = meterRegistry.counter("last_login.dropped");
+        meterRegistry.gauge("last_login.pending", pending, Map::size);
+    }
+
+    public void record(Long userId) {
+        record(userId, LocalDateTime.now());
+    }
+
+    void record(Long userId, LocalDateTime at) {
+        // 상한은 대략적으로만 (이미 대기 중인 사용자는 항상 갱신)
+        if (pending.size() >= properties.getMaxPending() && !pending.containsKey(userId)) {
+            droppedCounter.increment();
+            log.warn("last login 대기 목록이 가득 찼습니다 - 기록 누락: {}", userId);
+            return;
+        }
+        pending.merge(userId, at, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Scheduled(fixedDelayString = "${last-login.flush-interval:5s}")
+    public void flush() {
+        List<Long> userIds = new ArrayList<>(pending.keySet());
+        // 노드 간 / 배치 간 lock 순서를 같게
+        userIds.sort(null);
+
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        for (Long userId : userIds) {
+            LocalDateTime at = pending.remove(userId);
+            if (at == null) {
+                continue;
+            }
+            Timestamp timestamp = Timestamp.valueOf(at);
+            batch.add(new Object[]{timestamp, userId, timestamp});
+            if (batch.size() >= properties.getBatchSize()) {
+                write(batch);
+                batch = new ArrayList<>(properties.getBatchSize());
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    /**
+     * 실패하면 다음 flush 에서 다시 (그 사이 더 늦은 로그인이 있으면 그 값으로)
+     */
+    private void write(List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+        } catch (Exception e) {
+            log.error("last login 저장 실패: {}건", batch.size(), e);
+            for (Object[] row : batch) {
+                record((Long) row[1], ((Timestamp) row[0]).toLocalDateTime());
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+        if (!pending.isEmpty()) {
+            log.warn("종료 전에 저장하지 못한 last login: {}건", pending.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버 (graceful shutdown: DEFAULT_PHASE - 1024, 종료: - 2048) 보다 나중에 stop
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
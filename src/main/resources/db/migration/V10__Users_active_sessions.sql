@@ -0,0 +1,12 @@
+-- 사용자별 활성 세션 수 (로그인마다 COUNT(*) 하지 않도록 발급 / 폐기 때 증감)
+-- 만료로 조용히 끝난 세션은 제한을 넘었을 때 실제 목록으로 다시 맞춤
+ALTER TABLE users ADD COLUMN active_sessions INT NOT NULL DEFAULT 0;
+
+UPDATE users u
+SET active_sessions = s.active
+FROM (SELECT user_id, COUNT(*) AS active
+      FROM refresh_tokens
+      WHERE revoked_at IS NULL
+        AND expires_at > CURRENT_TIMESTAMP
+      GROUP BY user_id) s
+WHERE u.id = s.user_id;
@@ -0,0 +1,13 @@
+-- V9 에서 바뀐 제약의 이유를 스키마에 남김 (동작 변경 없음)
+-- partition 테이블의 UNIQUE / PK 는 partition key 를 포함해야 해서 selector 단독 unique 는 만들 수 없음
+-- expires_at 은 토큰 안에 MAC 과 함께 들어 있어 selector 와 항상 같이 전달됨 -> 모든 selector 조회 / 수정은 (selector, expires_at) 기준
+-- (RTokenRepository.findForRotation, RefreshTokenHistoryWriter) - 이 조합은 unique 라 조회 결과가 둘 이상일 수 없음
+COMMENT ON CONSTRAINT uk_refresh_tokens_selector ON refresh_tokens IS
+    'selector 조회 키. 항상 expires_at 과 같이 조회 (토큰 안에 들어 있음) - selector 단독 조회 금지';
+
+-- rotated_from -> refresh_tokens(id) FK 를 다시 만들지 않는 이유
+-- 교체 체인은 달을 넘어감 (새 토큰은 더 뒤 partition) - FK 가 있으면 오래된 partition 을 DETACH / DROP 할 때
+-- 뒤 partition 의 참조 때문에 실패 (또는 참조 행 전체 UPDATE) 해서 partition 단위 정리가 불가능
+-- 값은 감사 / 추적용이고 교체 CTE 가 같은 statement 에서 폐기한 행 id 만 넣음 - 대상 행은 먼저 drop 될 수 있음
+COMMENT ON COLUMN refresh_tokens.rotated_from IS
+    '교체 전 토큰 id (FK 없음 - 이전 partition 이 먼저 drop 될 수 있음)';
@@ -0,0 +1,11 @@
+-- 폐기 이유 (RevocationReason) - 밀려난 / 로그아웃한 세션의 토큰과 탈취된 (교체된) 토큰을 DB 만으로 구분
+-- 인스턴스별 메모리 캐시에 의존하지 않음
+ALTER TABLE refresh_tokens ADD COLUMN revoked_reason VARCHAR(20);
+
+-- 기존 폐기 행: 다음 토큰이 있으면 교체, 아니면 세션 종료로
+UPDATE refresh_tokens t
+SET revoked_reason = CASE
+                         WHEN EXISTS (SELECT 1 FROM refresh_tokens n WHERE n.rotated_from = t.id) THEN 'ROTATED'
+                         ELSE 'REVOKED'
+    END
+WHERE t.revoked_at IS NOT NULL;
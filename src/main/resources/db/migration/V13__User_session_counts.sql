@@ -0,0 +1,16 @@
+-- 사용자별 활성 세션 수를 users 에서 분리 (V10 의 users.active_sessions 대체)
+-- 로그인마다 users 를 UPDATE 하면 users 행 lock + update_users_updated_at 트리거로 updated_at 까지 바뀜
+-- 카운터 행 lock 만 잡아서 같은 사용자의 동시 로그인은 여기서만 순서대로 제한 확인
+-- 만료로 끝난 세션은 SessionCountReconciler (매일) 와 제한 초과 시 실제 목록으로 다시 맞춤
+CREATE TABLE user_session_counts (
+                                     user_id BIGINT PRIMARY KEY,
+                                     active INT NOT NULL DEFAULT 0,
+                                     CONSTRAINT fk_user_session_counts_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+INSERT INTO user_session_counts (user_id, active)
+SELECT id, active_sessions
+FROM users
+WHERE active_sessions > 0;
+
+ALTER TABLE users DROP COLUMN active_sessions;
@@ -0,0 +1,19 @@
+-- refresh token: "selector.verifier" 형식
+-- selector: 공개 조회 키 (unique index), verifier: HMAC-SHA256 해시만 저장 (상수 시간 비교)
+ALTER TABLE refresh_tokens ADD COLUMN selector VARCHAR(32);
+ALTER TABLE refresh_tokens ADD COLUMN verifier_hash VARCHAR(64);
+
+-- 기존 BCrypt 토큰은 조회 자체가 불가능했으므로 전부 폐기
+-- selector 는 base64url 에 없는 '~' 를 넣어 새 토큰과 겹치지 않게
+UPDATE refresh_tokens
+SET revoked_at    = COALESCE(revoked_at, CURRENT_TIMESTAMP),
+    selector      = 'legacy~' || id,
+    verifier_hash = ''
+WHERE selector IS NULL;
+
+ALTER TABLE refresh_tokens ALTER COLUMN selector SET NOT NULL;
+ALTER TABLE refresh_tokens ALTER COLUMN verifier_hash SET NOT NULL;
+ALTER TABLE refresh_tokens ADD CONSTRAINT uk_refresh_tokens_selector UNIQUE (selector);
+
+DROP INDEX IF EXISTS idx_refresh_tokens_token_hash;
+ALTER TABLE refresh_tokens DROP COLUMN token_hash;
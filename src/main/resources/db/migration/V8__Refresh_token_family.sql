@@ -0,0 +1,24 @@
+-- refresh token family: 한 번의 로그인에서 시작된 교체 체인 전체
+-- 재사용 감지 시 family_id 하나로 전체 폐기 (rotated_from 재귀 탐색 없이)
+ALTER TABLE refresh_tokens ADD COLUMN family_id VARCHAR(32);
+
+-- 기존 체인은 루트 토큰의 selector 를 family id 로 (마이그레이션 때 한 번만 재귀)
+WITH RECURSIVE chain AS (
+    SELECT id, selector AS family_id
+    FROM refresh_tokens
+    WHERE rotated_from IS NULL
+    UNION ALL
+    SELECT rt.id, chain.family_id
+    FROM refresh_tokens rt
+             JOIN chain ON rt.rotated_from = chain.id
+)
+UPDATE refresh_tokens rt
+SET family_id = chain.family_id
+FROM chain
+WHERE rt.id = chain.id;
+
+-- 루트가 지워진 체인 등 남은 행은 자기 자신이 family
+UPDATE refresh_tokens SET family_id = selector WHERE family_id IS NULL;
+
+ALTER TABLE refresh_tokens ALTER COLUMN family_id SET NOT NULL;
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens(family_id);
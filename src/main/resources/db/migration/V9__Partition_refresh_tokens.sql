@@ -0,0 +1,64 @@
+-- refresh_tokens 를 expires_at 월 단위 range partition 으로 재구성
+-- 만료된 데이터는 DELETE 대신 partition 을 detach -> drop (RefreshTokenPartitionManager)
+-- partition key 가 PK / UNIQUE 에 포함돼야 해서 (id, expires_at), (selector, expires_at)
+-- rotated_from 자기 참조 FK 는 partition 테이블에서 id 단독 unique 가 없어 제거 (컬럼은 유지)
+
+ALTER TABLE refresh_tokens RENAME TO refresh_tokens_old;
+ALTER TABLE refresh_tokens_old RENAME CONSTRAINT refresh_tokens_pkey TO refresh_tokens_old_pkey;
+ALTER TABLE refresh_tokens_old DROP CONSTRAINT fk_refresh_tokens_rotated_from;
+ALTER TABLE refresh_tokens_old DROP CONSTRAINT fk_refresh_tokens_user;
+ALTER TABLE refresh_tokens_old DROP CONSTRAINT uk_refresh_tokens_selector;
+DROP INDEX IF EXISTS idx_refresh_tokens_user_id;
+DROP INDEX IF EXISTS idx_refresh_tokens_expires_at;
+DROP INDEX IF EXISTS idx_refresh_tokens_revoked_at;
+DROP INDEX IF EXISTS idx_refresh_tokens_family_id;
+
+CREATE TABLE refresh_tokens (
+                                id BIGINT NOT NULL DEFAULT nextval('refresh_tokens_id_seq'),
+                                user_id BIGINT NOT NULL,
+                                selector VARCHAR(32) NOT NULL,
+                                verifier_hash VARCHAR(64) NOT NULL,
+                                family_id VARCHAR(32) NOT NULL,
+                                issued_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                expires_at TIMESTAMP NOT NULL,
+                                rotated_from BIGINT,
+                                revoked_at TIMESTAMP,
+                                user_agent VARCHAR(500),
+                                ip_address VARCHAR(45),
+                                created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                CONSTRAINT refresh_tokens_pkey PRIMARY KEY (id, expires_at),
+                                CONSTRAINT uk_refresh_tokens_selector UNIQUE (selector, expires_at),
+                                CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) PARTITION BY RANGE (expires_at);
+
+-- 기존 id 시퀀스 그대로 사용 (old 테이블 drop 시 같이 지워지지 않게)
+ALTER SEQUENCE refresh_tokens_id_seq OWNED BY refresh_tokens.id;
+
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens(user_id);
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_tokens_revoked_at ON refresh_tokens(revoked_at);
+
+-- 기존 데이터 범위 + 3개월 앞까지 partition 생성 (이후는 스케줄러가 미리 생성)
+DO $$
+DECLARE
+    month_start TIMESTAMP := date_trunc('month', LEAST(
+            COALESCE((SELECT MIN(expires_at) FROM refresh_tokens_old), CURRENT_TIMESTAMP), CURRENT_TIMESTAMP));
+    last_month  TIMESTAMP := date_trunc('month', GREATEST(
+            COALESCE((SELECT MAX(expires_at) FROM refresh_tokens_old), CURRENT_TIMESTAMP), CURRENT_TIMESTAMP))
+        + INTERVAL '3 months';
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF refresh_tokens FOR VALUES FROM (%L) TO (%L)',
+                       'refresh_tokens_' || to_char(month_start, 'YYYYMM'),
+                       month_start, month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO refresh_tokens (id, user_id, selector, verifier_hash, family_id, issued_at, expires_at,
+                            rotated_from, revoked_at, user_agent, ip_address, created_at)
+SELECT id, user_id, selector, verifier_hash, family_id, issued_at, expires_at,
+       rotated_from, revoked_at, user_agent, ip_address, created_at
+FROM refresh_tokens_old;
+
+DROP TABLE refresh_tokens_old;
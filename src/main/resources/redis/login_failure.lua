@@ -0,0 +1,15 @@
+-- 로그인 실패 1회 기록 + 잠금 (원자적 - 동시 실패에서도 횟수가 빠지지 않음)
+-- KEYS[1] = login:fail:{email}, KEYS[2] = login:lock:{email}
+-- ARGV: maxAttempts, failureWindowMillis, lockMillis
+-- 반환: {실패 횟수, 이번에 잠금이 걸렸으면 1}
+local attempts = redis.call('INCR', KEYS[1])
+if attempts == 1 then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+end
+if attempts >= tonumber(ARGV[1]) then
+    redis.call('SET', KEYS[2], '1', 'PX', ARGV[3])
+    -- 잠금이 풀리면 처음부터 다시 셈
+    redis.call('DEL', KEYS[1])
+    return {attempts, 1}
+end
+return {attempts, 0}
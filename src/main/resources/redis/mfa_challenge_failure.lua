@@ -0,0 +1,15 @@
+-- MFA challenge 틀린 코드 1회 기록, 한도에 닿으면 challenge 를 사용된 것으로 표시 (원자적)
+-- KEYS[1] = mfa:challenge:{jti}:fail, KEYS[2] = mfa:challenge:{jti} (같은 slot)
+-- ARGV: maxAttempts, challenge 남은 수명 millis
+-- 반환: {실패 횟수, 이번에 폐기됐으면 1}
+local attempts = redis.call('INCR', KEYS[1])
+if attempts == 1 then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+end
+if attempts >= tonumber(ARGV[1]) then
+    -- 이후 같은 challenge 는 맞는 코드여도 거부 (consume 의 SET NX 도 실패)
+    redis.call('SET', KEYS[2], '1', 'PX', ARGV[2])
+    redis.call('DEL', KEYS[1])
+    return {attempts, 1}
+end
+return {attempts, 0}
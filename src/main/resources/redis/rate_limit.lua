@@ -0,0 +1,34 @@
+-- token bucket 여러 개를 한 번에 (IP / subject / IP+subject)
+-- KEYS = bucket key 들
+-- ARGV = 각 key 마다 capacity, periodMillis (capacity 개가 period 동안 충전)
+-- 모든 bucket 에 토큰이 있을 때만 하나씩 차감 (하나라도 부족하면 아무것도 차감하지 않음)
+-- 반환: 0 = 허용, 그 외 = 다시 시도할 수 있을 때까지 ms
+-- 시각은 Redis 서버 기준 (노드 간 시계 차이 무시)
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local tokens = {}
+local wait = 0
+for i, key in ipairs(KEYS) do
+    local capacity = tonumber(ARGV[i * 2 - 1])
+    local period = tonumber(ARGV[i * 2])
+    local bucket = redis.call('HMGET', key, 'tk', 'ts')
+    local available = tonumber(bucket[1]) or capacity
+    local updated = tonumber(bucket[2]) or now
+    available = math.min(capacity, available + math.max(0, now - updated) * capacity / period)
+    if available < 1 then
+        wait = math.max(wait, math.ceil((1 - available) * period / capacity))
+    end
+    tokens[i] = available
+end
+
+if wait > 0 then
+    return wait
+end
+
+for i, key in ipairs(KEYS) do
+    redis.call('HSET', key, 'tk', tokens[i] - 1, 'ts', now)
+    -- 다 충전될 시간이 지나면 key 가 없어도 같은 상태
+    redis.call('PEXPIRE', key, ARGV[i * 2])
+end
+return 0
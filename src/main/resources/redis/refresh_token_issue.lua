@@ -0,0 +1,48 @@
+-- 새 refresh token 세션 저장 (새 family 시작) + 사용자별 세션 수 제한
+-- 사용자의 key 는 모두 같은 hash tag (rt:{userId}:) 이고 전부 KEYS 로 전달 - Redis Cluster 에서도 한 slot
+-- KEYS[1] = rt:{userId}:s:{selector}  HASH v(verifier HMAC) f(family), 교체되면 x=1 xt(교체 시각) - TTL 까지 재사용 감지용
+-- KEYS[2] = rt:{userId}:sessions      ZSET family -> 마지막 사용 시각 ms
+-- KEYS[3] = rt:{userId}:fam           HASH family -> 현재 토큰 JSON {s(selector), t(발급 ms), e(만료 ms), a(User-Agent), i(IP)}
+--                                     항목이 없으면 끝난 세션 (폐기 / 만료) - 그 family 토큰은 조용히 거부
+-- KEYS[4] = rt:{userId}:u             HASH 교체 때 쓰는 사용자 상태 사본 e(email) r(role bitmask) m(MFA 0/1) l(잠금 해제 ms, 0 = 없음)
+--                                     TTL = userStateTtlMillis, 없으면 교체 script 가 'load' 를 돌려줘서 users 에서 다시 읽음
+-- ARGV: selector, verifierHash, familyId, tokenTtlMillis, nowMillis, expiresAtMillis, maxSessions(0 = 제한 없음),
+--       userAgent, ipAddress, userKeyTtlMillis, email, roleMask, mfaEnabled, lockedUntilMillis, userStateTtlMillis
+-- 반환: 제한을 넘어서 밀려난 family 목록 (마지막 사용이 가장 오래된 순)
+local now = tonumber(ARGV[5])
+
+redis.call('HSET', KEYS[1], 'v', ARGV[2], 'f', ARGV[3])
+redis.call('PEXPIRE', KEYS[1], ARGV[4])
+
+-- 끝난 세션 정리 (사용자당 세션 수만큼만 돎)
+for _, family in ipairs(redis.call('ZRANGE', KEYS[2], 0, -1)) do
+    local entry = redis.call('HGET', KEYS[3], family)
+    if not entry or tonumber(cjson.decode(entry).e) <= now then
+        redis.call('HDEL', KEYS[3], family)
+        redis.call('ZREM', KEYS[2], family)
+    end
+end
+
+redis.call('HSET', KEYS[3], ARGV[3], cjson.encode({ s = ARGV[1], t = ARGV[5], e = ARGV[6], a = ARGV[8], i = ARGV[9] }))
+redis.call('ZADD', KEYS[2], now, ARGV[3])
+
+local evicted = {}
+local max = tonumber(ARGV[7])
+if max > 0 then
+    local over = redis.call('ZCARD', KEYS[2]) - max
+    if over > 0 then
+        for _, family in ipairs(redis.call('ZRANGE', KEYS[2], 0, over - 1)) do
+            redis.call('HDEL', KEYS[3], family)
+            redis.call('ZREM', KEYS[2], family)
+            evicted[#evicted + 1] = family
+        end
+    end
+end
+
+redis.call('PEXPIRE', KEYS[2], ARGV[10])
+redis.call('PEXPIRE', KEYS[3], ARGV[10])
+
+-- 로그인 직후라 users 에서 방금 읽은 상태
+redis.call('HSET', KEYS[4], 'e', ARGV[11], 'r', ARGV[12], 'm', ARGV[13], 'l', ARGV[14])
+redis.call('PEXPIRE', KEYS[4], ARGV[15])
+return evicted
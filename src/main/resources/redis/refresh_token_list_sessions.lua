@@ -0,0 +1,21 @@
+-- 사용자의 활성 세션 목록 (최근 사용 순), 읽기만 함 - 끝난 세션 정리는 발급 script 에서
+-- KEYS[1] = rt:{userId}:sessions, KEYS[2] = rt:{userId}:fam
+-- ARGV: nowMillis
+-- 반환: {familyId, issuedAtMillis, expiresAtMillis, userAgent, ipAddress, ...} 세션당 5개씩
+local now = tonumber(ARGV[1])
+local result = {}
+for _, family in ipairs(redis.call('ZREVRANGE', KEYS[1], 0, -1)) do
+    local entry = redis.call('HGET', KEYS[2], family)
+    if entry then
+        local session = cjson.decode(entry)
+        if tonumber(session.e) > now then
+            -- nil 이 있으면 배열이 잘리므로 빈 문자열로
+            result[#result + 1] = family
+            result[#result + 1] = session.t
+            result[#result + 1] = session.e
+            result[#result + 1] = session.a or ''
+            result[#result + 1] = session.i or ''
+        end
+    end
+end
+return result
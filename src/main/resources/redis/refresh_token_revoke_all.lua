@@ -0,0 +1,6 @@
+-- 사용자의 활성 refresh token 세션 전부 폐기 (family 항목이 없으면 그 family 토큰은 거부됨)
+-- KEYS[1] = rt:{userId}:sessions, KEYS[2] = rt:{userId}:fam, KEYS[3] = rt:{userId}:u (사용자 상태 사본, 다음 로그인에서 다시 씀)
+-- 반환: 폐기한 세션 수
+local count = redis.call('HLEN', KEYS[2])
+redis.call('DEL', KEYS[1], KEYS[2], KEYS[3])
+return count
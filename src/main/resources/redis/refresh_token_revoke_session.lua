@@ -0,0 +1,11 @@
+-- 세션(family) 하나 폐기 - 사용자별 key 라 다른 사용자의 family 는 여기 없음
+-- KEYS[1] = rt:{userId}:sessions, KEYS[2] = rt:{userId}:fam
+-- ARGV: familyId, nowMillis
+-- 반환: 1 폐기, 0 없음 (이미 끝난 세션 포함)
+local entry = redis.call('HGET', KEYS[2], ARGV[1])
+redis.call('HDEL', KEYS[2], ARGV[1])
+redis.call('ZREM', KEYS[1], ARGV[1])
+if not entry or tonumber(cjson.decode(entry).e) <= tonumber(ARGV[2]) then
+    return 0
+end
+return 1
@@ -0,0 +1,53 @@
+-- refresh token 교체 (조회 + 검증 + 기존 폐기 + 새로 저장을 원자적으로)
+-- key 구조는 refresh_token_issue.lua 참고, 모두 같은 hash tag (rt:{userId}:) - 사용하는 key 는 전부 KEYS 로 전달
+-- KEYS[1] = rt:{userId}:s:{oldSelector}, KEYS[2] = rt:{userId}:s:{newSelector},
+-- KEYS[3] = rt:{userId}:sessions, KEYS[4] = rt:{userId}:fam, KEYS[5] = rt:{userId}:u (사용자 상태 사본)
+-- ARGV: oldSelector, HMAC(제시된 verifier), newSelector, newVerifierHash, newTokenTtlMillis, nowMillis,
+--       newExpiresAtMillis, userAgent, ipAddress, gracePeriodMillis, userKeyTtlMillis
+-- 실패 시 빈 배열 (nil 은 client 에서 List 변환 불가) - 잠긴 계정도 빈 배열 (세션은 유지)
+-- 사용자 상태 사본이 없으면 (만료 / 상태 변경으로 삭제) 아무것도 바꾸지 않고 {'load'} - users 에서 읽어 채운 뒤 다시 호출
+-- 성공 시 {'ok', familyId, email, roleMask, mfaEnabled}
+-- 재사용 감지 시 {'reuse', familyId} - family 세션 종료
+-- 끝난 세션 (폐기 / 만료 / 밀려남) 의 토큰, 교체된 지 grace 기간 안의 토큰은 빈 배열 (재사용으로 보지 않음)
+-- 세션 절대 만료는 토큰 안에 있어서 (newExpiresAtMillis 가 넘지 않음) 여기서 따로 확인하지 않음
+-- 비교 대상은 서버 키로 만든 HMAC 이라 여기서의 일반 문자열 비교는 timing 정보를 주지 않음
+local session = redis.call('HMGET', KEYS[1], 'v', 'f', 'x', 'xt')
+if not session[1] or session[1] ~= ARGV[2] then
+    return {}
+end
+
+local now = tonumber(ARGV[6])
+local user = redis.call('HMGET', KEYS[5], 'e', 'r', 'm', 'l')
+if not user[1] then
+    return { 'load' }
+end
+if tonumber(user[4]) > now then
+    return {}
+end
+
+local family = session[2]
+local entry = redis.call('HGET', KEYS[4], family)
+if not entry then
+    return {}
+end
+if session[3] == '1' and session[4] and now - tonumber(session[4]) < tonumber(ARGV[10]) then
+    return {}
+end
+-- 이미 교체된 토큰(x=1) 이거나 family 의 현재 selector 가 아니면 탈취로 판단
+if session[3] == '1' or cjson.decode(entry).s ~= ARGV[1] then
+    redis.call('HDEL', KEYS[4], family)
+    redis.call('ZREM', KEYS[3], family)
+    return { 'reuse', family }
+end
+
+-- 기존 key 는 지우지 않고 TTL 까지 재사용 감지용 표시만 남김
+redis.call('HSET', KEYS[1], 'x', '1', 'xt', ARGV[6])
+redis.call('HSET', KEYS[2], 'v', ARGV[4], 'f', family)
+redis.call('PEXPIRE', KEYS[2], ARGV[5])
+redis.call('HSET', KEYS[4], family, cjson.encode({ s = ARGV[3], t = ARGV[6], e = ARGV[7], a = ARGV[8], i = ARGV[9] }))
+
+redis.call('ZADD', KEYS[3], now, family)
+redis.call('PEXPIRE', KEYS[3], ARGV[11])
+redis.call('PEXPIRE', KEYS[4], ARGV[11])
+
+return { 'ok', family, user[1], user[2], user[3] }
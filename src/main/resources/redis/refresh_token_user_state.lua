@@ -0,0 +1,6 @@
+-- refresh 교체에서 쓰는 사용자 상태 사본 저장 (교체 script 가 'load' 를 돌려준 뒤 users 에서 읽은 값)
+-- KEYS[1] = rt:{userId}:u  HASH e(email) r(role bitmask) m(MFA 0/1) l(잠금 해제 ms, 0 = 없음)
+-- ARGV: email, roleMask, mfaEnabled, lockedUntilMillis, userStateTtlMillis
+redis.call('HSET', KEYS[1], 'e', ARGV[1], 'r', ARGV[2], 'm', ARGV[3], 'l', ARGV[4])
+redis.call('PEXPIRE', KEYS[1], ARGV[5])
+return 1
@@ -0,0 +1,62 @@
+package com.lumonlab.childcaremfa.common.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThreadScratchTest {
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    @Test
+    void platform_thread_는_thread_별로_하나() {
+        ThreadScratch<Object> scratch = ThreadScratch.withInitial(this::create);
+
+        Object first = scratch.acquire();
+        scratch.release(first);
+        Object again = scratch.acquire();
+        Object otherThread = CompletableFuture.supplyAsync(scratch::acquire).join();
+
+        assertThat(again).isSameAs(first);
+        assertThat(otherThread).isNotSameAs(first);
+    }
+
+    @Test
+    void pool_은_반납된_객체를_다른_thread_에서도_재사용() {
+        ThreadScratch<Object> scratch = ThreadScratch.pooled(this::create, 2);
+
+        Object first = scratch.acquire();
+        scratch.release(first);
+
+        assertThat(CompletableFuture.supplyAsync(scratch::acquire).join()).isSameAs(first);
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void 동시에_빌리면_새로_만들고_pool_크기를_넘는_반납은_버림() {
+        ThreadScratch<Object> scratch = ThreadScratch.pooled(this::create, 2);
+
+        Object a = scratch.acquire();
+        Object b = scratch.acquire();
+        Object c = scratch.acquire();
+        assertThat(a).isNotSameAs(b).isNotSameAs(c);
+
+        scratch.release(a);
+        scratch.release(b);
+        scratch.release(c);
+
+        // 2개만 남아 있음 - 세 번째는 새로 만듦
+        scratch.acquire();
+        scratch.acquire();
+        scratch.acquire();
+        assertThat(created).hasValue(4);
+    }
+
+    private Object create() {
+        created.incrementAndGet();
+        return new Object();
+    }
+}
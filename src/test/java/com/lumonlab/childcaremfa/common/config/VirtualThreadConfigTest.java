@@ -0,0 +1,45 @@
+package com.lumonlab.childcaremfa.common.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import redis.clients.jedis.JedisPoolConfig;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadConfig.class);
+
+    @Test
+    void 설정이_없으면_적용_안_함() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(VirtualThreadConfig.class));
+    }
+
+    @Test
+    void Java_21_미만에서_켜면_시작_실패() {
+        assumeTrue(Runtime.version().feature() < 21);
+
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure().rootCause().isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("Java 21"));
+    }
+
+    @Test
+    void Jedis_pool_은_max_idle_만큼_미리_채움() {
+        RedisProperties.Pool pool = new RedisProperties.Pool();
+        pool.setMaxActive(64);
+        pool.setMaxIdle(16);
+
+        JedisPoolConfig config = VirtualThreadConfig.prefilledPoolConfig(pool);
+
+        assertThat(config.getMaxTotal()).isEqualTo(64);
+        assertThat(config.getMinIdle()).isEqualTo(16);
+        assertThat(config.getDurationBetweenEvictionRuns()).isEqualTo(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,59 @@
+package com.lumonlab.childcaremfa.common.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void virtual_threads_pinned_timer_등록() {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(20));
+        monitor.start();
+        monitor.stop();
+
+        Timer timer = meterRegistry.find("virtual_threads.pinned").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isZero();
+    }
+
+    @Test
+    void synchronized_안에서_잠들면_pinned_로_기록() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21);
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(20));
+        monitor.start();
+        try {
+            Object lock = new Object();
+            // Java 17 로 컴파일 - Thread.startVirtualThread 는 reflection 으로
+            Thread thread = (Thread) Thread.class.getMethod("startVirtualThread", Runnable.class)
+                    .invoke(null, (Runnable) () -> {
+                        synchronized (lock) {
+                            sleep(100);
+                        }
+                    });
+            thread.join();
+
+            await().atMost(10, TimeUnit.SECONDS).untilAsserted(() ->
+                    assertThat(meterRegistry.get("virtual_threads.pinned").timer().count()).isPositive());
+        } finally {
+            monitor.stop();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
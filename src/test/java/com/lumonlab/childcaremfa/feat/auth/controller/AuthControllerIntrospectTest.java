@@ -0,0 +1,119 @@
+package com.lumonlab.childcaremfa.feat.auth.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lumonlab.childcaremfa.common.exception.GlobalExceptionHandler;
+import com.lumonlab.childcaremfa.feat.auth.dto.IntrospectReq;
+import com.lumonlab.childcaremfa.feat.auth.service.AuthService;
+import com.lumonlab.childcaremfa.feat.auth.service.IntrospectionService;
+import com.lumonlab.childcaremfa.feat.auth.service.MfaChallengeService;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtAuthenticationCache;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtKeyRing;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtTokenProvider;
+import com.lumonlab.childcaremfa.feat.security.ratelimit.RateLimiter;
+import com.lumonlab.childcaremfa.feat.security.revocation.AccessTokenDenylist;
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/v1/auth/introspect - API key (401) 와 요청 검증 (400) 이 다른 endpoint 와 같은 경로로 처리되는지
+ */
+class AuthControllerIntrospectTest {
+
+    private static final String API_KEY = "internal-key";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private JwtTokenProvider jwtTokenProvider;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("test-secret-test-secret-test-secret-0123456789");
+        properties.setAccessTokenExpiration(900_000L);
+        properties.getIntrospection().setApiKeys(List.of(API_KEY));
+        jwtTokenProvider = new JwtTokenProvider(properties, new JwtKeyRing(properties));
+        IntrospectionService introspectionService = new IntrospectionService(jwtTokenProvider,
+                new JwtAuthenticationCache(properties, new SimpleMeterRegistry()),
+                mock(AccessTokenDenylist.class), properties);
+
+        AuthController controller = new AuthController(mock(AuthService.class), introspectionService,
+                mock(MfaChallengeService.class), mock(RateLimiter.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void 올바른_key_면_결과_반환() throws Exception {
+        String token = jwtTokenProvider.generateAccessToken(1L, "a@example.com", Set.of(Role.PARENT));
+
+        mockMvc.perform(introspect(List.of(token, "not-a-jwt")).header("X-Introspection-Key", API_KEY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value("ACTIVE"))
+                .andExpect(jsonPath("$.results[0].userId").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("INVALID"))
+                .andExpect(jsonPath("$.results[1].userId").doesNotExist());
+    }
+
+    @Test
+    void key_가_없으면_401() throws Exception {
+        mockMvc.perform(introspect(List.of("token")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void key_가_다르면_401() throws Exception {
+        mockMvc.perform(introspect(List.of("token")).header("X-Introspection-Key", "wrong-key"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void 최대_개수를_넘으면_요청_검증에서_400() throws Exception {
+        List<String> tokens = Collections.nCopies(IntrospectReq.MAX_TOKENS + 1, "token");
+
+        mockMvc.perform(introspect(tokens).header("X-Introspection-Key", API_KEY))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Failed"))
+                .andExpect(jsonPath("$.details", hasItem(startsWith("tokens:"))));
+    }
+
+    @Test
+    void 최대_개수까지는_허용() throws Exception {
+        List<String> tokens = Collections.nCopies(IntrospectReq.MAX_TOKENS, "token");
+
+        mockMvc.perform(introspect(tokens).header("X-Introspection-Key", API_KEY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(IntrospectReq.MAX_TOKENS));
+    }
+
+    @Test
+    void 빈_목록은_400() throws Exception {
+        mockMvc.perform(introspect(List.of()).header("X-Introspection-Key", API_KEY))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Failed"));
+    }
+
+    private static MockHttpServletRequestBuilder introspect(List<String> tokens) throws Exception {
+        return post("/api/v1/auth/introspect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(OBJECT_MAPPER.writeValueAsString(IntrospectReq.builder().tokens(tokens).build()));
+    }
+}
@@ -0,0 +1,155 @@
+package com.lumonlab.childcaremfa.feat.auth.service;
+
+import com.lumonlab.childcaremfa.feat.auth.dto.IntrospectResponse;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtAuthenticationCache;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtKeyRing;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtTokenProvider;
+import com.lumonlab.childcaremfa.feat.security.revocation.AccessTokenDenylist;
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IntrospectionServiceTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-0123456789";
+    private static final String API_KEY = "internal-key";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtAuthenticationCache authenticationCache;
+    private AccessTokenDenylist accessTokenDenylist;
+    private IntrospectionService introspectionService;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = properties();
+        jwtTokenProvider = new JwtTokenProvider(properties, new JwtKeyRing(properties));
+        authenticationCache = new JwtAuthenticationCache(properties, new SimpleMeterRegistry());
+        accessTokenDenylist = mock(AccessTokenDenylist.class);
+        introspectionService = new IntrospectionService(jwtTokenProvider, authenticationCache,
+                accessTokenDenylist, properties);
+    }
+
+    @Test
+    void 한_배치에_ACTIVE_EXPIRED_INVALID_REVOKED_를_요청_순서대로() {
+        String active = jwtTokenProvider.generateAccessToken(1L, "a@example.com", Set.of(Role.PARENT));
+        String revoked = jwtTokenProvider.generateAccessToken(2L, "b@example.com", Set.of(Role.ADMIN));
+        String activeJti = jwtTokenProvider.parseVerified(active).getJti();
+        String revokedJti = jwtTokenProvider.parseVerified(revoked).getJti();
+        when(accessTokenDenylist.findRevoked(any())).thenReturn(Set.of(revokedJti));
+
+        List<IntrospectResponse.Result> results = introspectionService
+                .introspect(List.of(active, expiredToken(), "not-a-jwt", revoked))
+                .getResults();
+
+        assertThat(results).extracting(IntrospectResponse.Result::getStatus).containsExactly(
+                IntrospectResponse.Status.ACTIVE,
+                IntrospectResponse.Status.EXPIRED,
+                IntrospectResponse.Status.INVALID,
+                IntrospectResponse.Status.REVOKED);
+        assertThat(results).extracting(IntrospectResponse.Result::isActive).containsExactly(true, false, false, false);
+        assertThat(results.get(0).getUserId()).isEqualTo(1L);
+        assertThat(results.get(0).getRoles()).containsExactly(Role.PARENT);
+        assertThat(results.get(0).getJti()).isEqualTo(activeJti);
+        // 폐기된 토큰은 사용자 정보를 돌려주지 않음
+        assertThat(results.get(3).getUserId()).isNull();
+        // 서명이 맞는 토큰만 모아서 한 번에
+        verify(accessTokenDenylist, times(1)).findRevoked(List.of(activeJti, revokedJti));
+    }
+
+    @Test
+    void 폐기된_토큰은_인증_캐시에서도_제거() {
+        String active = jwtTokenProvider.generateAccessToken(1L, "a@example.com", Set.of(Role.PARENT));
+        String revoked = jwtTokenProvider.generateAccessToken(2L, "b@example.com", Set.of(Role.PARENT));
+        when(accessTokenDenylist.findRevoked(any()))
+                .thenReturn(Set.of(jwtTokenProvider.parseVerified(revoked).getJti()));
+
+        introspectionService.introspect(List.of(active, revoked));
+
+        assertThat(authenticationCache.get(active)).isNotNull();
+        assertThat(authenticationCache.get(revoked)).isNull();
+    }
+
+    @Test
+    void 캐시_hit_이어도_폐기_여부는_확인() {
+        String token = jwtTokenProvider.generateAccessToken(1L, "a@example.com", Set.of(Role.PARENT));
+        introspectionService.introspect(List.of(token));
+        when(accessTokenDenylist.findRevoked(any()))
+                .thenReturn(Set.of(jwtTokenProvider.parseVerified(token).getJti()));
+
+        assertThat(introspectionService.introspect(List.of(token)).getResults().get(0).getStatus())
+                .isEqualTo(IntrospectResponse.Status.REVOKED);
+        verify(accessTokenDenylist, times(2)).findRevoked(any());
+    }
+
+    @Test
+    void 서명이_맞는_토큰이_없으면_폐기_조회_안_함() {
+        List<IntrospectResponse.Result> results = introspectionService
+                .introspect(List.of("not-a-jwt", expiredToken()))
+                .getResults();
+
+        assertThat(results).noneMatch(IntrospectResponse.Result::isActive);
+        verify(accessTokenDenylist, never()).findRevoked(any());
+    }
+
+    @Test
+    void API_key_가_없거나_다르면_거부() {
+        assertThatCode(() -> introspectionService.authenticateClient(API_KEY)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> introspectionService.authenticateClient(null))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> introspectionService.authenticateClient("wrong-key"))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> introspectionService.authenticateClient(""))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void API_key_를_설정하지_않으면_전부_거부() {
+        JwtProperties properties = properties();
+        properties.getIntrospection().setApiKeys(List.of(""));
+        IntrospectionService disabled = new IntrospectionService(jwtTokenProvider, authenticationCache,
+                accessTokenDenylist, properties);
+
+        assertThatThrownBy(() -> disabled.authenticateClient(""))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    private static JwtProperties properties() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setAccessTokenExpiration(900_000L);
+        properties.getCache().setEnabled(true);
+        properties.getIntrospection().setApiKeys(List.of(API_KEY));
+        return properties;
+    }
+
+    private static String expiredToken() {
+        return Jwts.builder()
+                .setSubject("3")
+                .setId("expired-jti")
+                .claim("r", Role.PARENT.getBit())
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
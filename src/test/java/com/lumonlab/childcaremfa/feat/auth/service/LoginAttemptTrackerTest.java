@@ -0,0 +1,66 @@
+package com.lumonlab.childcaremfa.feat.auth.service;
+
+import com.lumonlab.childcaremfa.common.config.LoginLockoutProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class LoginAttemptTrackerTest {
+
+    private StringRedisTemplate redisTemplate;
+    private LoginAttemptTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        tracker = new LoginAttemptTracker(redisTemplate, new LoginLockoutProperties());
+    }
+
+    @Test
+    void 잠금_전_실패는_횟수만() {
+        when(redisTemplate.execute(any(RedisScript.class), any(List.class), any(Object[].class)))
+                .thenReturn(List.of(3L, 0L));
+
+        LoginAttemptTracker.Failure failure = tracker.recordFailure("User@Example.com");
+
+        assertThat(failure.attempts()).isEqualTo(3);
+        assertThat(failure.locked()).isFalse();
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("login:fail:user@example.com", "login:lock:user@example.com")),
+                eq("5"), eq("900000"), eq("900000"));
+    }
+
+    @Test
+    void 잠금이_걸리면_잠금_시각() {
+        when(redisTemplate.execute(any(RedisScript.class), any(List.class), any(Object[].class)))
+                .thenReturn(List.of(5L, 1L));
+
+        LoginAttemptTracker.Failure failure = tracker.recordFailure("user@example.com");
+
+        assertThat(failure.locked()).isTrue();
+        assertThat(failure.lockedUntil()).isAfter(LocalDateTime.now().plusMinutes(14));
+    }
+
+    @Test
+    void Redis_장애면_잠금_확인_건너뜀() {
+        when(redisTemplate.hasKey(anyString())).thenThrow(new IllegalStateException("redis down"));
+        when(redisTemplate.execute(any(RedisScript.class), any(List.class), any(Object[].class)))
+                .thenThrow(new IllegalStateException("redis down"));
+
+        assertThat(tracker.isLocked("user@example.com")).isFalse();
+        assertThat(tracker.recordFailure("user@example.com")).isNull();
+    }
+}
@@ -0,0 +1,112 @@
+package com.lumonlab.childcaremfa.feat.auth.service;
+
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import com.lumonlab.childcaremfa.support.EmbeddedRedis;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class MfaChallengeServiceTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-0123456789";
+
+    private ValueOperations<String, String> valueOperations;
+    private JwtProperties jwtProperties;
+    private MfaChallengeService service;
+
+    @BeforeEach
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.setIssuer("test");
+        service = new MfaChallengeService(redisTemplate, jwtProperties);
+    }
+
+    @Test
+    void 발급한_challenge_확인() {
+        MfaChallengeService.Challenge challenge = service.parse(service.issue(42L));
+
+        assertThat(challenge.userId()).isEqualTo(42L);
+        assertThat(challenge.jti()).isNotBlank();
+    }
+
+    @Test
+    void 변조_또는_다른_키면_거부() {
+        String token = service.issue(42L);
+        assertThatThrownBy(() -> service.parse(token.substring(0, token.length() - 2) + "xx"))
+                .isInstanceOf(RuntimeException.class);
+
+        // jwt.secret 그대로 (access token 키) 서명한 토큰은 challenge 로 쓸 수 없음
+        String foreign = Jwts.builder()
+                .setSubject("42")
+                .claim("typ", "mfa")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        assertThatThrownBy(() -> service.parse(foreign)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void 만료되면_거부() {
+        jwtProperties.setMfaChallengeTtl(Duration.ofSeconds(-1));
+        String expired = new MfaChallengeService(mock(StringRedisTemplate.class), jwtProperties).issue(42L);
+
+        assertThatThrownBy(() -> service.parse(expired)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void 한_번만_사용() {
+        MfaChallengeService.Challenge challenge = service.parse(service.issue(42L));
+        when(valueOperations.setIfAbsent(eq("mfa:challenge:{" + challenge.jti() + "}"), anyString(), any(Duration.class)))
+                .thenReturn(true, false);
+
+        service.consume(challenge);
+        assertThatThrownBy(() -> service.consume(challenge))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("이미 사용된");
+    }
+
+    @Test
+    void 틀린_코드가_한도에_닿으면_challenge_폐기() {
+        EmbeddedRedis.flush();
+        jwtProperties.setMfaChallengeMaxAttempts(3);
+        MfaChallengeService redisBacked = new MfaChallengeService(EmbeddedRedis.template(), jwtProperties);
+        MfaChallengeService.Challenge challenge = redisBacked.parse(redisBacked.issue(42L));
+        MfaChallengeService.Challenge other = redisBacked.parse(redisBacked.issue(42L));
+
+        assertThat(redisBacked.recordFailure(challenge)).isFalse();
+        assertThat(redisBacked.recordFailure(challenge)).isFalse();
+        redisBacked.ensureUsable(challenge);
+        assertThat(redisBacked.recordFailure(challenge)).isTrue();
+
+        // 폐기 뒤에는 맞는 코드여도 확인 전에 거부, 발급도 안 됨
+        assertThatThrownBy(() -> redisBacked.ensureUsable(challenge))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("이미 사용된");
+        assertThatThrownBy(() -> redisBacked.consume(challenge)).isInstanceOf(RuntimeException.class);
+        // 다른 challenge 는 그대로
+        redisBacked.ensureUsable(other);
+        redisBacked.consume(other);
+    }
+}
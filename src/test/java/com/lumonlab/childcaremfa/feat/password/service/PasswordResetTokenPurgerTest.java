@@ -0,0 +1,108 @@
+package com.lumonlab.childcaremfa.feat.password.service;
+
+import com.lumonlab.childcaremfa.common.config.RetentionProperties;
+import com.lumonlab.childcaremfa.common.metrics.RetentionMetrics;
+import com.lumonlab.childcaremfa.support.EmbeddedPostgresDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * keyset 배치 삭제를 실제 PostgreSQL 에서 (SKIP LOCKED, 시간 초과 후 이어서)
+ */
+class PasswordResetTokenPurgerTest {
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private RetentionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordResetTokenPurger purger;
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = EmbeddedPostgresDatabase.newDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        properties = new RetentionProperties();
+        properties.getPasswordResetTokens().setBatchSize(3);
+        properties.getPasswordResetTokens().setPauseBetweenBatches(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        purger = new PasswordResetTokenPurger(jdbcTemplate, properties, new RetentionMetrics(meterRegistry));
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (email) VALUES ('user@example.com') RETURNING id", Long.class);
+    }
+
+    @Test
+    void 만료되거나_사용된_토큰만_배치로_삭제() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            insert("expired-" + i, now.minusHours(1), null);
+            insert("used-" + i, now.plusHours(1), now.minusMinutes(5));
+            insert("valid-" + i, now.plusHours(1), null);
+        }
+
+        purger.purge();
+
+        assertThat(jdbcTemplate.queryForList("SELECT token FROM password_reset_tokens ORDER BY id", String.class))
+                .containsExactly("valid-0", "valid-1", "valid-2", "valid-3", "valid-4");
+        assertThat(meterRegistry.counter("retention.rows", "job", "password_reset_tokens").count()).isEqualTo(10);
+    }
+
+    @Test
+    void 다른_트랜잭션이_잡은_행은_건너뜀() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        long locked = insert("locked", now.minusHours(1), null);
+        insert("expired", now.minusHours(1), null);
+
+        try (Connection holder = dataSource.getConnection()) {
+            holder.setAutoCommit(false);
+            try (Statement statement = holder.createStatement()) {
+                statement.execute("SELECT id FROM password_reset_tokens WHERE id = " + locked + " FOR UPDATE");
+            }
+
+            purger.purge();
+
+            holder.rollback();
+        }
+        assertThat(jdbcTemplate.queryForList("SELECT token FROM password_reset_tokens", String.class))
+                .containsExactly("locked");
+    }
+
+    @Test
+    void 최대_실행_시간이_지나면_멈추고_다음_실행에서_이어서() {
+        properties.getPasswordResetTokens().setMaxDuration(Duration.ZERO);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 4; i++) {
+            insert("expired-" + i, now.minusHours(1), null);
+        }
+
+        purger.purge();
+        assertThat(count()).isEqualTo(4);
+
+        properties.getPasswordResetTokens().setMaxDuration(Duration.ofMinutes(1));
+        purger.purge();
+        assertThat(count()).isZero();
+    }
+
+    private long insert(String token, LocalDateTime expiresAt, LocalDateTime usedAt) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO password_reset_tokens (user_id, token, expires_at, used_at)
+                VALUES (?, ?, ?, ?) RETURNING id
+                """, Long.class, userId, token, Timestamp.valueOf(expiresAt),
+                usedAt != null ? Timestamp.valueOf(usedAt) : null);
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM password_reset_tokens", Long.class);
+    }
+}
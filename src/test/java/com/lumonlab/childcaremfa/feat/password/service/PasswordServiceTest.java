@@ -0,0 +1,98 @@
+package com.lumonlab.childcaremfa.feat.password.service;
+
+import com.lumonlab.childcaremfa.feat.audit.service.AuditService;
+import com.lumonlab.childcaremfa.feat.auth.service.LoginAttemptTracker;
+import com.lumonlab.childcaremfa.feat.password.dto.PasswordChangeReq;
+import com.lumonlab.childcaremfa.feat.password.dto.PasswordResetReq;
+import com.lumonlab.childcaremfa.feat.password.repo.PasswordResetRepository;
+import com.lumonlab.childcaremfa.feat.security.password.PasswordHasher;
+import com.lumonlab.childcaremfa.feat.token.entity.PasswordResetToken;
+import com.lumonlab.childcaremfa.feat.token.service.TokenService;
+import com.lumonlab.childcaremfa.feat.user.entity.User;
+import com.lumonlab.childcaremfa.feat.user.repo.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 비밀번호가 바뀌면 기존 세션 (refresh token) 은 모두 폐기
+ */
+class PasswordServiceTest {
+
+    private static final Long USER_ID = 42L;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    private UserRepository userRepository;
+    private PasswordResetRepository tokenRepository;
+    private PasswordHasher passwordHasher;
+    private TokenService tokenService;
+    private PasswordService passwordService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        tokenRepository = mock(PasswordResetRepository.class);
+        passwordHasher = mock(PasswordHasher.class);
+        tokenService = mock(TokenService.class);
+        passwordService = new PasswordService(userRepository, tokenRepository, passwordHasher,
+                mock(EmailService.class), mock(AuditService.class), mock(LoginAttemptTracker.class), tokenService,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        user = User.builder().id(USER_ID).email("user@example.com").passwordHash("old-hash").build();
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(passwordHasher.encode("new-Passw0rd")).thenReturn("new-hash");
+    }
+
+    @Test
+    void 비밀번호를_변경하면_모든_세션_폐기() {
+        when(passwordHasher.matches("old-Passw0rd", "old-hash")).thenReturn(true);
+        when(userRepository.updatePasswordHash(USER_ID, "old-hash", "new-hash")).thenReturn(1);
+
+        passwordService.changePassword(USER_ID, new PasswordChangeReq("old-Passw0rd", "new-Passw0rd"), request);
+
+        verify(tokenService).revokeAllUserTokens(USER_ID);
+    }
+
+    @Test
+    void 현재_비밀번호가_틀리면_세션은_그대로() {
+        when(passwordHasher.matches("wrong-Passw0rd", "old-hash")).thenReturn(false);
+
+        assertThatThrownBy(() -> passwordService.changePassword(USER_ID,
+                new PasswordChangeReq("wrong-Passw0rd", "new-Passw0rd"), request))
+                .isInstanceOf(RuntimeException.class);
+
+        verify(tokenService, never()).revokeAllUserTokens(anyLong());
+    }
+
+    @Test
+    void 비밀번호를_재설정하면_모든_세션_폐기() {
+        PasswordResetToken resetToken = PasswordResetToken.builder()
+                .id(7L)
+                .user(user)
+                .token("reset-token")
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+        when(tokenRepository.findByTokenWithUser("reset-token")).thenReturn(Optional.of(resetToken));
+        when(tokenRepository.markUsed(any(), any())).thenReturn(1);
+
+        passwordService.resetPassword(new PasswordResetReq("reset-token", "new-Passw0rd"), request);
+
+        verify(userRepository).resetPassword(USER_ID, "new-hash");
+        verify(tokenService).revokeAllUserTokens(USER_ID);
+    }
+}
@@ -0,0 +1,101 @@
+package com.lumonlab.childcaremfa.feat.security.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtKeyRing;
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /.well-known/jwks.json 형식 (RFC 7517 / 7518) - 다른 서비스의 JwksKeyCache 가 그대로 읽는 모양
+ */
+class JwksControllerTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    void 모든_공개_키를_kid_와_좌표로_제공() throws Exception {
+        KeyPair retiring = generateKeyPair();
+        KeyPair active = generateKeyPair();
+        JwtProperties properties = new JwtProperties();
+        properties.setSigningAlgorithm("ES256");
+        properties.setJwksMaxAge(Duration.ofMinutes(5));
+        properties.setKeys(List.of(
+                key("old", JwtProperties.KeyStatus.RETIRING, retiring),
+                key("current", JwtProperties.KeyStatus.ACTIVE, active)));
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new JwksController(keyRing, properties)).build();
+
+        String body = mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode keys = OBJECT_MAPPER.readTree(body).get("keys");
+        assertThat(keys).hasSize(2);
+        assertThat(keys.get(0).get("kid").asText()).isEqualTo("old");
+        assertThat(keys.get(1).get("kid").asText()).isEqualTo("current");
+        for (JsonNode jwk : keys) {
+            assertThat(jwk.get("kty").asText()).isEqualTo("EC");
+            assertThat(jwk.get("crv").asText()).isEqualTo("P-256");
+            assertThat(jwk.get("use").asText()).isEqualTo("sig");
+            assertThat(jwk.get("alg").asText()).isEqualTo("ES256");
+            // private 값 (d) 은 절대 나가지 않음
+            assertThat(jwk.has("d")).isFalse();
+            // 좌표는 32 byte 고정 base64url (padding 없음)
+            assertThat(jwk.get("x").asText()).hasSize(43).matches("[A-Za-z0-9_-]+");
+            assertThat(jwk.get("y").asText()).hasSize(43).matches("[A-Za-z0-9_-]+");
+            assertThat(toPublicKey(jwk)).isEqualTo(keyRing.getPublicKey(jwk.get("kid").asText()));
+        }
+    }
+
+    private static PublicKey toPublicKey(JsonNode jwk) throws Exception {
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        ECPoint point = new ECPoint(coordinate(jwk.get("x").asText()), coordinate(jwk.get("y").asText()));
+        return KeyFactory.getInstance("EC")
+                .generatePublic(new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+    }
+
+    private static BigInteger coordinate(String value) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(value));
+    }
+
+    private static JwtProperties.SigningKey key(String kid, JwtProperties.KeyStatus status, KeyPair keyPair) {
+        JwtProperties.SigningKey key = new JwtProperties.SigningKey();
+        key.setKid(kid);
+        key.setStatus(status);
+        key.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        if (status == JwtProperties.KeyStatus.ACTIVE) {
+            key.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        }
+        return key;
+    }
+
+    private static KeyPair generateKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+}
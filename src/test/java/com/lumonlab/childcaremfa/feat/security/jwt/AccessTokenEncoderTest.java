@@ -0,0 +1,143 @@
+package com.lumonlab.childcaremfa.feat.security.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+import com.lumonlab.childcaremfa.verifier.TokenVerifier;
+import com.lumonlab.childcaremfa.verifier.VerifiedClaims;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 직접 만든 JSON / 서명이 jjwt 검증 (TokenVerifier) 을 그대로 통과하는지
+ */
+class AccessTokenEncoderTest {
+
+    private static final SecretKey HMAC_KEY =
+            Keys.hmacShaKeyFor("test-secret-test-secret-test-secret-0123456789".getBytes(StandardCharsets.UTF_8));
+    private static final String ISSUER = "lumanlab-childcare";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final long now = System.currentTimeMillis() / 1000;
+
+    @ParameterizedTest
+    @EnumSource(JwtProperties.TokenProfile.class)
+    void HS256_왕복(JwtProperties.TokenProfile profile) {
+        AccessTokenEncoder encoder = AccessTokenEncoder.hs256(HMAC_KEY, ISSUER, profile);
+        TokenVerifier verifier = TokenVerifier.builder().hmacSecret(HMAC_KEY.getEncoded()).issuer(ISSUER).build();
+
+        String token = encoder.encode(42L, "user@example.com", EnumSet.of(Role.PARENT, Role.MASTER), now, now + 900);
+
+        assertClaims(verifier.verify(token), profile, "user@example.com");
+    }
+
+    @ParameterizedTest
+    @EnumSource(JwtProperties.TokenProfile.class)
+    void ES256_왕복(JwtProperties.TokenProfile profile) throws Exception {
+        KeyPair keyPair = ecKeyPair();
+        AccessTokenEncoder encoder = AccessTokenEncoder.es256("key-\"1\"", keyPair.getPrivate(), ISSUER, profile);
+        TokenVerifier verifier = TokenVerifier.builder()
+                .keySource(kid -> "key-\"1\"".equals(kid) ? keyPair.getPublic() : null)
+                .issuer(ISSUER)
+                .build();
+
+        String token = encoder.encode(42L, "user@example.com", EnumSet.of(Role.PARENT, Role.MASTER), now, now + 900);
+
+        assertClaims(verifier.verify(token), profile, "user@example.com");
+        // 같은 스레드에서 Signature 재사용 - 두 번째 서명도 검증 통과
+        assertThat(verifier.verify(encoder.encode(42L, null, Set.of(), now, now + 900)).userId()).isEqualTo(42L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "quote\"user@example.com",
+            "back\\slash@example.com",
+            "tab\tnew\nline@example.com",
+            "한글@example.com",
+            "emoji😀@example.com",
+            "ctrl\u0001\u007F@example.com",
+            "</script>@example.com"
+    })
+    void email_JSON_escape(String email) throws Exception {
+        AccessTokenEncoder encoder = AccessTokenEncoder.hs256(HMAC_KEY, "iss \"quoted\" \\", JwtProperties.TokenProfile.LEGACY);
+        TokenVerifier verifier = TokenVerifier.builder().hmacSecret(HMAC_KEY.getEncoded()).build();
+
+        String token = encoder.encode(42L, email, EnumSet.of(Role.ADMIN), now, now + 900);
+
+        VerifiedClaims claims = verifier.verify(token);
+        assertThat(claims.email()).isEqualTo(email);
+        assertThat(claims.issuer()).isEqualTo("iss \"quoted\" \\");
+        assertThat(claims.roleNames()).containsExactly("ADMIN");
+
+        // payload 는 ASCII 만 (base64url 전 JSON 자체도 유효)
+        byte[] payload = Base64.getUrlDecoder().decode(token.split("\\.")[1]);
+        for (byte b : payload) {
+            assertThat(b).isBetween((byte) 0x20, (byte) 0x7E);
+        }
+        JsonNode json = OBJECT_MAPPER.readTree(payload);
+        assertThat(json.get("email").asText()).isEqualTo(email);
+    }
+
+    @Test
+    void jjwt_발급과_같은_claim_순서() throws Exception {
+        AccessTokenEncoder encoder = AccessTokenEncoder.hs256(HMAC_KEY, ISSUER, JwtProperties.TokenProfile.COMPACT);
+
+        String token = encoder.encode(42L, null, EnumSet.of(Role.PARENT), now, now + 900);
+
+        String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.US_ASCII);
+        JsonNode payload = OBJECT_MAPPER.readTree(Base64.getUrlDecoder().decode(token.split("\\.")[1]));
+        assertThat(header).isEqualTo("{\"alg\":\"HS256\"}");
+        assertThat(payload.fieldNames()).toIterable().containsExactly("sub", "iss", "iat", "exp", "jti", "r");
+        assertThat(payload.get("sub").asText()).isEqualTo("42");
+        assertThat(payload.get("jti").asText()).hasSize(22);
+    }
+
+    @Test
+    void 입력이_잘못되면_IllegalArgumentException() {
+        AccessTokenEncoder encoder = AccessTokenEncoder.hs256(HMAC_KEY, ISSUER, JwtProperties.TokenProfile.COMPACT);
+
+        assertThatThrownBy(() -> encoder.encode(null, "user@example.com", Set.of(Role.PARENT), now, now + 900))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("userId");
+        assertThatThrownBy(() -> encoder.encode(42L, "user@example.com", null, now, now + 900))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("roles");
+        assertThatThrownBy(() -> encoder.encode(42L, "user@example.com", Set.of(Role.PARENT), now, now))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertClaims(VerifiedClaims claims, JwtProperties.TokenProfile profile, String email) {
+        assertThat(claims.userId()).isEqualTo(42L);
+        assertThat(claims.issuer()).isEqualTo(ISSUER);
+        assertThat(claims.jti()).isNotBlank();
+        if (profile == JwtProperties.TokenProfile.COMPACT) {
+            assertThat(claims.roleMask()).isEqualTo(Role.PARENT.getBit() | Role.MASTER.getBit());
+            assertThat(claims.email()).isNull();
+        } else {
+            assertThat(claims.roleMask()).isNull();
+            assertThat(claims.roleNames()).containsExactly("PARENT", "MASTER");
+            assertThat(claims.email()).isEqualTo(email);
+        }
+    }
+
+    private static KeyPair ecKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+}
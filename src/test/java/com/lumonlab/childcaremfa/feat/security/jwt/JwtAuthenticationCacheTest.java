@@ -0,0 +1,135 @@
+package com.lumonlab.childcaremfa.feat.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+import com.lumonlab.childcaremfa.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    // Caffeine 시간도 같은 시계에서 - 토큰 exp 와 entry 만료를 함께 움직임
+    private final Ticker ticker = () -> TimeUnit.MILLISECONDS.toNanos(clock.millis());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JwtAuthenticationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = newCache(100, meterRegistry);
+    }
+
+    @Test
+    void 같은_토큰은_hit() {
+        cache.put("token-a", authentication(1L, "jti-a", Duration.ofMinutes(15)));
+
+        assertThat(cache.get("token-a")).isNotNull();
+        assertThat(cache.get("Bearer token-a", "Bearer ".length())).isNotNull();
+        assertThat(cache.get("token-b")).isNull();
+    }
+
+    @Test
+    void entry_는_토큰_exp_에_만료() {
+        cache.put("token-a", authentication(1L, "jti-a", Duration.ofMinutes(15)));
+
+        clock.advance(Duration.ofMinutes(15).minusSeconds(1));
+        assertThat(cache.get("token-a")).isNotNull();
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(cache.get("token-a")).isNull();
+    }
+
+    @Test
+    void 이미_만료된_토큰은_저장하지_않음() {
+        cache.put("token-a", authentication(1L, "jti-a", Duration.ofSeconds(-1)));
+
+        assertThat(cache.get("token-a")).isNull();
+    }
+
+    @Test
+    void maximumSize_를_넘으면_제거() {
+        // 같은 이름의 메트릭이 이미 setUp 캐시에 묶여 있으므로 새 registry
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtAuthenticationCache cache = newCache(10, meterRegistry);
+        for (int i = 0; i < 50; i++) {
+            cache.put("token-" + i, authentication(1L, "jti-" + i, Duration.ofMinutes(15)));
+        }
+        cache.cleanUp();
+
+        assertThat(meterRegistry.get("cache.size").tag("cache", "jwt.authentication").gauge().value())
+                .isLessThanOrEqualTo(10);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "jwt.authentication").functionCounter().count())
+                .isGreaterThanOrEqualTo(40);
+    }
+
+    @Test
+    void hit_miss_메트릭() {
+        cache.put("token-a", authentication(1L, "jti-a", Duration.ofMinutes(15)));
+
+        cache.get("token-a");
+        cache.get("token-a");
+        cache.get("token-b");
+
+        assertThat(gets("hit")).isEqualTo(2);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void 폐기된_토큰과_로그아웃한_유저의_entry_제거() {
+        cache.put("token-a", authentication(1L, "jti-a", Duration.ofMinutes(15)));
+        cache.put("token-b", authentication(1L, "jti-b", Duration.ofMinutes(15)));
+        cache.put("token-c", authentication(2L, "jti-c", Duration.ofMinutes(15)));
+
+        cache.evict("Bearer token-a", "Bearer ".length());
+        assertThat(cache.get("token-a")).isNull();
+        assertThat(cache.get("token-b")).isNotNull();
+
+        cache.evictUser(1L);
+        assertThat(cache.get("token-b")).isNull();
+        assertThat(cache.get("token-c")).isNotNull();
+    }
+
+    @Test
+    void 꺼져_있으면_저장_안_함() {
+        JwtProperties properties = new JwtProperties();
+        properties.getCache().setEnabled(false);
+        JwtAuthenticationCache disabled = new JwtAuthenticationCache(properties, meterRegistry, ticker, clock);
+
+        disabled.put("token-a", authentication(1L, "jti-a", Duration.ofMinutes(15)));
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.get("token-a")).isNull();
+    }
+
+    private JwtAuthenticationCache newCache(long maximumSize, SimpleMeterRegistry meterRegistry) {
+        JwtProperties properties = new JwtProperties();
+        properties.getCache().setEnabled(true);
+        properties.getCache().setMaximumSize(maximumSize);
+        return new JwtAuthenticationCache(properties, meterRegistry, ticker, clock);
+    }
+
+    private UsernamePasswordAuthenticationToken authentication(Long userId, String jti, Duration remaining) {
+        return JwtAuthenticationFilter.toAuthentication(JwtPrincipal.builder()
+                .userId(userId)
+                .roles(Set.of(Role.PARENT))
+                .roleMask(Role.PARENT.getBit())
+                .expiresAt(clock.instant().plus(remaining))
+                .jti(jti)
+                .build());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt.authentication").tag("result", result)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,188 @@
+package com.lumonlab.childcaremfa.feat.security.jwt;
+
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+import com.lumonlab.childcaremfa.verifier.TokenVerificationException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ES256 키 교체 - kid 선택, RETIRING 키로 서명된 토큰 검증, ACTIVE 키가 없을 때 임시 키
+ */
+class JwtKeyRingTest {
+
+    private static final KeyPair OLD_KEY = generateKeyPair();
+    private static final KeyPair CURRENT_KEY = generateKeyPair();
+    private static final KeyPair NEXT_KEY = generateKeyPair();
+
+    @Test
+    void ACTIVE_키의_kid_로_서명() {
+        JwtProperties properties = es256(
+                key("old", JwtProperties.KeyStatus.RETIRING, OLD_KEY),
+                key("current", JwtProperties.KeyStatus.ACTIVE, CURRENT_KEY),
+                key("next", JwtProperties.KeyStatus.NEXT, NEXT_KEY));
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+
+        String token = new JwtTokenProvider(properties, keyRing).generateAccessToken(42L, "user@example.com",
+                Set.of(Role.PARENT));
+
+        assertThat(keyRing.isAsymmetric()).isTrue();
+        assertThat(keyRing.getActiveKid()).isEqualTo("current");
+        assertThat(keyRing.getActivePrivateKey()).isEqualTo(CURRENT_KEY.getPrivate());
+        assertThat(headerOf(token)).contains("\"kid\":\"current\"").contains("\"alg\":\"ES256\"");
+        // NEXT / RETIRING 키도 검증용으로는 조회됨
+        assertThat(keyRing.getPublicKey("old")).isEqualTo(OLD_KEY.getPublic());
+        assertThat(keyRing.getPublicKey("next")).isEqualTo(NEXT_KEY.getPublic());
+        assertThat(keyRing.getPublicKey("unknown")).isNull();
+    }
+
+    @Test
+    void RETIRING_키로_서명된_토큰도_만료_전까지_검증() {
+        JwtProperties properties = es256(
+                key("old", JwtProperties.KeyStatus.RETIRING, OLD_KEY),
+                key("current", JwtProperties.KeyStatus.ACTIVE, CURRENT_KEY));
+        JwtTokenProvider provider = new JwtTokenProvider(properties, new JwtKeyRing(properties));
+
+        JwtPrincipal principal = provider.parseVerified(signedWith("old", OLD_KEY));
+
+        assertThat(principal.getUserId()).isEqualTo(42L);
+        assertThat(principal.getRoles()).containsExactly(Role.PARENT);
+    }
+
+    @Test
+    void 제거된_kid_나_다른_키로_서명된_토큰은_거부() {
+        JwtProperties properties = es256(key("current", JwtProperties.KeyStatus.ACTIVE, CURRENT_KEY));
+        JwtTokenProvider provider = new JwtTokenProvider(properties, new JwtKeyRing(properties));
+
+        assertThatThrownBy(() -> provider.parseVerified(signedWith("old", OLD_KEY)))
+                .isInstanceOf(TokenVerificationException.class);
+        // kid 는 맞지만 다른 private key
+        assertThatThrownBy(() -> provider.parseVerified(signedWith("current", OLD_KEY)))
+                .isInstanceOf(TokenVerificationException.class);
+    }
+
+    @Test
+    void ACTIVE_키가_없으면_임시_키로_서명하고_JWKS_에도_공개() {
+        JwtProperties properties = es256(key("next", JwtProperties.KeyStatus.NEXT, NEXT_KEY));
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+        JwtTokenProvider provider = new JwtTokenProvider(properties, keyRing);
+
+        String token = provider.generateAccessToken(42L, "user@example.com", Set.of(Role.PARENT));
+
+        assertThat(keyRing.getActiveKid()).startsWith("ephemeral-");
+        assertThat(keyRing.getPublicKey(keyRing.getActiveKid())).isNotNull();
+        assertThat(provider.parseVerified(token).getUserId()).isEqualTo(42L);
+        assertThat(kids(keyRing)).containsExactly("next", keyRing.getActiveKid());
+    }
+
+    @Test
+    void 재시작하면_임시_키가_바뀌어_이전_토큰은_거부() {
+        JwtProperties properties = es256();
+        String token = new JwtTokenProvider(properties, new JwtKeyRing(properties))
+                .generateAccessToken(42L, "user@example.com", Set.of(Role.PARENT));
+
+        JwtTokenProvider restarted = new JwtTokenProvider(properties, new JwtKeyRing(properties));
+
+        assertThatThrownBy(() -> restarted.parseVerified(token)).isInstanceOf(TokenVerificationException.class);
+    }
+
+    @Test
+    void HS256_에서는_키를_만들지_않음() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("test-secret-test-secret-test-secret-0123456789");
+
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+
+        assertThat(keyRing.isAsymmetric()).isFalse();
+        assertThat(keyRing.getActiveKid()).isNull();
+        assertThat(kids(keyRing)).isEmpty();
+    }
+
+    @Test
+    void ACTIVE_키가_둘이거나_kid_가_중복되면_시작_실패() {
+        assertThatThrownBy(() -> new JwtKeyRing(es256(
+                key("a", JwtProperties.KeyStatus.ACTIVE, OLD_KEY),
+                key("b", JwtProperties.KeyStatus.ACTIVE, CURRENT_KEY))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new JwtKeyRing(es256(
+                key("a", JwtProperties.KeyStatus.RETIRING, OLD_KEY),
+                key("a", JwtProperties.KeyStatus.ACTIVE, CURRENT_KEY))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void 지원하지_않는_알고리즘이면_시작_실패() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSigningAlgorithm("RS256");
+
+        assertThatThrownBy(() -> new JwtKeyRing(properties)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static JwtProperties es256(JwtProperties.SigningKey... keys) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSigningAlgorithm("ES256");
+        properties.setAccessTokenExpiration(900_000L);
+        properties.setKeys(List.of(keys));
+        return properties;
+    }
+
+    private static JwtProperties.SigningKey key(String kid, JwtProperties.KeyStatus status, KeyPair keyPair) {
+        JwtProperties.SigningKey key = new JwtProperties.SigningKey();
+        key.setKid(kid);
+        key.setStatus(status);
+        key.setPublicKey(pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+        if (status == JwtProperties.KeyStatus.ACTIVE) {
+            key.setPrivateKey(pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+        }
+        return key;
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> kids(JwtKeyRing keyRing) {
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) keyRing.toJwks().get("keys");
+        return keys.stream().map(jwk -> (String) jwk.get("kid")).toList();
+    }
+
+    private static String signedWith(String kid, KeyPair keyPair) {
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, kid)
+                .setSubject("42")
+                .claim("r", Role.PARENT.getBit())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.ES256)
+                .compact();
+    }
+
+    private static String headerOf(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+}
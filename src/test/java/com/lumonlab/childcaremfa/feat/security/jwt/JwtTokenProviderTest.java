@@ -0,0 +1,60 @@
+package com.lumonlab.childcaremfa.feat.security.jwt;
+
+import com.lumonlab.childcaremfa.verifier.TokenVerificationException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-0123456789";
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setIssuer("test");
+        properties.setAccessTokenExpiration(900_000L);
+        jwtTokenProvider = new JwtTokenProvider(properties, new JwtKeyRing(properties));
+    }
+
+    @Test
+    void 모르는_role_이름은_잘못된_토큰() {
+        String token = legacyToken(List.of("PARENT", "SUPERUSER"));
+
+        assertThatThrownBy(() -> jwtTokenProvider.parseVerified(token))
+                .isInstanceOf(TokenVerificationException.class)
+                .satisfies(e -> assertThat(((TokenVerificationException) e).getReason())
+                        .isEqualTo(TokenVerificationException.Reason.INVALID));
+        assertThat(jwtTokenProvider.verify(token)).isNull();
+    }
+
+    @Test
+    void legacy_role_이름은_bitmask_로() {
+        JwtPrincipal principal = jwtTokenProvider.parseVerified(legacyToken(List.of("PARENT", "ADMIN")));
+
+        assertThat(principal.getRoleMask()).isEqualTo(3);
+        assertThat(principal.getEmail()).isEqualTo("user@example.com");
+    }
+
+    private static String legacyToken(List<String> roles) {
+        return Jwts.builder()
+                .setSubject("42")
+                .claim("email", "user@example.com")
+                .claim("roles", roles)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
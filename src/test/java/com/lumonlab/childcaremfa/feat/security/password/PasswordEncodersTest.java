@@ -0,0 +1,55 @@
+package com.lumonlab.childcaremfa.feat.security.password;
+
+import com.lumonlab.childcaremfa.common.config.PasswordHashingProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordEncodersTest {
+
+    private static final String PASSWORD = "Password1!";
+
+    @Test
+    void 접두사_없는_예전_bcrypt_hash_도_검증하고_갱신_대상() {
+        PasswordEncoder encoder = PasswordEncoders.create(properties("bcrypt", 4));
+        String legacy = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+        assertThat(encoder.matches(PASSWORD, legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    void cost_가_올라가면_기존_hash_는_갱신_대상() {
+        String weak = PasswordEncoders.create(properties("bcrypt", 4)).encode(PASSWORD);
+        PasswordEncoder encoder = PasswordEncoders.create(properties("bcrypt", 5));
+
+        assertThat(weak).startsWith("{bcrypt}");
+        assertThat(encoder.matches(PASSWORD, weak)).isTrue();
+        assertThat(encoder.upgradeEncoding(weak)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode(PASSWORD))).isFalse();
+    }
+
+    @Test
+    void argon2_로_바꿔도_bcrypt_hash_는_그대로_검증() {
+        String bcrypt = PasswordEncoders.create(properties("bcrypt", 4)).encode(PASSWORD);
+        PasswordEncoder encoder = PasswordEncoders.create(properties("argon2", 4));
+
+        String argon2 = encoder.encode(PASSWORD);
+        assertThat(argon2).startsWith("{argon2}");
+        assertThat(encoder.matches(PASSWORD, argon2)).isTrue();
+        assertThat(encoder.matches(PASSWORD, bcrypt)).isTrue();
+        assertThat(encoder.upgradeEncoding(bcrypt)).isTrue();
+    }
+
+    private static PasswordHashingProperties properties(String algorithm, int bcryptStrength) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setAlgorithm(algorithm);
+        properties.getBcrypt().setStrength(bcryptStrength);
+        // 테스트 속도용 - 최소 memory / iterations
+        properties.getArgon2().setMemoryKib(1024);
+        properties.getArgon2().setIterations(1);
+        return properties;
+    }
+}
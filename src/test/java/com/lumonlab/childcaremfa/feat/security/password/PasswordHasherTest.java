@@ -0,0 +1,137 @@
+package com.lumonlab.childcaremfa.feat.security.password;
+
+import com.lumonlab.childcaremfa.common.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingProperties properties;
+    private PasswordHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PasswordHashingProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setMaxQueueWait(Duration.ofSeconds(10));
+
+        hasher = new PasswordHasher(new BlockingEncoder(release), properties, Runnable::run, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hasher.shutdown();
+    }
+
+    @Test
+    void 대기열이_꽉_차면_바로_거부() {
+        CompletableFuture<String> running = hasher.encodeAsync("a");
+        CompletableFuture<String> queued = hasher.encodeAsync("b");
+
+        assertThatThrownBy(() -> hasher.encodeAsync("c"))
+                .isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.counter("password.hashing.rejected", "reason", "queue_full").count())
+                .isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.join()).isEqualTo("hash:a");
+        assertThat(queued.join()).isEqualTo("hash:b");
+    }
+
+    @Test
+    void 대기열에서_너무_오래_기다린_작업은_hash_하지_않고_거부() throws InterruptedException {
+        hasher.shutdown();
+        properties.setMaxQueueWait(Duration.ofMillis(50));
+        hasher = new PasswordHasher(new BlockingEncoder(release), properties, Runnable::run, meterRegistry);
+
+        CompletableFuture<String> running = hasher.encodeAsync("a");
+        CompletableFuture<String> queued = hasher.encodeAsync("b");
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(running.join()).isEqualTo("hash:a");
+        assertThatThrownBy(queued::join).hasCauseInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.counter("password.hashing.rejected", "reason", "queue_timeout").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.timer("password.hashing.duration", "op", "encode").count()).isEqualTo(1);
+    }
+
+    @Test
+    void callback_대기열이_꽉_차면_future_를_503_으로_완료() {
+        hasher.shutdown();
+        Executor full = command -> {
+            throw new RejectedExecutionException();
+        };
+        hasher = new PasswordHasher(new BlockingEncoder(release), properties, full, meterRegistry);
+        release.countDown();
+
+        assertThatThrownBy(() -> hasher.encodeAsync("a").get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.counter("password.hashing.rejected", "reason", "callback_queue_full").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void 기본_callback_pool_은_크기와_대기열이_제한됨() {
+        hasher.shutdown();
+        properties.setCallbackThreads(3);
+        properties.setCallbackQueueCapacity(5);
+        hasher = new PasswordHasher(new BlockingEncoder(release), properties, meterRegistry);
+        release.countDown();
+
+        assertThat(hasher.encodeAsync("a").join()).isEqualTo("hash:a");
+        assertThat(meterRegistry.get("password.hashing.callback.queue").gauge().value()).isZero();
+    }
+
+    @Test
+    void 동기_호출도_같은_executor_에서_실행() {
+        release.countDown();
+
+        assertThat(hasher.encode("a")).isEqualTo("hash:a");
+        assertThat(hasher.matches("a", "hash:a")).isTrue();
+        assertThat(meterRegistry.timer("password.hashing.duration", "op", "matches").count()).isEqualTo(1);
+    }
+
+    /**
+     * release 전까지 hash 가 끝나지 않는 encoder
+     */
+    private record BlockingEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+
+        private void await() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
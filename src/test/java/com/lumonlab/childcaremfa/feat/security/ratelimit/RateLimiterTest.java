@@ -0,0 +1,88 @@
+package com.lumonlab.childcaremfa.feat.security.ratelimit;
+
+import com.lumonlab.childcaremfa.common.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class RateLimiterTest {
+
+    private StringRedisTemplate redisTemplate;
+    private RateLimiter rateLimiter;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        rateLimiter = new RateLimiter(redisTemplate, new RateLimitProperties(), new SimpleMeterRegistry());
+        request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+    }
+
+    @Test
+    void 노드_로컬에서_넘으면_Redis_없이_거부() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
+
+        // 기본값 login ip-subject = 5 / 1m
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.check(RateLimitAction.LOGIN, request, "User@Example.com");
+        }
+        assertThatThrownBy(() -> rateLimiter.check(RateLimitAction.LOGIN, request, "user@example.com"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfterSeconds()).isPositive());
+        assertThat(mockingDetails(redisTemplate).getInvocations()).hasSize(5);
+    }
+
+    @Test
+    void Redis_에서_넘으면_거부() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1500L);
+
+        assertThatThrownBy(() -> rateLimiter.check(RateLimitAction.LOGIN, request, "user@example.com"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfterSeconds()).isEqualTo(2));
+    }
+
+    @Test
+    void X_Forwarded_For_를_바꿔도_같은_IP_bucket() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+
+        request.addHeader("X-Forwarded-For", "203.0.113.1");
+        rateLimiter.check(RateLimitAction.LOGIN, request, "user@example.com");
+        MockHttpServletRequest spoofed = new MockHttpServletRequest();
+        spoofed.setRemoteAddr("10.0.0.1");
+        spoofed.addHeader("X-Forwarded-For", "203.0.113.2, 10.0.0.1");
+        rateLimiter.check(RateLimitAction.LOGIN, spoofed, "user@example.com");
+
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), keys.capture(), any(Object[].class));
+        assertThat(keys.getAllValues().get(0))
+                .isEqualTo(keys.getAllValues().get(1))
+                .contains("rl:login:ip:10.0.0.1")
+                .noneMatch(key -> key.contains("203.0.113"));
+    }
+
+    @Test
+    void Redis_장애면_노드_로컬_제한만() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new IllegalStateException("redis down"));
+
+        rateLimiter.check(RateLimitAction.PASSWORD_RESET, request, null);
+    }
+}
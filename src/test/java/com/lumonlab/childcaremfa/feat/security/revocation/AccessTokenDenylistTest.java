@@ -0,0 +1,165 @@
+package com.lumonlab.childcaremfa.feat.security.revocation;
+
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import com.lumonlab.childcaremfa.support.EmbeddedRedis;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccessTokenDenylistTest {
+
+    private final StringRedisTemplate redisTemplate = EmbeddedRedis.template();
+    private final JwtProperties properties = new JwtProperties();
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flush();
+    }
+
+    @Test
+    void 폐기한_jti_만_거부() {
+        AccessTokenDenylist denylist = new AccessTokenDenylist(redisTemplate, properties);
+        String jti = UUID.randomUUID().toString();
+
+        denylist.revoke(jti, Instant.now().plusSeconds(60));
+
+        assertThat(denylist.isRevoked(jti)).isTrue();
+        assertThat(denylist.isRevoked(UUID.randomUUID().toString())).isFalse();
+        assertThat(redisTemplate.getExpire("jwt:denylist:" + jti)).isBetween(1L, 60L);
+    }
+
+    @Test
+    void 이미_만료된_토큰은_저장하지_않음() {
+        AccessTokenDenylist denylist = new AccessTokenDenylist(redisTemplate, properties);
+        String jti = UUID.randomUUID().toString();
+
+        denylist.revoke(jti, Instant.now().minusSeconds(1));
+
+        assertThat(redisTemplate.hasKey("jwt:denylist:" + jti)).isFalse();
+    }
+
+    @Test
+    void pub_sub_을_놓친_노드도_resync_후에는_거부() {
+        AccessTokenDenylist node = new AccessTokenDenylist(redisTemplate, properties);
+        // 구독하지 않은 다른 노드 (메시지를 놓친 상태)
+        AccessTokenDenylist missed = new AccessTokenDenylist(redisTemplate, properties);
+        String jti = UUID.randomUUID().toString();
+
+        node.revoke(jti, Instant.now().plusSeconds(60));
+        assertThat(missed.isRevoked(jti)).isFalse();
+
+        missed.resync();
+
+        assertThat(missed.isRevoked(jti)).isTrue();
+        assertThat(missed.findRevoked(List.of(jti, UUID.randomUUID().toString()))).containsExactly(jti);
+    }
+
+    @Test
+    void Redis_에_저장하지_못하면_호출한_쪽으로_실패() {
+        StringRedisTemplate failing = mock(StringRedisTemplate.class);
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> operations = mock(ValueOperations.class);
+        when(failing.opsForValue()).thenReturn(operations);
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(operations).set(anyString(), anyString(), any(Duration.class));
+        AccessTokenDenylist denylist = new AccessTokenDenylist(failing, properties);
+
+        assertThatThrownBy(() -> denylist.revoke("jti", Instant.now().plusSeconds(60)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("폐기할 수 없습니다");
+        verify(failing, never()).convertAndSend(anyString(), any());
+    }
+
+    @Test
+    void 알림만_실패하면_폐기는_성공() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> operations = mock(ValueOperations.class);
+        when(template.opsForValue()).thenReturn(operations);
+        when(template.convertAndSend(anyString(), any())).thenThrow(new RedisConnectionFailureException("down"));
+        AccessTokenDenylist denylist = new AccessTokenDenylist(template, properties);
+
+        denylist.revoke("jti", Instant.now().plusSeconds(60));
+
+        verify(operations).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void Bloom_filter_양성인데_Redis_장애면_폐기된_것으로_처리() {
+        StringRedisTemplate failing = mock(StringRedisTemplate.class);
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> operations = mock(ValueOperations.class);
+        when(failing.opsForValue()).thenReturn(operations);
+        when(failing.hasKey(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        when(operations.multiGet(any())).thenThrow(new RedisConnectionFailureException("down"));
+        AccessTokenDenylist denylist = new AccessTokenDenylist(failing, properties);
+        denylist.onMessage(message("revoked"), null);
+
+        assertThat(denylist.isRevoked("revoked")).isTrue();
+        assertThat(denylist.findRevoked(List.of("revoked", "live"))).containsExactly("revoked");
+        // Bloom filter 음성은 Redis 없이 통과
+        assertThat(denylist.isRevoked("live")).isFalse();
+    }
+
+    @Test
+    void findRevoked_는_Bloom_filter_양성만_MGET_한_번으로() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> operations = mock(ValueOperations.class);
+        when(template.opsForValue()).thenReturn(operations);
+        when(operations.multiGet(List.of("jwt:denylist:a", "jwt:denylist:b"))).thenReturn(Arrays.asList("1", null));
+        AccessTokenDenylist denylist = new AccessTokenDenylist(template, properties);
+        denylist.onMessage(message("a"), null);
+        denylist.onMessage(message("b"), null);
+
+        assertThat(denylist.findRevoked(Arrays.asList("a", "b", "c", null))).containsExactly("a");
+        verify(operations, times(1)).multiGet(any());
+
+        assertThat(denylist.findRevoked(List.of("c", "d"))).isEmpty();
+        verify(operations, times(1)).multiGet(any());
+    }
+
+    @Test
+    void 두_세대가_지나면_Bloom_filter_에서_빠짐() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        when(template.hasKey("jwt:denylist:old")).thenReturn(true);
+        AccessTokenDenylist denylist = new AccessTokenDenylist(template, properties);
+        denylist.onMessage(message("old"), null);
+
+        // 한 세대 전 - 아직 확인
+        denylist.rotate();
+        assertThat(denylist.isRevoked("old")).isTrue();
+        verify(template, times(1)).hasKey("jwt:denylist:old");
+
+        // 두 세대 전 - 토큰도 만료된 뒤라 Redis 를 보지 않음
+        denylist.rotate();
+        assertThat(denylist.isRevoked("old")).isFalse();
+        verify(template, times(1)).hasKey("jwt:denylist:old");
+    }
+
+    private static DefaultMessage message(String jti) {
+        return new DefaultMessage(AccessTokenDenylist.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                jti.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,62 @@
+package com.lumonlab.childcaremfa.feat.security.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void 넣은_key_는_항상_양성() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        List<String> keys = randomKeys(10_000);
+
+        keys.forEach(filter::put);
+
+        assertThat(keys).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void 오탐률은_설정값_근처() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        randomKeys(10_000).forEach(filter::put);
+
+        long falsePositives = randomKeys(100_000).stream().filter(filter::mightContain).count();
+
+        // 기대 1% - 여유 있게 2% 이하
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void 빈_filter_는_전부_음성() {
+        BloomFilter filter = new BloomFilter(1_000, 0.001);
+
+        assertThat(randomKeys(1_000)).noneMatch(filter::mightContain);
+    }
+
+    @Test
+    void 여러_thread_가_동시에_넣어도_빠지는_key_없음() {
+        BloomFilter filter = new BloomFilter(40_000, 0.001);
+        List<List<String>> batches = IntStream.range(0, 4).mapToObj(i -> randomKeys(10_000)).toList();
+
+        CompletableFuture.allOf(batches.stream()
+                .map(batch -> CompletableFuture.runAsync(() -> batch.forEach(filter::put)))
+                .toArray(CompletableFuture[]::new)).join();
+
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).allMatch(filter::mightContain));
+    }
+
+    private static List<String> randomKeys(int count) {
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(UUID.randomUUID().toString());
+        }
+        return keys;
+    }
+}
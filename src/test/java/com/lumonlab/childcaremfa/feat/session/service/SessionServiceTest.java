@@ -0,0 +1,97 @@
+package com.lumonlab.childcaremfa.feat.session.service;
+
+import com.lumonlab.childcaremfa.feat.audit.entity.AuditStatus;
+import com.lumonlab.childcaremfa.feat.audit.service.AuditService;
+import com.lumonlab.childcaremfa.feat.session.dto.SessionResponse;
+import com.lumonlab.childcaremfa.feat.token.service.RefreshTokenStore;
+import com.lumonlab.childcaremfa.feat.token.service.TokenService;
+import com.lumonlab.childcaremfa.feat.user.entity.User;
+import com.lumonlab.childcaremfa.feat.user.repo.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionServiceTest {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    private TokenService tokenService;
+    private AuditService auditService;
+    private UserRepository userRepository;
+    private SessionService sessionService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = mock(TokenService.class);
+        auditService = mock(AuditService.class);
+        userRepository = mock(UserRepository.class);
+        sessionService = new SessionService(tokenService, auditService, userRepository);
+        user = User.builder().id(7L).build();
+        when(userRepository.getReferenceById(7L)).thenReturn(user);
+    }
+
+    @Test
+    void 세션_목록은_저장소_순서_그대로() {
+        LocalDateTime now = LocalDateTime.now();
+        when(tokenService.getActiveSessions(7L)).thenReturn(List.of(
+                session("recent", now, "phone"),
+                session("old", now.minusDays(1), null)));
+
+        List<SessionResponse> sessions = sessionService.getSessions(7L);
+
+        assertThat(sessions).extracting(SessionResponse::getSessionId).containsExactly("recent", "old");
+        assertThat(sessions.get(0).getUserAgent()).isEqualTo("phone");
+        assertThat(sessions.get(0).getLastUsedAt()).isEqualTo(now);
+    }
+
+    @Test
+    void 세션_폐기는_감사_로그() {
+        when(tokenService.revokeSession(7L, "family")).thenReturn(true);
+
+        sessionService.revokeSession(7L, "family", request);
+
+        verify(auditService).logAuthEvent(user, "SESSION_REVOKED", AuditStatus.SUCCESS, request,
+                Map.of("sessionId", "family"));
+    }
+
+    @Test
+    void 없는_세션이면_예외_감사_로그_없음() {
+        when(tokenService.revokeSession(7L, "unknown")).thenReturn(false);
+
+        assertThatThrownBy(() -> sessionService.revokeSession(7L, "unknown", request))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("세션을 찾을 수 없습니다.");
+        verify(auditService, never()).logAuthEvent(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void 모든_세션_폐기() {
+        sessionService.revokeAllSessions(7L, request);
+
+        verify(tokenService).revokeAllUserTokens(7L);
+        verify(auditService).logAuthEvent(eq(user), eq("SESSIONS_REVOKED"), eq(AuditStatus.SUCCESS), eq(request), any());
+    }
+
+    private static RefreshTokenStore.SessionInfo session(String id, LocalDateTime lastUsedAt, String userAgent) {
+        return RefreshTokenStore.SessionInfo.builder()
+                .sessionId(id)
+                .lastUsedAt(lastUsedAt)
+                .expiresAt(lastUsedAt.plusDays(7))
+                .userAgent(userAgent)
+                .build();
+    }
+}
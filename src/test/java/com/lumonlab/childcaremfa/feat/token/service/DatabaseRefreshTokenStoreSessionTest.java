@@ -0,0 +1,225 @@
+package com.lumonlab.childcaremfa.feat.token.service;
+
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import com.lumonlab.childcaremfa.feat.token.repo.RTokenRepository;
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+import com.lumonlab.childcaremfa.feat.user.entity.User;
+import com.lumonlab.childcaremfa.feat.user.repo.UserRepository;
+import com.lumonlab.childcaremfa.support.EmbeddedPostgresDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DB 모드 세션 관리를 실제 PostgreSQL (Flyway 스키마) 에서
+ * 요청마다 트랜잭션이 따로인 운영과 같게 테스트 트랜잭션은 쓰지 않음
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(DatabaseRefreshTokenStoreSessionTest.Config.class)
+class DatabaseRefreshTokenStoreSessionTest {
+
+    private static final int MAX_SESSIONS = 2;
+
+    @Autowired
+    private DatabaseRefreshTokenStore store;
+    @Autowired
+    private RefreshTokenCodec codec;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RTokenRepository refreshTokenRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        User created = User.builder().email(UUID.randomUUID() + "@example.com").passwordHash("hash").build();
+        created.addRole(Role.PARENT);
+        user = userRepository.save(created);
+    }
+
+    @Test
+    void 세션_수_제한을_넘으면_가장_오래된_세션이_밀려나고_카운터는_제한과_같음() {
+        String oldest = store.issue(user, request);
+        String second = store.issue(user, request);
+        String third = store.issue(user, request);
+
+        assertThat(activeSessions()).isEqualTo(MAX_SESSIONS);
+        assertThat(store.listSessions(user.getId())).hasSize(MAX_SESSIONS);
+
+        // 밀려난 기기의 refresh 는 조용히 거부 - 재사용 감지로 다른 세션까지 끊지 않음
+        assertThat(store.rotate(codec.parse(oldest), request)).isNull();
+        assertThat(store.rotate(codec.parse(second), request)).isNotNull();
+        assertThat(store.rotate(codec.parse(third), request)).isNotNull();
+        assertThat(activeSessions()).isEqualTo(MAX_SESSIONS);
+    }
+
+    @Test
+    void 로그인해도_users_행은_바뀌지_않음() {
+        LocalDateTime updatedAt = updatedAt();
+
+        store.issue(user, request);
+        store.issue(user, request);
+
+        assertThat(updatedAt()).isEqualTo(updatedAt);
+        assertThat(activeSessions()).isEqualTo(2);
+    }
+
+    @Test
+    void 만료된_세션이_남은_카운터는_제한을_넘을_때_실제_수로_보정() {
+        store.issue(user, request);
+        store.issue(user, request);
+        jdbcTemplate.update("UPDATE refresh_tokens SET expires_at = ? WHERE user_id = ?",
+                LocalDateTime.now().minusMinutes(1), user.getId());
+
+        store.issue(user, request);
+
+        assertThat(activeSessions()).isEqualTo(1);
+        assertThat(store.listSessions(user.getId())).hasSize(1);
+        assertThat(revokedReasons()).isEmpty();
+    }
+
+    @Test
+    void 밀려난_세션_판단은_DB_에_남아서_다른_인스턴스도_같음() {
+        String oldest = store.issue(user, request);
+        store.issue(user, request);
+        store.issue(user, request);
+
+        // 캐시 없이 새로 만든 store (다른 노드)
+        DatabaseRefreshTokenStore otherNode = new DatabaseRefreshTokenStore(refreshTokenRepository, codec,
+                properties());
+
+        assertThat(otherNode.rotate(codec.parse(oldest), request)).isNull();
+        assertThat(store.listSessions(user.getId())).hasSize(MAX_SESSIONS);
+        assertThat(revokedReasons()).containsExactly("EVICTED");
+    }
+
+    @Test
+    void 교체된_토큰을_다시_쓰면_family_만_폐기하고_카운터_감소() {
+        String first = store.issue(user, request);
+        String other = store.issue(user, request);
+        String second = store.rotate(codec.parse(first), request).getRefreshToken();
+
+        assertThat(store.rotate(codec.parse(first), request)).isNull();
+
+        assertThat(store.rotate(codec.parse(second), request)).isNull();
+        assertThat(store.rotate(codec.parse(other), request)).isNotNull();
+        assertThat(activeSessions()).isEqualTo(1);
+    }
+
+    @Test
+    void 세션_하나_폐기() {
+        String first = store.issue(user, request);
+        store.issue(user, request);
+        String sessionId = store.listSessions(user.getId()).get(1).getSessionId();
+
+        assertThat(store.revokeSession(user.getId(), sessionId)).isTrue();
+        assertThat(store.revokeSession(user.getId(), sessionId)).isFalse();
+        assertThat(store.revokeSession(user.getId(), "unknown")).isFalse();
+
+        assertThat(activeSessions()).isEqualTo(1);
+        assertThat(store.rotate(codec.parse(first), request)).isNull();
+    }
+
+    @Test
+    void 다른_사용자의_세션은_폐기하지_않음() {
+        store.issue(user, request);
+        String sessionId = store.listSessions(user.getId()).get(0).getSessionId();
+        User other = userRepository.save(User.builder().email(UUID.randomUUID() + "@example.com").build());
+
+        assertThat(store.revokeSession(other.getId(), sessionId)).isFalse();
+        assertThat(store.listSessions(user.getId())).hasSize(1);
+    }
+
+    @Test
+    void 모든_세션_폐기() {
+        String first = store.issue(user, request);
+        store.issue(user, request);
+
+        store.revokeAll(user.getId());
+
+        assertThat(activeSessions()).isZero();
+        assertThat(store.listSessions(user.getId())).isEmpty();
+        assertThat(store.rotate(codec.parse(first), request)).isNull();
+    }
+
+    @Test
+    void 세션_목록은_최근_사용_순() {
+        String first = store.issue(user, request);
+        store.issue(user, request);
+        request.addHeader("User-Agent", "refreshed");
+
+        store.rotate(codec.parse(first), request);
+
+        List<RefreshTokenStore.SessionInfo> sessions = store.listSessions(user.getId());
+        assertThat(sessions).hasSize(2);
+        assertThat(sessions.get(0).getUserAgent()).isEqualTo("refreshed");
+    }
+
+    private int activeSessions() {
+        return jdbcTemplate.queryForObject("SELECT active FROM user_session_counts WHERE user_id = ?",
+                Integer.class, user.getId());
+    }
+
+    private LocalDateTime updatedAt() {
+        return jdbcTemplate.queryForObject("SELECT updated_at FROM users WHERE id = ?", LocalDateTime.class,
+                user.getId());
+    }
+
+    private List<String> revokedReasons() {
+        return jdbcTemplate.queryForList(
+                "SELECT revoked_reason FROM refresh_tokens WHERE user_id = ? AND revoked_at IS NOT NULL",
+                String.class, user.getId());
+    }
+
+    private static JwtProperties properties() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("test-secret-test-secret-test-secret-test-secret");
+        properties.setRefreshTokenExpiration(Duration.ofDays(7).toMillis());
+        properties.setRefreshGracePeriod(Duration.ZERO);
+        properties.setMaxSessionsPerUser(MAX_SESSIONS);
+        return properties;
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        DataSource dataSource() {
+            return EmbeddedPostgresDatabase.newDatabase();
+        }
+
+        @Bean
+        RefreshTokenCodec refreshTokenCodec() {
+            return new RefreshTokenCodec(properties());
+        }
+
+        @Bean
+        DatabaseRefreshTokenStore databaseRefreshTokenStore(RTokenRepository refreshTokenRepository,
+                                                            RefreshTokenCodec refreshTokenCodec) {
+            return new DatabaseRefreshTokenStore(refreshTokenRepository, refreshTokenCodec, properties());
+        }
+    }
+}
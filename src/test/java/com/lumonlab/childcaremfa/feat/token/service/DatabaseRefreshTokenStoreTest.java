@@ -0,0 +1,114 @@
+package com.lumonlab.childcaremfa.feat.token.service;
+
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import com.lumonlab.childcaremfa.feat.token.repo.RTokenRepository;
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+import com.lumonlab.childcaremfa.feat.user.entity.User;
+import com.lumonlab.childcaremfa.feat.user.repo.UserRepository;
+import com.lumonlab.childcaremfa.support.EmbeddedPostgresDatabase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * refresh 한 번에 나가는 SQL statement 수 고정
+ * 실제 PostgreSQL 에서 Hibernate 가 준비한 statement 수 (Statistics.getPrepareStatementCount) 로 셈
+ * (findForRotation: fetch join SELECT, rotate: CTE UPDATE + INSERT)
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(DatabaseRefreshTokenStoreTest.Config.class)
+class DatabaseRefreshTokenStoreTest {
+
+    private static final int STATEMENTS_PER_REFRESH = 2;
+
+    @Autowired
+    private DatabaseRefreshTokenStore store;
+    @Autowired
+    private RefreshTokenCodec codec;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User created = User.builder().email(UUID.randomUUID() + "@example.com").passwordHash("hash").build();
+        created.addRole(Role.PARENT);
+        created.addRole(Role.MASTER);
+        user = userRepository.save(created);
+    }
+
+    @Test
+    void refresh_statement_수는_예산_이내() {
+        String token = store.issue(user, request);
+        statistics.clear();
+
+        RefreshTokenStore.Rotation rotation = store.rotate(codec.parse(token), request);
+
+        assertThat(rotation).isNotNull();
+        assertThat(rotation.getSession().getRoles()).containsExactlyInAnyOrder(Role.PARENT, Role.MASTER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(STATEMENTS_PER_REFRESH);
+    }
+
+    @Test
+    void 교체된_토큰이_grace_안에_다시_오면_조회_한_번으로_거부() {
+        String token = store.issue(user, request);
+        store.rotate(codec.parse(token), request);
+        statistics.clear();
+
+        assertThat(store.rotate(codec.parse(token), request)).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        private static JwtProperties properties() {
+            JwtProperties properties = new JwtProperties();
+            properties.setSecret("test-secret-test-secret-test-secret-test-secret");
+            properties.setRefreshTokenExpiration(Duration.ofDays(7).toMillis());
+            properties.setRefreshGracePeriod(Duration.ofMinutes(1));
+            return properties;
+        }
+
+        @Bean
+        DataSource dataSource() {
+            return EmbeddedPostgresDatabase.newDatabase();
+        }
+
+        @Bean
+        RefreshTokenCodec refreshTokenCodec() {
+            return new RefreshTokenCodec(properties());
+        }
+
+        @Bean
+        DatabaseRefreshTokenStore databaseRefreshTokenStore(RTokenRepository refreshTokenRepository,
+                                                            RefreshTokenCodec refreshTokenCodec) {
+            return new DatabaseRefreshTokenStore(refreshTokenRepository, refreshTokenCodec, properties());
+        }
+    }
+}
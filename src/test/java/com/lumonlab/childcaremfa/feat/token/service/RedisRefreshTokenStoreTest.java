@@ -0,0 +1,300 @@
+package com.lumonlab.childcaremfa.feat.token.service;
+
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import com.lumonlab.childcaremfa.feat.user.entity.Role;
+import com.lumonlab.childcaremfa.feat.user.entity.User;
+import com.lumonlab.childcaremfa.feat.user.entity.UserStatus;
+import com.lumonlab.childcaremfa.feat.user.repo.UserRepository;
+import com.lumonlab.childcaremfa.support.EmbeddedRedis;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lua script 를 실제 redis-server (cluster 모드) 에서 실행
+ */
+class RedisRefreshTokenStoreTest {
+
+    private static final long USER_ID = 7L;
+
+    private final StringRedisTemplate redisTemplate = EmbeddedRedis.template();
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    private JwtProperties properties;
+    private UserRepository userRepository;
+    private RefreshTokenCodec codec;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flush();
+        properties = new JwtProperties();
+        properties.setSecret("test-secret-test-secret-test-secret-test-secret");
+        properties.setRefreshTokenExpiration(Duration.ofDays(7).toMillis());
+        properties.setRefreshGracePeriod(Duration.ZERO);
+
+        userRepository = mock(UserRepository.class);
+        codec = new RefreshTokenCodec(properties);
+        user = User.builder().id(USER_ID).email("user@example.com").build();
+        user.addRole(Role.PARENT);
+        when(userRepository.findByIdWithRoles(USER_ID)).thenAnswer(invocation -> Optional.of(user));
+    }
+
+    @Test
+    void 모든_key_는_사용자_hash_tag_하나의_slot() {
+        RedisRefreshTokenStore store = store();
+
+        String token = store.issue(user, request);
+        RefreshTokenStore.Rotation rotation = store.rotate(codec.parse(token), request);
+        store.listSessions(USER_ID);
+        store.revokeSession(USER_ID, "unknown");
+
+        // cluster 모드라 slot 이 다른 key 를 만지면 script 가 CROSSSLOT 으로 실패
+        assertThat(rotation).isNotNull();
+        Set<String> keys = redisTemplate.keys("*");
+        assertThat(keys).isNotEmpty().allMatch(key -> key.startsWith("rt:{" + USER_ID + "}:"));
+    }
+
+    @Test
+    void 교체된_토큰을_다시_쓰면_세션_종료() {
+        RedisRefreshTokenStore store = store();
+        String first = store.issue(user, request);
+        String second = store.rotate(codec.parse(first), request).getRefreshToken();
+
+        assertThat(store.rotate(codec.parse(first), request)).isNull();
+
+        // 탈취 감지로 family 가 끝나서 정상 토큰도 거부
+        assertThat(store.rotate(codec.parse(second), request)).isNull();
+        assertThat(store.listSessions(USER_ID)).isEmpty();
+    }
+
+    @Test
+    void grace_기간_안의_재사용은_거부만() {
+        properties.setRefreshGracePeriod(Duration.ofMinutes(1));
+        RedisRefreshTokenStore store = store();
+        String first = store.issue(user, request);
+        String second = store.rotate(codec.parse(first), request).getRefreshToken();
+
+        assertThat(store.rotate(codec.parse(first), request)).isNull();
+
+        assertThat(store.rotate(codec.parse(second), request)).isNotNull();
+    }
+
+    @Test
+    void 교체해도_세션_절대_만료는_늘어나지_않음() {
+        properties.setRefreshSessionMaxLifetime(Duration.ofHours(1));
+        codec = new RefreshTokenCodec(properties);
+        RedisRefreshTokenStore store = store();
+
+        RefreshTokenCodec.Parsed first = codec.parse(store.issue(user, request));
+        RefreshTokenCodec.Parsed second = codec.parse(store.rotate(first, request).getRefreshToken());
+
+        Instant deadline = Instant.now().plus(Duration.ofHours(1));
+        assertThat(first.getSessionExpiresAt()).isBeforeOrEqualTo(deadline);
+        assertThat(second.getSessionExpiresAt()).isEqualTo(first.getSessionExpiresAt());
+        assertThat(second.getExpiresAt()).isBeforeOrEqualTo(second.getSessionExpiresAt());
+        Long ttl = redisTemplate.getExpire(RedisRefreshTokenStore.sessionKey(USER_ID, second.getSelector()));
+        assertThat(ttl).isPositive().isLessThanOrEqualTo(Duration.ofHours(1).toSeconds());
+    }
+
+    @Test
+    void 교체는_users_를_읽지_않고_로그인_때_저장한_상태를_씀() {
+        user.setMfaEnabled(true);
+        RedisRefreshTokenStore store = store();
+        String token = store.issue(user, request);
+
+        RefreshTokenStore.Rotation first = store.rotate(codec.parse(token), request);
+        RefreshTokenStore.Rotation second = store.rotate(codec.parse(first.getRefreshToken()), request);
+
+        verify(userRepository, never()).findByIdWithRoles(USER_ID);
+        assertThat(second.getSession().getEmail()).isEqualTo("user@example.com");
+        assertThat(second.getSession().getRoles()).containsExactly(Role.PARENT);
+        assertThat(second.getSession().isMfaEnabled()).isTrue();
+    }
+
+    @Test
+    void 역할과_MFA_변경은_사용자_상태를_지운_뒤_한_번만_users_에서_다시_읽음() {
+        RedisRefreshTokenStore store = store();
+        String token = store.issue(user, request);
+
+        user.removeRole(Role.PARENT);
+        user.addRole(Role.MASTER);
+        user.setMfaEnabled(true);
+        store.evictUserState(USER_ID);
+        RefreshTokenStore.Rotation rotation = store.rotate(codec.parse(token), request);
+        store.rotate(codec.parse(rotation.getRefreshToken()), request);
+
+        verify(userRepository, times(1)).findByIdWithRoles(USER_ID);
+        assertThat(rotation.getSession().getRoles()).containsExactly(Role.MASTER);
+        assertThat(rotation.getSession().isMfaEnabled()).isTrue();
+    }
+
+    @Test
+    void 사용자_상태는_설정한_TTL_로_만료() {
+        properties.setRefreshUserStateTtl(Duration.ofMinutes(5));
+        RedisRefreshTokenStore store = store();
+
+        store.issue(user, request);
+
+        Long ttl = redisTemplate.getExpire(RedisRefreshTokenStore.userStateKey(USER_ID));
+        assertThat(ttl).isPositive().isLessThanOrEqualTo(Duration.ofMinutes(5).toSeconds());
+    }
+
+    @Test
+    void 틀린_토큰으로는_users_를_읽지_않음() {
+        RedisRefreshTokenStore store = store();
+        store.issue(user, request);
+        store.evictUserState(USER_ID);
+
+        RefreshTokenCodec.Issued forged = codec.issue(USER_ID);
+
+        assertThat(store.rotate(codec.parse(forged.getRawToken()), request)).isNull();
+        verify(userRepository, never()).findByIdWithRoles(USER_ID);
+    }
+
+    @Test
+    void 정지된_사용자는_모든_세션_폐기() {
+        RedisRefreshTokenStore store = store();
+        String token = store.issue(user, request);
+        store.issue(user, request);
+
+        // 앱 밖에서 정지 - 사용자 상태 사본이 만료된 뒤 다음 refresh
+        user.setStatus(UserStatus.SUSPENDED);
+        store.evictUserState(USER_ID);
+
+        assertThat(store.rotate(codec.parse(token), request)).isNull();
+        user.setStatus(UserStatus.ACTIVE);
+        assertThat(store.rotate(codec.parse(token), request)).isNull();
+        assertThat(store.listSessions(USER_ID)).isEmpty();
+    }
+
+    @Test
+    void 잠긴_계정은_교체만_거부하고_세션은_유지() {
+        RedisRefreshTokenStore store = store();
+        String token = store.issue(user, request);
+
+        user.setLockedUntil(LocalDateTime.now().plusMinutes(10));
+        store.evictUserState(USER_ID);
+        assertThat(store.rotate(codec.parse(token), request)).isNull();
+        assertThat(store.rotate(codec.parse(token), request)).isNull();
+        assertThat(store.listSessions(USER_ID)).hasSize(1);
+
+        // 잠금 시각이 지나면 사본 그대로 다시 교체 가능
+        user.setLockedUntil(LocalDateTime.now().minusSeconds(1));
+        store.evictUserState(USER_ID);
+        assertThat(store.rotate(codec.parse(token), request)).isNotNull();
+    }
+
+    @Test
+    void 삭제된_사용자는_거부하고_세션_정리() {
+        RedisRefreshTokenStore store = store();
+        String token = store.issue(user, request);
+        when(userRepository.findByIdWithRoles(USER_ID)).thenReturn(Optional.empty());
+        store.evictUserState(USER_ID);
+
+        assertThat(store.rotate(codec.parse(token), request)).isNull();
+        assertThat(store.listSessions(USER_ID)).isEmpty();
+    }
+
+    @Test
+    void 세션_절대_만료가_지나면_거부() {
+        RefreshTokenCodec.Issued expired = codec.issue(USER_ID, Instant.now().minus(1, ChronoUnit.SECONDS));
+
+        assertThat(codec.parse(expired.getRawToken())).isNull();
+    }
+
+    @Test
+    void 세션_수_제한을_넘으면_오래된_세션이_밀려나고_그_토큰은_조용히_거부() {
+        properties.setMaxSessionsPerUser(2);
+        RedisRefreshTokenStore store = store();
+        String oldest = store.issue(user, request);
+        String second = store.issue(user, request);
+        String third = store.issue(user, request);
+
+        assertThat(store.listSessions(USER_ID)).hasSize(2);
+        assertThat(store.rotate(codec.parse(oldest), request)).isNull();
+
+        // 재사용 감지가 아니라 다른 세션은 그대로
+        assertThat(store.rotate(codec.parse(second), request)).isNotNull();
+        assertThat(store.rotate(codec.parse(third), request)).isNotNull();
+        assertThat(store.listSessions(USER_ID)).hasSize(2);
+    }
+
+    @Test
+    void 세션_목록은_최근_사용_순() {
+        RedisRefreshTokenStore store = store();
+        String first = store.issue(user, request);
+        store.issue(user, request);
+        request.addHeader("User-Agent", "refreshed");
+        request.setRemoteAddr("10.0.0.9");
+
+        store.rotate(codec.parse(first), request);
+
+        List<RefreshTokenStore.SessionInfo> sessions = store.listSessions(USER_ID);
+        assertThat(sessions).hasSize(2);
+        assertThat(sessions.get(0).getUserAgent()).isEqualTo("refreshed");
+        assertThat(sessions.get(0).getIpAddress()).isEqualTo("10.0.0.9");
+        assertThat(sessions.get(0).getExpiresAt()).isAfter(LocalDateTime.now());
+        assertThat(sessions.get(1).getUserAgent()).isNull();
+    }
+
+    @Test
+    void 세션_하나_폐기() {
+        RedisRefreshTokenStore store = store();
+        String first = store.issue(user, request);
+        String second = store.issue(user, request);
+        String sessionId = store.listSessions(USER_ID).get(1).getSessionId();
+
+        assertThat(store.revokeSession(USER_ID, sessionId)).isTrue();
+        assertThat(store.revokeSession(USER_ID, sessionId)).isFalse();
+        assertThat(store.revokeSession(USER_ID, "unknown")).isFalse();
+
+        assertThat(store.rotate(codec.parse(first), request)).isNull();
+        assertThat(store.rotate(codec.parse(second), request)).isNotNull();
+        assertThat(store.listSessions(USER_ID)).hasSize(1);
+    }
+
+    @Test
+    void 다른_사용자의_세션은_폐기하지_않음() {
+        RedisRefreshTokenStore store = store();
+        store.issue(user, request);
+        String sessionId = store.listSessions(USER_ID).get(0).getSessionId();
+
+        assertThat(store.revokeSession(8L, sessionId)).isFalse();
+        assertThat(store.listSessions(USER_ID)).hasSize(1);
+    }
+
+    @Test
+    void 모든_세션_폐기() {
+        RedisRefreshTokenStore store = store();
+        String first = store.issue(user, request);
+        store.issue(user, request);
+
+        store.revokeAll(USER_ID);
+
+        assertThat(store.listSessions(USER_ID)).isEmpty();
+        assertThat(redisTemplate.hasKey(RedisRefreshTokenStore.userStateKey(USER_ID))).isFalse();
+        assertThat(store.rotate(codec.parse(first), request)).isNull();
+    }
+
+    private RedisRefreshTokenStore store() {
+        return new RedisRefreshTokenStore(redisTemplate, userRepository, codec,
+                mock(RefreshTokenHistoryWriter.class), properties);
+    }
+}
@@ -0,0 +1,157 @@
+package com.lumonlab.childcaremfa.feat.token.service;
+
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshTokenCodecTest {
+
+    // version | userId(8) | selector(12) | expiresAt(4) | sessionExpiresAt(4) | verifier(32) | mac(16)
+    private static final int VERIFIER_OFFSET = 1 + 8 + 12 + 4 + 4;
+    private static final int MAC_OFFSET = VERIFIER_OFFSET + 32;
+
+    private JwtProperties properties;
+    private RefreshTokenCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        properties.setSecret("test-secret-test-secret-test-secret-test-secret");
+        properties.setRefreshTokenExpiration(Duration.ofDays(7).toMillis());
+        codec = new RefreshTokenCodec(properties);
+    }
+
+    @Test
+    void 발급한_토큰은_그대로_해석() {
+        RefreshTokenCodec.Issued issued = codec.issue(42L);
+
+        RefreshTokenCodec.Parsed parsed = codec.parse(issued.getRawToken());
+
+        assertThat(issued.getRawToken()).hasSize(103).matches("[A-Za-z0-9_-]+");
+        assertThat(parsed.getUserId()).isEqualTo(42L);
+        assertThat(parsed.getSelector()).isEqualTo(issued.getSelector());
+        assertThat(parsed.getExpiresAt()).isEqualTo(issued.getExpiresAt());
+        assertThat(parsed.getSessionExpiresAt()).isEqualTo(issued.getSessionExpiresAt());
+        assertThat(codec.matches(parsed.getVerifier(), issued.getVerifierHash())).isTrue();
+    }
+
+    @Test
+    void 큰_userId_도_그대로() {
+        RefreshTokenCodec.Issued issued = codec.issue(Long.MAX_VALUE);
+
+        assertThat(codec.parse(issued.getRawToken()).getUserId()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void 교체하면_세션_만료는_이어받고_토큰_만료는_넘지_않음() {
+        Instant sessionEnd = Instant.now().plus(Duration.ofHours(1)).plusMillis(500);
+
+        RefreshTokenCodec.Issued issued = codec.issue(42L, sessionEnd);
+
+        assertThat(issued.getSessionExpiresAt()).isEqualTo(sessionEnd.truncatedTo(ChronoUnit.SECONDS));
+        assertThat(issued.getExpiresAt()).isEqualTo(issued.getSessionExpiresAt());
+    }
+
+    @Test
+    void userId_없이는_발급하지_않음() {
+        assertThatThrownBy(() -> codec.issue(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void mac_이_바뀌면_거부() {
+        byte[] token = decode(codec.issue(42L).getRawToken());
+        token[MAC_OFFSET] ^= 0x01;
+
+        assertThat(codec.parse(encode(token))).isNull();
+    }
+
+    @Test
+    void verifier_가_바뀌면_거부() {
+        RefreshTokenCodec.Issued issued = codec.issue(42L);
+        byte[] token = decode(issued.getRawToken());
+        token[VERIFIER_OFFSET] ^= 0x01;
+
+        assertThat(codec.parse(encode(token))).isNull();
+        // mac 을 통과해도 저장된 hash 와 다른 verifier 는 불일치
+        assertThat(codec.matches(encode(new byte[32]), issued.getVerifierHash())).isFalse();
+    }
+
+    @Test
+    void userId_나_만료를_바꾸면_거부() {
+        byte[] userId = decode(codec.issue(42L).getRawToken());
+        userId[8] ^= 0x01;
+        byte[] expiry = decode(codec.issue(42L).getRawToken());
+        expiry[1 + 8 + 12] ^= 0x01;
+
+        assertThat(codec.parse(encode(userId))).isNull();
+        assertThat(codec.parse(encode(expiry))).isNull();
+    }
+
+    @Test
+    void 다른_키로_만든_토큰은_거부() {
+        JwtProperties other = new JwtProperties();
+        other.setSecret("other-secret-other-secret-other-secret-other");
+        other.setRefreshTokenExpiration(Duration.ofDays(7).toMillis());
+
+        assertThat(codec.parse(new RefreshTokenCodec(other).issue(42L).getRawToken())).isNull();
+    }
+
+    @Test
+    void 잘리거나_길면_거부() {
+        String raw = codec.issue(42L).getRawToken();
+
+        assertThat(codec.parse(raw.substring(0, raw.length() - 1))).isNull();
+        assertThat(codec.parse(raw + "A")).isNull();
+        assertThat(codec.parse(raw + raw)).isNull();
+        assertThat(codec.parse("")).isNull();
+        assertThat(codec.parse(null)).isNull();
+    }
+
+    @Test
+    void 모르는_version_은_거부() {
+        byte[] token = decode(codec.issue(42L).getRawToken());
+        token[0] = 3;
+
+        assertThat(codec.parse(encode(token))).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"+", "/", "=", ".", " ", "가"})
+    void base64url_이_아닌_문자는_거부(String invalid) {
+        String raw = codec.issue(42L).getRawToken();
+
+        assertThat(codec.parse(invalid + raw.substring(1))).isNull();
+    }
+
+    @Test
+    void 만료된_토큰은_거부() {
+        properties.setRefreshTokenExpiration(0L);
+
+        assertThat(codec.parse(new RefreshTokenCodec(properties).issue(42L).getRawToken())).isNull();
+    }
+
+    @Test
+    void 세션_절대_만료가_지나면_거부() {
+        RefreshTokenCodec.Issued issued = codec.issue(42L, Instant.now().minusSeconds(1));
+
+        assertThat(codec.parse(issued.getRawToken())).isNull();
+    }
+
+    private static byte[] decode(String raw) {
+        return Base64.getUrlDecoder().decode(raw);
+    }
+
+    private static String encode(byte[] token) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+}
@@ -0,0 +1,82 @@
+package com.lumonlab.childcaremfa.feat.token.service;
+
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import com.lumonlab.childcaremfa.support.EmbeddedPostgresDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * selector 단독 unique 가 없는 partition 테이블 (V9) 에서 이력 기록이 (selector, expires_at) 로만 찾는지
+ */
+class RefreshTokenHistoryWriterTest {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    private JdbcTemplate jdbcTemplate;
+    private RefreshTokenCodec codec;
+    private RefreshTokenHistoryWriter writer;
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = EmbeddedPostgresDatabase.newDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writer = new RefreshTokenHistoryWriter(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), new SimpleMeterRegistry());
+
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("test-secret-test-secret-test-secret-test-secret");
+        properties.setRefreshTokenExpiration(604800000L);
+        codec = new RefreshTokenCodec(properties);
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (email) VALUES ('user@example.com') RETURNING id", Long.class);
+    }
+
+    @Test
+    void 교체_이력은_이전_토큰을_가리키고_이전_토큰만_폐기() {
+        RefreshTokenCodec.Issued first = codec.issue(userId);
+        writer.issued(userId, first, "family", null, request);
+        writer.flush();
+
+        RefreshTokenCodec.Parsed parsed = codec.parse(first.getRawToken());
+        // 다른 만료 시각 partition 에 같은 selector (V9 이후 허용) - 건드리지 않아야 함
+        insertSameSelector(first.getSelector(), LocalDateTime.now().plusDays(1).withNano(0));
+        RefreshTokenCodec.Issued second = codec.issue(userId, parsed.getSessionExpiresAt());
+        writer.issued(userId, second, "family", parsed, request);
+        writer.revoked(parsed);
+        writer.flush();
+
+        Map<String, Object> firstRow = row(first.getSelector(), first);
+        Map<String, Object> secondRow = row(second.getSelector(), second);
+        assertThat(firstRow.get("revoked_at")).isNotNull();
+        assertThat(secondRow.get("rotated_from")).isEqualTo(firstRow.get("id"));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM refresh_tokens WHERE selector = ? AND revoked_at IS NULL",
+                Long.class, first.getSelector())).isEqualTo(1);
+    }
+
+    private void insertSameSelector(String selector, LocalDateTime expiresAt) {
+        jdbcTemplate.update("""
+                INSERT INTO refresh_tokens (user_id, selector, verifier_hash, family_id, issued_at, expires_at)
+                VALUES (?, ?, 'hash', 'other', now(), ?)
+                """, userId, selector, Timestamp.valueOf(expiresAt));
+    }
+
+    private Map<String, Object> row(String selector, RefreshTokenCodec.Issued issued) {
+        return jdbcTemplate.queryForMap("SELECT * FROM refresh_tokens WHERE selector = ? AND expires_at = ?",
+                selector, Timestamp.valueOf(LocalDateTime.ofInstant(issued.getExpiresAt(), ZoneId.systemDefault())));
+    }
+}
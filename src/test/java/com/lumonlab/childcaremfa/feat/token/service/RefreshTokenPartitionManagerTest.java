@@ -0,0 +1,132 @@
+package com.lumonlab.childcaremfa.feat.token.service;
+
+import com.lumonlab.childcaremfa.common.config.RetentionProperties;
+import com.lumonlab.childcaremfa.common.metrics.RetentionMetrics;
+import com.lumonlab.childcaremfa.support.EmbeddedPostgresDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * V9 partition 스키마 (Flyway) 위에서 실제 DDL 실행
+ */
+class RefreshTokenPartitionManagerTest {
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private RefreshTokenPartitionManager manager;
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = EmbeddedPostgresDatabase.newDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        manager = new RefreshTokenPartitionManager(jdbcTemplate, new RetentionProperties(),
+                new RetentionMetrics(new SimpleMeterRegistry()));
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (email) VALUES ('user@example.com') RETURNING id", Long.class);
+    }
+
+    @Test
+    void 앞으로_monthsAhead_개월_partition_생성() {
+        manager.createAhead(YearMonth.of(2020, 1));
+        manager.createAhead(YearMonth.of(2020, 1));
+
+        assertThat(partitions()).contains("refresh_tokens_202001", "refresh_tokens_202002",
+                "refresh_tokens_202003", "refresh_tokens_202004");
+        assertThat(partitions()).doesNotContain("refresh_tokens_202005");
+    }
+
+    @Test
+    void 보관_기간이_지난_partition_만_detach_후_drop() {
+        manager.createAhead(YearMonth.of(2020, 1));
+        insertToken("old-1", LocalDateTime.of(2020, 1, 10, 0, 0));
+        insertToken("old-2", LocalDateTime.of(2020, 1, 20, 0, 0));
+        insertToken("recent", LocalDateTime.of(2020, 3, 5, 0, 0));
+
+        // 2020-02 partition 의 upper bound (03-01) + 30일 = 03-31 - 아직 보관
+        long dropped = manager.dropExpired(LocalDateTime.of(2020, 3, 20, 0, 0));
+
+        assertThat(dropped).isEqualTo(2);
+        assertThat(partitions()).doesNotContain("refresh_tokens_202001")
+                .contains("refresh_tokens_202002", "refresh_tokens_202003");
+        assertThat(tableExists("refresh_tokens_202001")).isFalse();
+        assertThat(jdbcTemplate.queryForList("SELECT selector FROM refresh_tokens", String.class))
+                .containsExactly("recent");
+    }
+
+    @Test
+    void 중단된_DETACH_CONCURRENTLY_는_FINALIZE_로_마무리() throws Exception {
+        manager.createAhead(YearMonth.of(2020, 1));
+        insertToken("old", LocalDateTime.of(2020, 1, 10, 0, 0));
+        interruptDetach("refresh_tokens_202001");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT i.inhdetachpending FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE c.relname = 'refresh_tokens_202001'", Boolean.class)).isTrue();
+
+        long dropped = manager.dropExpired(LocalDateTime.of(2020, 3, 20, 0, 0));
+
+        assertThat(dropped).isEqualTo(1);
+        assertThat(tableExists("refresh_tokens_202001")).isFalse();
+    }
+
+    @Test
+    void selector_는_expires_at_과_같이_unique() {
+        manager.createAhead(YearMonth.now());
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(1).withNano(0);
+        insertToken("same", expiresAt);
+
+        assertThatThrownBy(() -> insertToken("same", expiresAt)).isInstanceOf(DuplicateKeyException.class);
+    }
+
+    /**
+     * 다른 트랜잭션이 부모 테이블을 잡고 있는 동안 DETACH CONCURRENTLY 를 timeout 으로 끊어서 detach pending 상태를 만듦
+     */
+    private void interruptDetach(String partition) throws Exception {
+        try (Connection holder = dataSource.getConnection(); Connection detacher = dataSource.getConnection()) {
+            holder.setAutoCommit(false);
+            try (Statement statement = holder.createStatement()) {
+                statement.execute("SELECT COUNT(*) FROM refresh_tokens");
+            }
+            try (Statement statement = detacher.createStatement()) {
+                statement.execute("SET statement_timeout = '500ms'");
+                assertThatThrownBy(() -> statement.execute(
+                        "ALTER TABLE refresh_tokens DETACH PARTITION " + partition + " CONCURRENTLY"))
+                        .hasMessageContaining("statement timeout");
+            }
+            holder.rollback();
+        }
+    }
+
+    private void insertToken(String selector, LocalDateTime expiresAt) throws DataAccessException {
+        jdbcTemplate.update("""
+                INSERT INTO refresh_tokens (user_id, selector, verifier_hash, family_id, issued_at, expires_at)
+                VALUES (?, ?, 'hash', 'family', ?, ?)
+                """, userId, selector, Timestamp.valueOf(expiresAt.minusDays(7)), Timestamp.valueOf(expiresAt));
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'refresh_tokens'::regclass
+                """, String.class);
+    }
+
+    private boolean tableExists(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name));
+    }
+}
@@ -0,0 +1,112 @@
+package com.lumonlab.childcaremfa.feat.token.service;
+
+import com.lumonlab.childcaremfa.common.config.RetentionProperties;
+import com.lumonlab.childcaremfa.common.metrics.RetentionMetrics;
+import com.lumonlab.childcaremfa.support.EmbeddedPostgresDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 만료로 끝난 세션의 카운터 보정을 실제 PostgreSQL 에서 (keyset 배치, SKIP LOCKED)
+ */
+class SessionCountReconcilerTest {
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private SessionCountReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = EmbeddedPostgresDatabase.newDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        RetentionProperties properties = new RetentionProperties();
+        properties.getSessionCounts().setBatchSize(2);
+        properties.getSessionCounts().setPauseBetweenBatches(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        reconciler = new SessionCountReconciler(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), properties,
+                new RetentionMetrics(meterRegistry));
+    }
+
+    @Test
+    void 만료된_세션만큼_카운터를_줄임() {
+        LocalDateTime now = LocalDateTime.now();
+        long expired = createUser(2);
+        insertToken(expired, now.minusMinutes(1), null);
+        insertToken(expired, now.minusMinutes(2), null);
+        long partlyExpired = createUser(3);
+        insertToken(partlyExpired, now.minusMinutes(1), null);
+        insertToken(partlyExpired, now.plusDays(1), null);
+        insertToken(partlyExpired, now.plusDays(2), null);
+        long revoked = createUser(1);
+        insertToken(revoked, now.plusDays(1), now.minusMinutes(1));
+        long upToDate = createUser(1);
+        insertToken(upToDate, now.plusDays(1), null);
+
+        reconciler.reconcile();
+
+        assertThat(activeSessions(expired)).isZero();
+        assertThat(activeSessions(partlyExpired)).isEqualTo(2);
+        assertThat(activeSessions(revoked)).isZero();
+        assertThat(activeSessions(upToDate)).isEqualTo(1);
+        assertThat(meterRegistry.counter("retention.rows", "job", "user_session_counts").count()).isEqualTo(3);
+    }
+
+    @Test
+    void 로그인_중인_사용자의_카운터는_건너뜀() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        long locked = createUser(1);
+        insertToken(locked, now.minusMinutes(1), null);
+        long other = createUser(1);
+        insertToken(other, now.minusMinutes(1), null);
+
+        try (Connection holder = dataSource.getConnection()) {
+            holder.setAutoCommit(false);
+            try (Statement statement = holder.createStatement()) {
+                statement.execute("SELECT user_id FROM user_session_counts WHERE user_id = " + locked + " FOR UPDATE");
+            }
+
+            reconciler.reconcile();
+
+            holder.rollback();
+        }
+        assertThat(activeSessions(locked)).isEqualTo(1);
+        assertThat(activeSessions(other)).isZero();
+    }
+
+    private long createUser(int activeSessions) {
+        long userId = jdbcTemplate.queryForObject("INSERT INTO users (email) VALUES (?) RETURNING id", Long.class,
+                UUID.randomUUID() + "@example.com");
+        jdbcTemplate.update("INSERT INTO user_session_counts (user_id, active) VALUES (?, ?)", userId, activeSessions);
+        return userId;
+    }
+
+    private void insertToken(long userId, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        String selector = UUID.randomUUID().toString().replace("-", "");
+        jdbcTemplate.update("""
+                        INSERT INTO refresh_tokens (user_id, selector, verifier_hash, family_id, issued_at, expires_at,
+                                                    revoked_at)
+                        VALUES (?, ?, 'hash', ?, ?, ?, ?)
+                        """,
+                userId, selector, selector, expiresAt.minusDays(7), expiresAt, revokedAt);
+    }
+
+    private int activeSessions(long userId) {
+        return jdbcTemplate.queryForObject("SELECT active FROM user_session_counts WHERE user_id = ?", Integer.class,
+                userId);
+    }
+}
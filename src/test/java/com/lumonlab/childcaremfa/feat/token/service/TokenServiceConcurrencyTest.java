@@ -0,0 +1,168 @@
+package com.lumonlab.childcaremfa.feat.token.service;
+
+import com.lumonlab.childcaremfa.feat.security.jwt.JwtProperties;
+import com.lumonlab.childcaremfa.feat.user.entity.User;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenServiceConcurrencyTest {
+
+    private static final int THREADS = 50;
+
+    private RefreshTokenCodec codec;
+    private CountingStore store;
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("test-secret-test-secret-test-secret-test-secret");
+        properties.setRefreshTokenExpiration(604800000L);
+
+        codec = new RefreshTokenCodec(properties);
+        store = new CountingStore(codec);
+        tokenService = new TokenService(store, codec, properties);
+    }
+
+    @Test
+    void 같은_토큰으로_동시에_refresh_하면_교체는_한_번() throws Exception {
+        String rawToken = codec.issue(7L).getRawToken();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RefreshTokenStore.Rotation>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return tokenService.rotateRefreshToken(rawToken, request);
+            }));
+        }
+        start.countDown();
+
+        List<String> refreshTokens = new ArrayList<>();
+        for (Future<RefreshTokenStore.Rotation> result : results) {
+            RefreshTokenStore.Rotation rotation = result.get(10, TimeUnit.SECONDS);
+            assertThat(rotation).isNotNull();
+            refreshTokens.add(rotation.getRefreshToken());
+        }
+        executor.shutdown();
+
+        assertThat(store.rotations.get()).isEqualTo(1);
+        assertThat(refreshTokens).hasSize(THREADS).containsOnly(refreshTokens.get(0));
+    }
+
+    @Test
+    void 실패한_교체_결과는_캐시하지_않음() {
+        String rawToken = codec.issue(7L).getRawToken();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        store.reject = true;
+
+        assertThat(tokenService.rotateRefreshToken(rawToken, request)).isNull();
+        assertThat(tokenService.rotateRefreshToken(rawToken, request)).isNull();
+        assertThat(store.rotations.get()).isEqualTo(2);
+    }
+
+    @Test
+    void 전체_폐기_후에는_캐시된_결과를_돌려주지_않음() {
+        String rawToken = codec.issue(7L).getRawToken();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        assertThat(tokenService.rotateRefreshToken(rawToken, request)).isNotNull();
+        tokenService.revokeAllUserTokens(1L);
+        store.reject = true;
+
+        assertThat(tokenService.rotateRefreshToken(rawToken, request)).isNull();
+        assertThat(store.rotations.get()).isEqualTo(2);
+    }
+
+    @Test
+    void 트랜잭션_안의_사용자_상태_변경은_커밋_뒤에_사본을_지움() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenService.userStateChanged(7L);
+            assertThat(store.evictedUsers).isEmpty();
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            assertThat(store.evictedUsers).containsExactly(7L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        tokenService.userStateChanged(8L);
+        assertThat(store.evictedUsers).containsExactly(7L, 8L);
+    }
+
+    /**
+     * 교체 횟수만 세는 저장소 - 교체에 시간이 걸리도록 잠깐 멈춤
+     */
+    private static class CountingStore implements RefreshTokenStore {
+
+        private final RefreshTokenCodec codec;
+        private final AtomicInteger rotations = new AtomicInteger();
+        private final List<Long> evictedUsers = new ArrayList<>();
+        private volatile boolean reject;
+
+        CountingStore(RefreshTokenCodec codec) {
+            this.codec = codec;
+        }
+
+        @Override
+        public String issue(User user, HttpServletRequest request) {
+            return codec.issue(user.getId()).getRawToken();
+        }
+
+        @Override
+        public Rotation rotate(RefreshTokenCodec.Parsed token, HttpServletRequest request) {
+            rotations.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (reject) {
+                return null;
+            }
+            return new Rotation(codec.issue(1L).getRawToken(), Session.builder()
+                    .userId(1L)
+                    .email("user@example.com")
+                    .roles(Set.of())
+                    .build());
+        }
+
+        @Override
+        public void revokeAll(Long userId) {
+        }
+
+        @Override
+        public List<SessionInfo> listSessions(Long userId) {
+            return List.of();
+        }
+
+        @Override
+        public boolean revokeSession(Long userId, String sessionId) {
+            return false;
+        }
+
+        @Override
+        public void evictUserState(Long userId) {
+            evictedUsers.add(userId);
+        }
+    }
+}
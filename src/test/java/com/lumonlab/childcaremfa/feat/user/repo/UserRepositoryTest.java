@@ -0,0 +1,65 @@
+package com.lumonlab.childcaremfa.feat.user.repo;
+
+import com.lumonlab.childcaremfa.feat.user.entity.User;
+import com.lumonlab.childcaremfa.support.EmbeddedPostgresDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로그인 실패 / 잠금 컬럼 갱신을 실제 PostgreSQL 에서
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(UserRepositoryTest.Config.class)
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder().email(UUID.randomUUID() + "@example.com").build());
+    }
+
+    @Test
+    void 로그인_성공하면_실패_횟수와_지난_잠금을_정리() {
+        userRepository.lockUntil(user.getId(), LocalDateTime.now().minusMinutes(1), 5);
+
+        assertThat(userRepository.clearFailedLoginAttempts(user.getId())).isEqualTo(1);
+
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(reloaded.getFailedLoginAttempts()).isZero();
+        assertThat(reloaded.getLockedUntil()).isNull();
+    }
+
+    @Test
+    void 정리할_것이_없으면_행을_건드리지_않음() {
+        assertThat(userRepository.clearFailedLoginAttempts(user.getId())).isZero();
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        DataSource dataSource() {
+            return EmbeddedPostgresDatabase.newDatabase();
+        }
+    }
+}
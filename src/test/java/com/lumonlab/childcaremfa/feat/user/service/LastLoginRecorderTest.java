@@ -0,0 +1,94 @@
+package com.lumonlab.childcaremfa.feat.user.service;
+
+import com.lumonlab.childcaremfa.common.config.LastLoginProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class LastLoginRecorderTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private LastLoginRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        recorder = new LastLoginRecorder(jdbcTemplate, new LastLoginProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void 같은_사용자는_마지막_시각_하나로() {
+        recorder.record(2L, NOW);
+        recorder.record(1L, NOW.plusSeconds(3));
+        recorder.record(1L, NOW.plusSeconds(1));
+
+        recorder.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getValue()).hasSize(2);
+        assertThat(batch.getValue().get(0)).containsExactly(
+                Timestamp.valueOf(NOW.plusSeconds(3)), 1L, Timestamp.valueOf(NOW.plusSeconds(3)));
+
+        recorder.flush();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void 저장_실패하면_다음_flush_에서_다시() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[]{1});
+        recorder.record(1L, NOW);
+
+        recorder.flush();
+        recorder.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void 종료_시_남은_기록_반영() {
+        recorder.start();
+        recorder.record(1L, NOW);
+
+        recorder.stop();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        assertThat(recorder.isRunning()).isFalse();
+    }
+
+    @Test
+    void 대기_목록이_가득_차면_새_사용자는_누락() {
+        LastLoginProperties properties = new LastLoginProperties();
+        properties.setMaxPending(1);
+        recorder = new LastLoginRecorder(jdbcTemplate, properties, new SimpleMeterRegistry());
+
+        recorder.record(1L, NOW);
+        recorder.record(2L, NOW);
+        recorder.record(1L, NOW.plusSeconds(1));
+        recorder.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getValue()).hasSize(1);
+    }
+}
@@ -0,0 +1,56 @@
+package com.lumonlab.childcaremfa.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 PostgreSQL (embedded-postgres 바이너리), JVM 당 서버 하나
+ * 테스트마다 새 database 를 만들고 Flyway migration 을 그대로 적용 - 운영 스키마 (partition 포함) 와 같음
+ */
+public final class EmbeddedPostgresDatabase {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static EmbeddedPostgres server;
+
+    private EmbeddedPostgresDatabase() {
+    }
+
+    /**
+     * migration 까지 끝난 빈 database
+     */
+    public static DataSource newDatabase() {
+        String name = "test_" + SEQUENCE.incrementAndGet();
+        new JdbcTemplate(server().getPostgresDatabase()).execute("CREATE DATABASE " + name);
+        DataSource dataSource = server().getDatabase("postgres", name);
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        return dataSource;
+    }
+
+    private static synchronized EmbeddedPostgres server() {
+        if (server == null) {
+            try {
+                server = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            EmbeddedPostgres started = server;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException ignored) {
+                }
+            }));
+        }
+        return server;
+    }
+}
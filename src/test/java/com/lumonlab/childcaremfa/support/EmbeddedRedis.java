@@ -0,0 +1,93 @@
+package com.lumonlab.childcaremfa.support;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.clients.jedis.Jedis;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+/**
+ * 테스트용 redis-server (embedded-redis 에 들어 있는 6.2 바이너리), JVM 당 한 번만 띄움
+ * cluster 모드 노드 하나가 slot 전체를 맡음 - script 가 서로 다른 slot 의 key 를 쓰면 CROSSSLOT 으로 실패
+ */
+public final class EmbeddedRedis {
+
+    private static StringRedisTemplate template;
+
+    private EmbeddedRedis() {
+    }
+
+    public static synchronized StringRedisTemplate template() {
+        if (template == null) {
+            template = start();
+        }
+        return template;
+    }
+
+    /**
+     * 테스트 사이 데이터 초기화
+     */
+    public static void flush() {
+        template().execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+    }
+
+    private static StringRedisTemplate start() {
+        try {
+            int port = freePort();
+            Path dir = Files.createTempDirectory("embedded-redis");
+            RedisServer server = RedisServer.newRedisServer()
+                    .port(port)
+                    .bind("127.0.0.1")
+                    .setting("cluster-enabled yes")
+                    .setting("cluster-config-file " + dir.resolve("nodes.conf"))
+                    .setting("dir " + dir)
+                    .setting("save \"\"")
+                    .setting("appendonly no")
+                    .build();
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.stop();
+                } catch (IOException ignored) {
+                }
+            }));
+
+            try (Jedis jedis = new Jedis("127.0.0.1", port)) {
+                jedis.clusterAddSlots(IntStream.range(0, 16384).toArray());
+                long deadline = System.currentTimeMillis() + 10_000;
+                while (!jedis.clusterInfo().contains("cluster_state:ok")) {
+                    if (System.currentTimeMillis() > deadline) {
+                        throw new IllegalStateException("embedded redis cluster 가 준비되지 않았습니다");
+                    }
+                    Thread.sleep(50);
+                }
+            }
+
+            JedisConnectionFactory factory = new JedisConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", port));
+            factory.afterPropertiesSet();
+            factory.start();
+            return new StringRedisTemplate(factory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}